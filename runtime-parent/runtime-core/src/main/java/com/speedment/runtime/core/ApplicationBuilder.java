@@ -27,6 +27,8 @@ import com.speedment.runtime.core.internal.DefaultApplicationMetadata;
 import com.speedment.runtime.core.internal.EmptyApplicationMetadata;
 import com.speedment.runtime.core.manager.Manager;
 
+import javax.sql.DataSource;
+
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -188,6 +190,35 @@ public interface ApplicationBuilder<APP extends Speedment, BUILDER extends Appli
      */
     BUILDER withPassword(String dbmsName, String password);
 
+    /**
+     * Configures a {@code DataSource} that connections to all dbmses in this
+     * project will be leased from, instead of the built-in connection pool.
+     * This makes it possible to use any external connection pool. The 
+     * {@code DataSource} is responsible for pooling, validating and closing 
+     * the physical connections.
+     *
+     * @param dataSource  to use for all dbms:es in this project
+     * @return            this instance
+     * @since 3.0.1
+     */
+    BUILDER withDataSource(DataSource dataSource);
+
+    /**
+     * Configures a {@code DataSource} that connections to the named dbms will
+     * be leased from, instead of the built-in connection pool. The 
+     * {@code DataSource} is responsible for pooling, validating and closing 
+     * the physical connections.
+     * <p>
+     * Note that every dbms in the project must then be given a 
+     * {@code DataSource}.
+     *
+     * @param dbmsName    the name of the dbms
+     * @param dataSource  to use for the named dbms
+     * @return            this instance
+     * @since 3.0.1
+     */
+    BUILDER withDataSource(String dbmsName, DataSource dataSource);
+
     /**
      * Configures a username for all dbmses in this project. The username will
      * then be applied after the configuration has been read and after the
@@ -0,0 +1,54 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.core.join.JoinBuilder1;
+import com.speedment.runtime.core.manager.Manager;
+
+/**
+ * A component that can combine the entities of several {@link Manager 
+ * Managers} using a single SQL {@code JOIN}. Each row of the join is mapped 
+ * to one entity per table using the same mapping as the managers use, and
+ * the entities are returned as tuples.
+ * <p>
+ * Example:
+ * <pre>{@code
+ *     joinComponent.from(hares)
+ *         .where(Hare.AGE.greaterThan(3))
+ *         .innerJoinOn(carrots, Carrot.OWNER, Hare.ID)
+ *         .where1(Carrot.NAME.startsWith("O"))
+ *         .build()
+ *         .stream()
+ *         .forEachOrdered(t -> System.out.println(t.get0() + " ate " + t.get1()));
+ * }</pre>
+ * 
+ * @since   3.0.1
+ */
+@InjectKey(JoinComponent.class)
+public interface JoinComponent {
+
+    /**
+     * Starts a new join with the table of the specified manager as the
+     * first table.
+     * 
+     * @param <T0>     the entity type of the first table
+     * @param manager  the manager of the first table
+     * @return         a builder for the join
+     */
+    <T0> JoinBuilder1<T0> from(Manager<T0> manager);
+}
@@ -18,12 +18,19 @@ package com.speedment.runtime.core.component.connectionpool;
 
 import com.speedment.common.injector.annotation.InjectKey;
 import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.exception.SpeedmentException;
 
 import java.sql.Connection;
 
 /**
  * This Component interface is used for holding the connection pool that is
  * being used by Speedment.
+ * <p>
+ * The methods that were added in 3.0.1 have default implementations, so that
+ * existing implementations of this interface keep working. They describe a 
+ * pool without any limits, statement cache, leak detection or background 
+ * maintenance: the setters do nothing, the sizes, times and counters are 
+ * {@code 0} and the max total size and max idle time are unbounded.
  *
  * @author pemi
  * @since 2.1.0
@@ -34,22 +41,28 @@ public interface ConnectionPoolComponent {
     /**
      * Returns a {link PoolableConnection} from this connection pool. If a
      * connection is not present in the connection pool, a new one will be
-     * created.
+     * created. If the {@link #getMaxTotalSize() maximum number} of connections
+     * are already leased, this method waits for one of them to be returned.
      *
      * @param uri the connection URI for the connector
      * @param username the user for the connector
      * @param password the password for the connector
      * @return a {@link PoolableConnection} from this connection pool
+     * @throws SpeedmentException if no connection was returned within the
+     * {@link #getMaxWaitTime() maximum wait time}
      */
     PoolableConnection getConnection(String uri, String username, char[] password);
 
     /**
      * Returns a {link PoolableConnection} from this connection pool. If a
      * connection is not present in the connection pool, a new one will be
-     * created.
+     * created. If the {@link #getMaxTotalSize() maximum number} of connections
+     * are already leased, this method waits for one of them to be returned.
      *
      * @param dbms the dbms to connect to
      * @return a {@link PoolableConnection} from this connection pool
+     * @throws SpeedmentException if no connection was returned within the
+     * {@link #getMaxWaitTime() maximum wait time}
      */
     PoolableConnection getConnection(Dbms dbms);
 
@@ -75,6 +88,22 @@ public interface ConnectionPoolComponent {
      */
     Connection newConnection(Dbms dbms);
 
+    /**
+     * Discards the connection URI, user and password that this pool may have
+     * resolved and cached for the specified dbms, so that they are resolved
+     * again the next time a connection to it is requested. This must be 
+     * called if the connection properties of the dbms or its password in the
+     * {@link com.speedment.runtime.core.component.PasswordComponent} are 
+     * changed after a connection to it has been requested. Connections that 
+     * are already pooled are left to expire.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param dbms the dbms that has changed
+     * @since 3.0.1
+     */
+    default void invalidate(Dbms dbms) {}
+
     /**
      * Returns a {@link PoolableConnection} to the pool. If the
      * PoolableConnection has expired or has a closed underlying connection, it
@@ -136,4 +165,246 @@ public interface ConnectionPoolComponent {
      */
     void setMaxAge(long maxAge);
 
+    /**
+     * Returns the maximum number of prepared statements that each pooled
+     * connection will keep open for reuse. Statements are reused when the same
+     * SQL text is prepared again on the same connection. A value of {@code 0}
+     * means that statements are not cached.
+     *
+     * @return the maximum number of cached statements per connection
+     * @since 3.0.1
+     */
+    default int getStatementCacheSize() {
+        return 0;
+    }
+
+    /**
+     * Sets the maximum number of prepared statements that each pooled
+     * connection will keep open for reuse. When the limit is reached, the least
+     * recently used statement is closed. A value of {@code 0} disables the
+     * statement cache. The new value only applies to connections that are
+     * created after this method was called.
+     *
+     * @param statementCacheSize the maximum number of cached statements per
+     * connection
+     * @since 3.0.1
+     */
+    default void setStatementCacheSize(int statementCacheSize) {}
+
+    /**
+     * Returns the maximum number of connections that may be leased at the
+     * same time for each combination of connection URI, user and password.
+     * When the limit is reached, callers of {@code getConnection} wait, in the
+     * order they arrived, for a connection to be returned. The default is
+     * {@link Integer#MAX_VALUE}, meaning that the pool is unbounded.
+     *
+     * @return the maximum number of leased connections per database
+     * @since 3.0.1
+     */
+    default int getMaxTotalSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Sets the maximum number of connections that may be leased at the same
+     * time for each combination of connection URI, user and password. If the
+     * limit is lowered below the number of connections that are currently
+     * leased, no new connections are leased until enough of them have been
+     * returned.
+     * <p>
+     * Note that a single operation may lease more than one connection at a
+     * time. A partitioned parallel stream holds one connection per partition
+     * and a finder that is invoked while a stream is open leases another one
+     * while the first is still held. If the limit is lower than the number of
+     * connections that such operations need in total, threads may wait for
+     * each other until the {@link #getMaxWaitTime() maximum wait time} has
+     * passed. Set the limit with this in mind.
+     *
+     * @param maxTotalSize the maximum number of leased connections per
+     * database
+     * @throws IllegalArgumentException if the size is not positive
+     * @since 3.0.1
+     */
+    default void setMaxTotalSize(int maxTotalSize) {}
+
+    /**
+     * Returns the maximum number of milliseconds that {@code getConnection}
+     * will wait for a connection to be returned when the maximum number of
+     * connections are leased, before a {@link SpeedmentException} is thrown.
+     *
+     * @return the maximum wait time in milliseconds
+     * @since 3.0.1
+     */
+    default long getMaxWaitTime() {
+        return 0;
+    }
+
+    /**
+     * Sets the maximum number of milliseconds that {@code getConnection}
+     * will wait for a connection to be returned when the maximum number of
+     * connections are leased, before a {@link SpeedmentException} is thrown.
+     *
+     * @param maxWaitTime the maximum wait time in milliseconds
+     * @throws IllegalArgumentException if the time is negative
+     * @since 3.0.1
+     */
+    default void setMaxWaitTime(long maxWaitTime) {}
+
+    /**
+     * Returns the number of milliseconds a connection may be leased before it
+     * is reported as a possible leak, or {@code 0} if leak detection is
+     * disabled.
+     *
+     * @return the leak detection threshold in milliseconds
+     * @since 3.0.1
+     */
+    default long getLeakDetectionThreshold() {
+        return 0;
+    }
+
+    /**
+     * Sets the number of milliseconds a connection may be leased before it is
+     * reported as a possible leak. When enabled, the stack trace of every
+     * lease is recorded so that the code that leaked the connection can be
+     * logged. A value of {@code 0} disables leak detection. The new value
+     * only applies to connections that are leased after this method was
+     * called.
+     *
+     * @param leakDetectionThreshold the threshold in milliseconds
+     * @throws IllegalArgumentException if the threshold is negative
+     * @since 3.0.1
+     */
+    default void setLeakDetectionThreshold(long leakDetectionThreshold) {}
+
+    /**
+     * Returns the number of idle connections that the pool tries to keep open
+     * for each database. Idle connections are opened, validated and replaced
+     * before they expire by a background thread, so that the callers of 
+     * {@code getConnection} do not have to wait for a connection to be 
+     * established.
+     *
+     * @return the minimum number of idle connections per database
+     * @since 3.0.1
+     */
+    default int getMinIdleSize() {
+        return 0;
+    }
+
+    /**
+     * Sets the number of idle connections that the pool tries to keep open
+     * for each database. The idle connections to a database are opened as 
+     * soon as it has been connected to once, which for the dbmses of the
+     * project is when the application is built unless the database 
+     * connectivity check is skipped. A value of {@code 0} disables the 
+     * warm-up.
+     *
+     * @param minIdleSize the minimum number of idle connections per database
+     * @throws IllegalArgumentException if the size is negative
+     * @since 3.0.1
+     */
+    default void setMinIdleSize(int minIdleSize) {}
+
+    /**
+     * Returns the number of milliseconds a connection may stay idle in the
+     * pool before it is closed by the background thread, as long as more than
+     * {@link #getMinIdleSize()} connections are idle.
+     *
+     * @return the maximum idle time in milliseconds
+     * @since 3.0.1
+     */
+    default long getMaxIdleTime() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the number of milliseconds a connection may stay idle in the pool
+     * before it is closed by the background thread, as long as more than
+     * {@link #getMinIdleSize()} connections are idle.
+     *
+     * @param maxIdleTime the maximum idle time in milliseconds
+     * @throws IllegalArgumentException if the time is negative
+     * @since 3.0.1
+     */
+    default void setMaxIdleTime(long maxIdleTime) {}
+
+    /**
+     * Returns the number of milliseconds between two runs of the background
+     * thread that validates idle connections, replaces connections that are
+     * about to expire, closes superfluous connections and opens new ones.
+     *
+     * @return the maintenance interval in milliseconds
+     * @since 3.0.1
+     */
+    default long getMaintenanceInterval() {
+        return 0;
+    }
+
+    /**
+     * Sets the number of milliseconds between two runs of the background
+     * thread that validates idle connections, replaces connections that are
+     * about to expire, closes superfluous connections and opens new ones. The
+     * new interval is used from the next run.
+     *
+     * @param maintenanceInterval the maintenance interval in milliseconds
+     * @throws IllegalArgumentException if the interval is not positive
+     * @since 3.0.1
+     */
+    default void setMaintenanceInterval(long maintenanceInterval) {}
+
+    /**
+     * Returns the total number of physical connections that this pool has
+     * created.
+     *
+     * @return the number of created connections
+     * @since 3.0.1
+     */
+    default long getCreatedCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the total number of times a connection has been leased from this
+     * pool.
+     *
+     * @return the number of leases
+     * @since 3.0.1
+     */
+    default long getLeaseCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the total number of times {@code getConnection} has given up
+     * waiting for a connection to be returned.
+     *
+     * @return the number of timeouts
+     * @since 3.0.1
+     */
+    default long getTimeoutCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the total number of milliseconds that callers of
+     * {@code getConnection} have waited for a connection to be returned to
+     * the pool.
+     *
+     * @return the total wait time in milliseconds
+     * @since 3.0.1
+     */
+    default long getTotalWaitTime() {
+        return 0;
+    }
+
+    /**
+     * Returns the total number of milliseconds that connections have been
+     * leased, counting only leases that have ended.
+     *
+     * @return the total lease time in milliseconds
+     * @since 3.0.1
+     */
+    default long getTotalLeaseTime() {
+        return 0;
+    }
+
 }
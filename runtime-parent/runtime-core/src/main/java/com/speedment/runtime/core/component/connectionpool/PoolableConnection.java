@@ -50,4 +50,66 @@ public interface PoolableConnection extends Connection {
 
     void setOnClose(Runnable onClose);
 
+    /**
+     * Returns the number of prepared statements that are currently idle in
+     * the statement cache of this connection. The statement cache methods 
+     * return {@code 0} by default, for connections that do not cache 
+     * statements.
+     *
+     * @return  the number of cached statements
+     * @since   3.0.1
+     */
+    default int cachedStatementCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times a prepared statement could be reused from
+     * the statement cache of this connection.
+     *
+     * @return  the number of cache hits
+     * @since   3.0.1
+     */
+    default long getStatementCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times a prepared statement had to be created
+     * because no matching statement was available in the statement cache of
+     * this connection.
+     *
+     * @return  the number of cache misses
+     * @since   3.0.1
+     */
+    default long getStatementCacheMisses() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of prepared statements that have been closed because
+     * they were the least recently used when the statement cache of this
+     * connection was full.
+     *
+     * @return  the number of evicted statements
+     * @since   3.0.1
+     */
+    default long getStatementCacheEvictions() {
+        return 0;
+    }
+
+    /**
+     * Returns the ratio of prepared statements that were reused from the
+     * statement cache of this connection, or {@code 0} if no statement has
+     * been prepared yet.
+     *
+     * @return  the statement cache hit ratio in the range [0, 1]
+     * @since   3.0.1
+     */
+    default double getStatementCacheHitRatio() {
+        final long hits  = getStatementCacheHits();
+        final long total = hits + getStatementCacheMisses();
+        return total == 0 ? 0d : (double) hits / total;
+    }
+
 }
\ No newline at end of file
@@ -18,9 +18,13 @@ package com.speedment.runtime.core.component.sql;
 
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
+import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
 
 import java.sql.ResultSet;
+import java.util.stream.Stream;
 
 /**
  * A specialization of the {@link StreamSupplierComponent}-interface that 
@@ -46,4 +50,108 @@ public interface SqlStreamSupplierComponent extends StreamSupplierComponent {
             TableIdentifier<ENTITY> tableIdentifier, 
             SqlFunction<ResultSet, ENTITY> entityMapper
     );
-}
\ No newline at end of file
+
+    /**
+     * Basic stream over all entities where the rows are read from the 
+     * database using the specified fetch size rather than the default fetch
+     * size of the {@link DbmsType}. This can be used to tune the memory 
+     * footprint and the number of round-trips of an individual stream.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the identifier to use
+     * @param strategy         decorates the stream before building it
+     * @param fetchSize        the fetch size, or {@code 0} to use the 
+     *                         default of the JDBC driver
+     * @return                 a stream for the given entity class
+     * 
+     * @see DbmsType#getDefaultFetchSize()
+     */
+    <ENTITY> Stream<ENTITY> stream(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            ParallelStrategy strategy,
+            int fetchSize
+    );
+
+    /**
+     * Makes parallel streams over the specified table read the rows in the
+     * specified number of partitions, each covering a range of the primary 
+     * key, instead of reading a single {@code ResultSet}. Each partition is
+     * read by a query of its own on a connection of its own, so that a full 
+     * table scan can use several cores of both the database and the 
+     * application.
+     * <p>
+     * Only streams that are parallel and neither sorted nor limited are 
+     * partitioned. The partitions are read in separate transactions and the
+     * stream has no encounter order. A value of {@code 0} disables 
+     * partitioning, which is the default.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the identifier of the table
+     * @param partitions       the number of partitions
+     * @throws IllegalArgumentException  if the number is negative or if the
+     *                                   primary key of the table is not a 
+     *                                   single integral column
+     */
+    <ENTITY> void partition(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            int partitions
+    );
+
+    /**
+     * Makes parallel streams over the specified table read the rows in the
+     * specified number of partitions, each covering a range of the specified
+     * integral field, like {@link #partition(TableIdentifier, int)}. If the
+     * field is nullable, the rows where it is {@code null} are read as a 
+     * partition of their own.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the identifier of the table
+     * @param field            the integral field to partition by
+     * @param partitions       the number of partitions
+     * @throws IllegalArgumentException  if the number is negative or if the
+     *                                   field is not an integral column of
+     *                                   the table
+     */
+    <ENTITY> void partition(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            Field<ENTITY> field,
+            int partitions
+    );
+
+    /**
+     * Makes streams over the specified table map the rows to entities on the
+     * specified number of decoder threads while the thread that consumes the
+     * stream only reads the rows from the database. This overlaps waiting for 
+     * the database with mapping the rows, which pays off for wide rows that 
+     * are expensive to map. The entities are still returned in the order of
+     * the rows.
+     * <p>
+     * The rows are buffered using {@link ResultSet#getObject(int)}, so tables 
+     * with columns that are only valid while the cursor is on the row, like
+     * some LOB locators, should not be decoded in parallel. Partitioned 
+     * parallel streams are not affected. A value of {@code 0} maps the rows 
+     * on the thread that reads them, which is the default.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the identifier of the table
+     * @param decoderThreads   the number of decoder threads
+     * @throws IllegalArgumentException  if the number is negative
+     */
+    <ENTITY> void decodeInParallel(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            int decoderThreads
+    );
+
+    /**
+     * Returns the mapper that was installed for the specified table. The 
+     * mapper expects the enabled columns of the table in the order they 
+     * appear in the configuration.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the identifier of the table
+     * @return                 the mapper between SQL result and entity
+     */
+    <ENTITY> SqlFunction<ResultSet, ENTITY> entityMapper(
+            TableIdentifier<ENTITY> tableIdentifier
+    );
+}
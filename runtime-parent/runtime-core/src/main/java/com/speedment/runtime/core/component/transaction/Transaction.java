@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.transaction;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+/**
+ * A unit of work that spans any number of persist, update and remove
+ * operations and queries on the managers of a database. Operations invoked 
+ * by the thread that began the transaction are executed on a single 
+ * connection and are committed together when {@link #commit()} is called.
+ * <p>
+ * Consecutive operations with the same SQL statement, for an example a 
+ * number of entities that are persisted using the same manager, are sent to
+ * the database as a single JDBC batch. Such statements are held back until a
+ * statement of another kind is issued, a stream is read or the transaction 
+ * is committed. Inserts that generate keys are sent to the database 
+ * immediately, so the keys are set on the entities before the persist 
+ * returns. The keys are not reverted if the transaction is rolled back.
+ * <p>
+ * Streams that are started by the same thread read through the connection 
+ * of the transaction and therefore see its uncommitted changes. They are 
+ * never partitioned over several connections, and drivers that would block 
+ * the connection while rows are streamed (notably MySQL) use their default 
+ * fetch size instead, so that other operations may be issued while a stream
+ * is still open.
+ * 
+ * @since   3.0.1
+ * 
+ * @see TransactionComponent
+ */
+public interface Transaction extends AutoCloseable {
+
+    /**
+     * Sends any remaining statements to the database and commits the 
+     * transaction. After this method has returned, the transaction is no 
+     * longer active.
+     * 
+     * @throws SpeedmentException  if the transaction could not be committed,
+     *                             in which case it has been rolled back
+     * @throws IllegalStateException  if the transaction is no longer active
+     */
+    void commit() throws SpeedmentException;
+
+    /**
+     * Discards all the operations of this transaction. After this method has
+     * returned, the transaction is no longer active.
+     * 
+     * @throws SpeedmentException  if the rollback failed
+     * @throws IllegalStateException  if the transaction is no longer active
+     */
+    void rollback() throws SpeedmentException;
+
+    /**
+     * Returns {@code true} if this transaction has neither been committed nor
+     * rolled back.
+     * 
+     * @return  if this transaction is active
+     */
+    boolean isActive();
+
+    /**
+     * Rolls back this transaction if it is still active. This makes it
+     * possible to use the transaction in a try-with-resources-statement where
+     * the last statement of the block is a call to {@link #commit()}.
+     * 
+     * @throws SpeedmentException  if the rollback failed
+     */
+    @Override
+    void close() throws SpeedmentException;
+}
@@ -0,0 +1,83 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.transaction;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A component that can be used to group the persist, update and remove 
+ * operations of several managers in a single {@link Transaction}.
+ * <pre>{@code
+ *     final TransactionComponent transactions = 
+ *         speedment.getOrThrow(TransactionComponent.class);
+ * 
+ *     try (Transaction tx = transactions.begin()) {
+ *         users.persist(user);
+ *         orders.update(order);
+ *         tx.commit();
+ *     }
+ * }</pre>
+ * Transactions are bound to the thread that began them.
+ * 
+ * @since   3.0.1
+ */
+@InjectKey(TransactionComponent.class)
+public interface TransactionComponent {
+
+    /**
+     * Begins a new transaction that all the persist, update and remove 
+     * operations of the current thread will be part of until it is committed
+     * or rolled back.
+     * 
+     * @return  the new transaction
+     * 
+     * @throws IllegalStateException  if the current thread already has an 
+     *                                active transaction
+     */
+    Transaction begin();
+
+    /**
+     * Returns the active transaction of the current thread, or an empty
+     * {@code Optional} if there is none.
+     * 
+     * @return  the current transaction or empty
+     */
+    Optional<Transaction> current();
+
+    /**
+     * Runs the given action in a new transaction that is committed if the
+     * action completes normally and rolled back if it throws an exception.
+     * 
+     * @param action  the action to run
+     * 
+     * @throws SpeedmentException     if the transaction could not be committed
+     * @throws IllegalStateException  if the current thread already has an 
+     *                                active transaction
+     */
+    default void execute(Runnable action) throws SpeedmentException {
+        requireNonNull(action);
+        try (final Transaction tx = begin()) {
+            action.run();
+            tx.commit();
+        }
+    }
+}
@@ -44,4 +44,26 @@ public interface AsynchronousQueryResult<T> extends AutoCloseable {
 
     void setRsMapper(SqlFunction<ResultSet, T> rsMapper);
 
+    /**
+     * Returns if the rows of the query have a defined encounter order, for 
+     * example because the query has an {@code ORDER BY} clause. Only then
+     * will the {@link #stream()} report {@link java.util.Spliterator#ORDERED}.
+     * The default implementation returns {@code false}.
+     * 
+     * @return  if the rows have a defined order
+     * @since   3.0.1
+     */
+    default boolean isOrdered() {
+        return false;
+    }
+
+    /**
+     * Sets if the rows of the query have a defined encounter order. The 
+     * default implementation ignores the value.
+     * 
+     * @param ordered  if the rows have a defined order
+     * @since          3.0.1
+     */
+    default void setOrdered(boolean ordered) {}
+
 }
\ No newline at end of file
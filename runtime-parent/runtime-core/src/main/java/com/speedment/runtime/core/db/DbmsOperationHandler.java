@@ -23,7 +23,9 @@ import java.sql.*;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -81,6 +83,38 @@ public interface DbmsOperationHandler {
             SqlFunction<ResultSet, T> rsMapper
     );
 
+    /**
+     * Lazily executes a SQL query and subsequently maps each row in the
+     * {@link ResultSet} using a provided mapper and return a stream of the
+     * mapped objects. The {@code ResultSet} is consumed as the objects are
+     * consumed and the underlying resources, including the database 
+     * connection, are held until the stream is closed. The returned stream 
+     * must therefore always be closed after use (preferably using a 
+     * try-with-resources block). If no objects are present, an 
+     * {@code empty} stream is returned.
+     * <p>
+     * The default implementation delegates to the eager
+     * {@link #executeQuery(Dbms, String, List, SqlFunction)}.
+     *
+     * @param <T> the type of the objects in the stream to return
+     * @param dbms  the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null values to use for "?" parameters in the sql
+     * command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @return a stream of the mapped objects that must be closed after use
+     * @since 3.0.1
+     */
+    default <T> Stream<T> executeQueryLazily(
+            Dbms dbms, 
+            String sql, 
+            List<?> values, 
+            SqlFunction<ResultSet, T> rsMapper) {
+        
+        return executeQuery(dbms, sql, values, rsMapper);
+    }
+
     /**
      * Lazily Executes a SQL query and subsequently maps each row in the
      * {@link ResultSet} using a provided mapper and return a stream of the
@@ -107,6 +141,72 @@ public interface DbmsOperationHandler {
             ParallelStrategy parallelStrategy
     );
 
+    /**
+     * Lazily Executes a SQL query like 
+     * {@link #executeQueryAsync(Dbms, String, List, SqlFunction, ParallelStrategy)}
+     * but with the specified fetch size instead of the default fetch size of
+     * the {@link DbmsType}.
+     *
+     * @param <T> the type of the objects in the Stream to return
+     * @param dbms  the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null List of objects to use for "?" parameters in the
+     * SQL command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @param parallelStrategy  strategy to use if constructing a parallel 
+     * stream
+     * @param fetchSize  the fetch size to set on the statement, or {@code 0}
+     * to use the default of the JDBC driver
+     * @return a stream of the mapped objects
+     * @see DbmsType#getDefaultFetchSize()
+     */
+    <T> AsynchronousQueryResult<T> executeQueryAsync(
+            Dbms dbms, 
+            String sql,
+            List<?> values,
+            SqlFunction<ResultSet, T> rsMapper,
+            ParallelStrategy parallelStrategy,
+            int fetchSize
+    );
+
+    /**
+     * Lazily Executes a SQL query like 
+     * {@link #executeQueryAsync(Dbms, String, List, SqlFunction, ParallelStrategy, int)}
+     * but where the rows are mapped by the specified number of decoder 
+     * threads while the thread that consumes the stream only reads them from
+     * the database. This overlaps waiting for the database with mapping the 
+     * rows, which pays off for wide rows that are expensive to map. The rows
+     * are buffered using {@link ResultSet#getObject(int)}, so columns with 
+     * values that are only valid while the cursor is on the row, like some 
+     * LOB locators, should be read without decoder threads.
+     *
+     * @param <T> the type of the objects in the Stream to return
+     * @param dbms  the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null List of objects to use for "?" parameters in the
+     * SQL command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @param parallelStrategy  strategy to use if constructing a parallel 
+     * stream
+     * @param fetchSize  the fetch size to set on the statement, or {@code 0}
+     * to use the default of the JDBC driver
+     * @param decoderThreads  the number of threads that map the rows, or 
+     * {@code 0} to map the rows on the thread that reads them
+     * @return a stream of the mapped objects
+     * @since 3.0.1
+     */
+    <T> AsynchronousQueryResult<T> executeQueryAsync(
+            Dbms dbms, 
+            String sql,
+            List<?> values,
+            SqlFunction<ResultSet, T> rsMapper,
+            ParallelStrategy parallelStrategy,
+            int fetchSize,
+            int decoderThreads
+    );
+
     /**
      * Executes an SQL update command. Generated key(s) following an insert
      * command (if any) will be feed to the provided Consumer.
@@ -129,6 +229,40 @@ public interface DbmsOperationHandler {
             Consumer<List<Long>> generatedKeyConsumer
     ) throws SQLException;
 
+    /**
+     * Executes the same SQL insert command once for every entity in the
+     * provided stream, using JDBC batches of at most {@code batchSize} rows.
+     * All the rows are inserted in a single transaction that is rolled back if
+     * any of the batches fails. The generated key(s) of each inserted row (if
+     * any) are fed to the provided consumer together with the entity that
+     * produced the row as soon as the batch of the row has been executed.
+     * <p>
+     * The stream is consumed but not closed by this method.
+     *
+     * @param <ENTITY>  the type of the entities to insert
+     *
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param entities the non-null stream of entities to insert
+     * @param valueMapper non-null mapper from an entity to the values to use
+     * for the "?" parameters in the SQL command
+     * @param generatedKeyFields list of the generated fields
+     * @param generatedKeyConsumer non-null consumer of the generated keys of
+     * each entity
+     * @param batchSize the maximum number of rows to send in each batch
+     * @throws SQLException if an error occurs
+     * @since 3.0.1
+     */
+    <ENTITY> void executeInsertBatch(
+            Dbms dbms,
+            String sql,
+            Stream<? extends ENTITY> entities,
+            Function<? super ENTITY, List<?>> valueMapper,
+            Collection<Field<ENTITY>> generatedKeyFields,
+            BiConsumer<? super ENTITY, List<Long>> generatedKeyConsumer,
+            int batchSize
+    ) throws SQLException;
+
     /**
      * Executes an SQL update command. Generated key(s) following an insert
      * command (if any) will be feed to the provided Consumer.
@@ -140,6 +274,20 @@ public interface DbmsOperationHandler {
      */
     void executeUpdate(Dbms dbms, String sql, List<?> values) throws SQLException;
 
+    /**
+     * Executes an SQL update command that may affect any number of rows in a
+     * transaction of its own and returns the number of affected rows.
+     *
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values a non-null list of objects to use for "?" parameters in 
+     * the SQL command
+     * @return the number of affected rows
+     * @throws SQLException if an error occurs
+     * @since 3.0.1
+     */
+    long executeBulkUpdate(Dbms dbms, String sql, List<?> values) throws SQLException;
+
     /**
      * Executes an SQL delete command. Generated key(s) following an insert
      * command (if any) will be feed to the provided Consumer.
@@ -150,6 +298,20 @@ public interface DbmsOperationHandler {
      * @throws SQLException if an error occurs
      */
     void executeDelete(Dbms dbms, String sql, List<?> values) throws SQLException;
+
+    /**
+     * Executes an SQL delete command that may affect any number of rows in a
+     * transaction of its own and returns the number of affected rows.
+     *
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values a non-null list of objects to use for "?" parameters in 
+     * the SQL command
+     * @return the number of affected rows
+     * @throws SQLException if an error occurs
+     * @since 3.0.1
+     */
+    long executeBulkDelete(Dbms dbms, String sql, List<?> values) throws SQLException;
     
     /**
      * Constructs an object that implements the <code>Clob</code> interface. The
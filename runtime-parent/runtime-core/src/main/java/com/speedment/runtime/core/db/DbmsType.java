@@ -19,6 +19,7 @@ package com.speedment.runtime.core.db;
 import com.speedment.runtime.core.db.metadata.TypeInfoMetaData;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -170,4 +171,53 @@ public interface DbmsType {
      * database during speedment startup
      */
     String getInitialQuery();
-}
+
+    /**
+     * Returns to what extent this {@code DbmsType} can restrict the rows of a
+     * query using a skip and a limit. If {@link SkipLimitSupport#NONE} is
+     * returned, rows are skipped and limited after they have been read.
+     *
+     * @return the skip and limit support of this database type
+     */
+    default SkipLimitSupport getSkipLimitSupport() {
+        return SkipLimitSupport.NONE;
+    }
+
+    /**
+     * Returns a new SQL query that is the given original query with the 
+     * specified number of initial rows skipped and with at most the specified
+     * number of rows. The values of any new parameters are appended to the 
+     * given list of parameter values.
+     * <p>
+     * The default implementation returns the original query unchanged, which
+     * is what database types that report {@link SkipLimitSupport#NONE} need 
+     * since skip and limit are then never pushed down to the database. Other
+     * database types must override this method.
+     *
+     * @param originalSql  the original query
+     * @param values       the parameter values of the query that new values
+     *                     will be appended to
+     * @param skip         the number of rows to skip, or 0 if no rows should 
+     *                     be skipped
+     * @param limit        the maximum number of rows, or 
+     *                     {@code Long.MAX_VALUE} if there is no limit
+     * @return             the new query
+     */
+    default String applySkipLimit(String originalSql, List<Object> values, long skip, long limit) {
+        return originalSql;
+    }
+
+    /**
+     * Returns the fetch size that is used by default when streaming over the
+     * result of a query. The value is passed to
+     * {@link java.sql.Statement#setFetchSize(int)} and should make the JDBC 
+     * driver read the rows as they are consumed rather than loading the whole
+     * result into memory. A value of {@code 0} leaves the fetch size to the 
+     * driver.
+     *
+     * @return the default streaming fetch size
+     */
+    default int getDefaultFetchSize() {
+        return 0;
+    }
+}
\ No newline at end of file
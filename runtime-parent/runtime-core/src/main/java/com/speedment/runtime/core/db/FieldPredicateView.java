@@ -17,6 +17,7 @@
 package com.speedment.runtime.core.db;
 
 import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.internal.comparator.NullOrder;
 import com.speedment.runtime.field.predicate.FieldPredicate;
 
 import java.util.function.Function;
@@ -30,5 +31,32 @@ import java.util.function.Function;
 public interface FieldPredicateView {
 
     <ENTITY> SqlPredicateFragment transform(Function<Field<ENTITY>, String> columnNamer, FieldPredicate<ENTITY> model);
+
+    /**
+     * Renders a term in an {@code ORDER BY} clause that sorts on the specified
+     * column. If the null order is {@link NullOrder#NONE}, the placement of 
+     * null values is left to the database. 
+     * <p>
+     * The default implementation uses a {@code CASE} expression to place null
+     * values, which is understood by most databases.
+     *
+     * @param columnName  the full name of the column to sort on
+     * @param descending  {@code true} if values should be in descending order
+     * @param nullOrder   where null values should be placed in the result
+     * @return            the rendered term
+     */
+    default String orderBy(String columnName, boolean descending, NullOrder nullOrder) {
+        final String direction = descending ? " DESC" : " ASC";
+        switch (nullOrder) {
+            case NONE:
+                return columnName + direction;
+            case FIRST:
+                return "CASE WHEN " + columnName + " IS NULL THEN 0 ELSE 1 END, " + columnName + direction;
+            case LAST:
+                return "CASE WHEN " + columnName + " IS NULL THEN 1 ELSE 0 END, " + columnName + direction;
+            default:
+                throw new IllegalArgumentException("Unknown NullOrder:" + nullOrder);
+        }
+    }
     
 }
\ No newline at end of file
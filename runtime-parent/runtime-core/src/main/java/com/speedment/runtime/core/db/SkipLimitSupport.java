@@ -0,0 +1,39 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.db;
+
+/**
+ * Describes to what extent a {@link DbmsType} can restrict the rows of a
+ * query result using a skip (offset) and a limit.
+ *
+ * @since   3.0.1
+ */
+public enum SkipLimitSupport {
+
+    /**
+     * Skip and limit can not be expressed in a query, so rows have to be 
+     * skipped and limited after they have been read.
+     */
+    NONE,
+
+    /**
+     * Skip and limit can be appended to any query, for an example using
+     * {@code LIMIT ? OFFSET ?}.
+     */
+    STANDARD
+
+}
@@ -44,11 +44,13 @@ import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.db.DbmsMetadataHandler;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.component.DataSourceConnectionPoolComponent;
 import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
 import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.util.DatabaseUtil;
 
+import javax.sql.DataSource;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
@@ -163,6 +165,22 @@ public abstract class AbstractApplicationBuilder<
         return withPassword(dbmsName, password == null ? null : password.toCharArray());
     }
 
+    @Override
+    public BUILDER withDataSource(DataSource dataSource) {
+        requireNonNull(dataSource);
+        injector.put(DataSourceConnectionPoolComponent.class);
+        with(Dbms.class, (inj, dbms) -> inj.getOrThrow(DataSourceConnectionPoolComponent.class).setDataSource(dbms, dataSource));
+        return self();
+    }
+
+    @Override
+    public BUILDER withDataSource(String dbmsName, DataSource dataSource) {
+        requireNonNulls(dbmsName, dataSource);
+        injector.put(DataSourceConnectionPoolComponent.class);
+        with(Dbms.class, dbmsName, (inj, dbms) -> inj.getOrThrow(DataSourceConnectionPoolComponent.class).setDataSource(dbms, dataSource));
+        return self();
+    }
+
     @Override
     public BUILDER withUsername(String username) {
         // username nullable
@@ -23,6 +23,7 @@ import com.speedment.runtime.core.Speedment;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.component.*;
+import com.speedment.runtime.core.internal.component.join.JoinComponentImpl;
 import com.speedment.runtime.core.internal.component.resultset.ResultSetMapperComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlPersistanceComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamSupplierComponentImpl;
@@ -47,13 +48,15 @@ public abstract class AbstractSpeedment implements Speedment {
             ConnectionPoolComponentImpl.class,
             DbmsHandlerComponentImpl.class,
             EntityManagerImpl.class,
+            JoinComponentImpl.class,
             ManagerComponentImpl.class,
             PasswordComponentImpl.class,
             ProjectComponentImpl.class,
             ResultSetMapperComponentImpl.class,
             SqlStreamSupplierComponentImpl.class,
             SqlPersistanceComponentImpl.class,
-            StandardDbmsTypes.class
+            StandardDbmsTypes.class,
+            TransactionComponentImpl.class
         );
     }
 
@@ -16,6 +16,7 @@
  */
 package com.speedment.runtime.core.internal.component;
 
+import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
@@ -31,18 +32,40 @@ import com.speedment.runtime.core.util.DatabaseUtil;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Collection;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import static com.speedment.common.injector.State.STARTED;
+import static com.speedment.common.injector.State.STOPPED;
 import static com.speedment.runtime.core.util.OptionalUtil.unwrap;
 import static java.util.Objects.requireNonNull;
 
 /**
- * A fully concurrent implementation of a connection pool.
+ * A fully concurrent implementation of a connection pool. By default, the 
+ * number of connections that may be leased at the same time is unbounded. If
+ * a limit is {@link #setMaxTotalSize(int) set}, threads that exceed it wait 
+ * in a fair queue. Once started, idle connections are validated, refreshed 
+ * and opened by a background thread.
+ * <p>
+ * The pool of each database is resolved once per {@link Dbms}, until it is
+ * {@link #invalidate(Dbms) invalidated}, and the idle
+ * connections of a pool are spread over a number of stripes so that threads
+ * seldom contend with each other. A thread will prefer the connection it 
+ * returned last, since that connection is likely to be hot in both the client
+ * and the server.
  *
  * @author Per Minborg
  */
@@ -52,12 +75,37 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
 
     private final static long DEFAULT_MAX_AGE = 30_000;
     private final static int DEFAULT_MIN_POOL_SIZE_PER_DB = 32;
+    private final static int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    private final static int DEFAULT_MAX_TOTAL_SIZE_PER_DB = Integer.MAX_VALUE;
+    private final static long DEFAULT_MAX_WAIT_TIME = 30_000;
+    private final static int DEFAULT_MIN_IDLE_SIZE_PER_DB = 0;
+    private final static long DEFAULT_MAX_IDLE_TIME = 60_000;
+    private final static long DEFAULT_MAINTENANCE_INTERVAL = 5_000;
+    private final static int VALIDATION_TIMEOUT_SECONDS = 5;
+    private final static int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
 
     private long maxAge;
     private int maxRetainSize;
+    private int statementCacheSize;
+    private volatile int maxTotalSize;
+    private volatile long maxWaitTime;
+    private volatile long leakDetectionThreshold;
+    private volatile long nextLeakDetection;
+    private volatile int minIdleSize;
+    private volatile long maxIdleTime;
+    private volatile long maintenanceInterval;
+    private ScheduledExecutorService maintenanceExecutor;
 
-    private final Map<Long, PoolableConnection> leasedConnections;
-    private final Map<String, Deque<PoolableConnection>> pools;
+    private final Map<Long, Lease> leasedConnections;
+    private final Map<String, Pool> pools;
+    private final Map<Dbms, Pool> dbmsPools;
+    private final Map<Long, Long> idleSince;
+
+    private final LongAdder createdCount;
+    private final LongAdder leaseCount;
+    private final LongAdder timeoutCount;
+    private final LongAdder totalWaitNanos;
+    private final LongAdder totalLeaseMillis;
     
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
     private @Inject PasswordComponent passwordComponent;
@@ -65,18 +113,98 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     public ConnectionPoolComponentImpl() {
         maxAge = DEFAULT_MAX_AGE;
         maxRetainSize = DEFAULT_MIN_POOL_SIZE_PER_DB;
+        statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+        maxTotalSize = DEFAULT_MAX_TOTAL_SIZE_PER_DB;
+        maxWaitTime = DEFAULT_MAX_WAIT_TIME;
+        minIdleSize = DEFAULT_MIN_IDLE_SIZE_PER_DB;
+        maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+        maintenanceInterval = DEFAULT_MAINTENANCE_INTERVAL;
         pools = new ConcurrentHashMap<>();
+        dbmsPools = new ConcurrentHashMap<>();
+        idleSince = new ConcurrentHashMap<>();
         leasedConnections = new ConcurrentHashMap<>();
+        createdCount = new LongAdder();
+        leaseCount = new LongAdder();
+        timeoutCount = new LongAdder();
+        totalWaitNanos = new LongAdder();
+        totalLeaseMillis = new LongAdder();
+    }
+
+    @ExecuteBefore(STARTED)
+    synchronized void startMaintenance() {
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "speedment-connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleMaintenance(maintenanceInterval);
+    }
+
+    @ExecuteBefore(STOPPED)
+    void stopMaintenance() {
+        synchronized (this) {
+            if (maintenanceExecutor != null) {
+                maintenanceExecutor.shutdownNow();
+                maintenanceExecutor = null;
+            }
+        }
+
+        pools.values().forEach(pool -> {
+            PoolableConnection pc;
+            while ((pc = pool.poll()) != null) {
+                discard(pc);
+            }
+        });
+    }
+
+    /**
+     * Runs one maintenance cycle of the pool. Idle connections that are 
+     * closed, fail validation or expire before the next cycle are discarded, 
+     * idle connections beyond the minimum idle size that have been idle for
+     * longer than the max idle time are closed and new connections are 
+     * opened to every known database until the minimum idle size is reached.
+     * <p>
+     * This method is invoked periodically by a background thread once the
+     * component has been started, so that {@code getConnection} seldom has to
+     * validate or open connections itself.
+     */
+    public void maintain() {
+        detectLeaks();
+
+        final long now = System.currentTimeMillis();
+        final long refreshBefore = now + maintenanceInterval;
+
+        pools.values().forEach(pool -> {
+            int kept = 0;
+            for (final Deque<PoolableConnection> q : pool.stripes) {
+                for (int i = q.size(); i > 0; i--) {
+                    final PoolableConnection pc = q.pollLast();
+                    if (pc == null) {
+                        break;
+                    }
+
+                    final Long since = idleSince.get(pc.getId());
+                    if (pc.getExpires() <= refreshBefore || !isUsable(pc)) {
+                        pool.idle.decrementAndGet();
+                        discard(pc);
+                    } else if (kept >= minIdleSize && since != null && now - since > maxIdleTime) {
+                        pool.idle.decrementAndGet();
+                        discard(pc);
+                    } else {
+                        q.addFirst(pc);
+                        kept++;
+                    }
+                }
+            }
+        });
+
+        pools.values().forEach(this::fillIdle);
     }
     
     @Override
     public PoolableConnection getConnection(Dbms dbms) {
-        
-        final String uri      = DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms);
-        final String username = unwrap(dbms.getUsername());
-        final char[] password = unwrap(passwordComponent.get(dbms));
-
-        return getConnection(uri, username, password);
+        requireNonNull(dbms);
+        return getConnection(resolvePool(dbms));
     }
 
     @Override
@@ -84,30 +212,40 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         requireNonNull(uri);
         // user nullable
         // password nullable
-        logger.debug("getConnection(" + uri + ", " + user);
-        final String key = makeKey(uri, user, password);
-        final Deque<PoolableConnection> q = acquireDeque(key);
-        final PoolableConnection reusedConnection = pollValidOrNull(q);
-        if (reusedConnection != null) {
-            logger.debug("Reuse Connection:" + reusedConnection);
-            return lease(reusedConnection);
-        } else {
-            final Connection newRawConnection = newConnection(uri, user, password);
-            final PoolableConnection newConnection = new PoolableConnectionImpl(uri, user, password, newRawConnection, System.currentTimeMillis() + getMaxAge());
-            newConnection.setOnClose(() -> returnConnection(newConnection));
-            logger.debug("New Connection:" + newConnection);
-            return lease(newConnection);
+        return getConnection(acquirePool(uri, user, password));
+    }
+
+    private PoolableConnection getConnection(Pool pool) {
+        final ConnectionSpec spec = pool.spec;
+        logger.debug("getConnection(" + spec.uri + ", " + spec.user);
+        acquirePermit(pool.limit, spec.uri);
+
+        try {
+            final PoolableConnection reusedConnection = pollValidOrNull(pool);
+            if (reusedConnection != null) {
+                logger.debug("Reuse Connection:" + reusedConnection);
+                return lease(pool, reusedConnection);
+            } else {
+                final PoolableConnection newConnection = newPoolableConnection(spec.uri, spec.user, spec.password);
+                logger.debug("New Connection:" + newConnection);
+                return lease(pool, newConnection);
+            }
+        } catch (final RuntimeException ex) {
+            pool.limit.release();
+            throw ex;
         }
     }
 
     @Override
     public Connection newConnection(Dbms dbms) {
-        
-        final String uri      = DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms);
-        final String username = unwrap(dbms.getUsername());
-        final char[] password = unwrap(passwordComponent.get(dbms));
-        
-        return newConnection(uri, username, password);
+        requireNonNull(dbms);
+        final ConnectionSpec spec = resolvePool(dbms).spec;
+        return newConnection(spec.uri, spec.user, spec.password);
+    }
+
+    @Override
+    public void invalidate(Dbms dbms) {
+        dbmsPools.remove(requireNonNull(dbms));
     }
 
     @Override
@@ -127,27 +265,89 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     @Override
     public void returnConnection(PoolableConnection connection) {
         requireNonNull(connection);
-        leaseReturn(connection);
+        final Lease lease = leaseReturn(connection);
+        if (lease == null) {
+            // The connection has already been returned or was never leased 
+            // from this pool. Pooling it would let two threads lease it.
+            logger.debug("Ignored return of a connection that is not leased: " + connection);
+            return;
+        }
+
+        final Pool pool = lease.getPool();
         if (!isValidOrNull(connection)) {
             discard(connection);
+        } else if (pool.size() >= getMaxRetainSize()) {
+            discard(connection);
         } else {
-            final String key = makeKey(connection);
-            final Deque<PoolableConnection> q = acquireDeque(key);
-            if (q.size() >= getMaxRetainSize()) {
-                discard(connection);
-            } else {
-                logger.debug("Recycled:" + connection);
-                q.addFirst(connection);
-            }
+            logger.debug("Recycled:" + connection);
+            idleSince.put(connection.getId(), System.currentTimeMillis());
+            pool.offer(connection);
         }
+
+        // Let a waiting thread in once the connection can be reused
+        pool.limit.release();
     }
     
     private String charsToString(char[] chars) {
         return chars == null ? "null" : new String(chars);
     }
 
+    private PoolableConnection newPoolableConnection(String uri, String user, char[] password) {
+        final Connection newRawConnection = newConnection(uri, user, password);
+        final PoolableConnection newConnection = new PoolableConnectionImpl(uri, user, password, newRawConnection, System.currentTimeMillis() + getMaxAge(), getStatementCacheSize());
+        newConnection.setOnClose(() -> returnConnection(newConnection));
+        createdCount.increment();
+        return newConnection;
+    }
+
+    private void fillIdle(Pool pool) {
+        final ConnectionSpec spec = pool.spec;
+        final LeaseLimit limit = pool.limit;
+
+        // Idle connections may not make the total exceed the max total size
+        while (pool.size() < minIdleSize && pool.size() + limit.getLeased() < limit.getMaxPermits()) {
+            final PoolableConnection connection;
+            try {
+                connection = newPoolableConnection(spec.uri, spec.user, spec.password);
+            } catch (final SpeedmentException ex) {
+                return; // Already logged by newConnection, try again next cycle
+            }
+            logger.debug("Warmed up:" + connection);
+            idleSince.put(connection.getId(), System.currentTimeMillis());
+            pool.offer(connection);
+        }
+    }
+
+    private synchronized void scheduleMaintenance(long delay) {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.schedule(() -> {
+                try {
+                    maintain();
+                } catch (final RuntimeException ex) {
+                    logger.error(ex, "Error maintaining the connection pool.");
+                } finally {
+                    if (delay > 0) {
+                        scheduleMaintenance(maintenanceInterval);
+                    }
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean isUsable(PoolableConnection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (final SQLFeatureNotSupportedException ex) {
+            return true; // The driver can not validate connections
+        } catch (final SQLException sqle) {
+            getLogger().debug("Connection failed validation: " + sqle.getMessage());
+            return false;
+        }
+    }
+
     private void discard(PoolableConnection connection) {
         requireNonNull(connection);
+        idleSince.remove(connection.getId());
         logger.debug("Discard:" + connection);
         try {
             connection.rawClose();
@@ -156,16 +356,80 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         }
     }
 
-    private PoolableConnection lease(PoolableConnection poolableConnection) {
-        leasedConnections.put(poolableConnection.getId(), poolableConnection);
-        return poolableConnection;
+    private void acquirePermit(LeaseLimit limit, String uri) {
+        final long now = System.currentTimeMillis();
+        if (leakDetectionThreshold > 0 && now >= nextLeakDetection) {
+            nextLeakDetection = now + leakDetectionThreshold;
+            detectLeaks();
+        }
+
+        final long started = System.nanoTime();
+        try {
+            // A timed tryAcquire respects the fairness of the semaphore
+            if (!limit.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                detectLeaks();
+                if (!limit.tryAcquire(maxWaitTime, TimeUnit.MILLISECONDS)) {
+                    timeoutCount.increment();
+                    throw new SpeedmentException(
+                        "Timed out after " + maxWaitTime + " ms waiting for a " + 
+                        "connection to \"" + uri + "\" since all " + 
+                        limit.getMaxPermits() + " connections are leased."
+                    );
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SpeedmentException(
+                "Interrupted while waiting for a connection to \"" + uri + "\".", ex
+            );
+        } finally {
+            totalWaitNanos.add(System.nanoTime() - started);
+        }
     }
 
-    private PoolableConnection leaseReturn(PoolableConnection poolableConnection) {
-        leasedConnections.remove(poolableConnection.getId());
+    private PoolableConnection lease(Pool pool, PoolableConnection poolableConnection) {
+        idleSince.remove(poolableConnection.getId());
+        final long threshold = leakDetectionThreshold;
+        leasedConnections.put(poolableConnection.getId(), new Lease(
+            pool,
+            poolableConnection, 
+            System.currentTimeMillis(), 
+            threshold > 0 ? new Throwable("Connection leased here") : null
+        ));
+        leaseCount.increment();
         return poolableConnection;
     }
 
+    private Lease leaseReturn(PoolableConnection poolableConnection) {
+        final Lease lease = leasedConnections.remove(poolableConnection.getId());
+        if (lease != null) {
+            totalLeaseMillis.add(System.currentTimeMillis() - lease.getLeased());
+        }
+        return lease;
+    }
+
+    /**
+     * Logs a warning with the stack trace of the lease for every connection 
+     * that has been leased longer than the leak detection threshold. Each 
+     * lease is only reported once.
+     */
+    private void detectLeaks() {
+        final long threshold = leakDetectionThreshold;
+        if (threshold <= 0) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        leasedConnections.values().stream()
+            .filter(lease -> lease.getStackTrace() != null)
+            .filter(lease -> now - lease.getLeased() > threshold)
+            .filter(Lease::markReported)
+            .forEach(lease -> logger.warn(lease.getStackTrace(),
+                "Possible connection leak: " + lease.getConnection() + 
+                " has been leased for " + (now - lease.getLeased()) + " ms."
+            ));
+    }
+
     private boolean isValidOrNull(PoolableConnection connection) {
         // connection nullable
         try {
@@ -176,21 +440,16 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         }
     }
 
-    private PoolableConnection pollValidOrNull(Deque<PoolableConnection> q) {
-        requireNonNull(q);
-        PoolableConnection pc = q.pollLast();
+    private PoolableConnection pollValidOrNull(Pool pool) {
+        requireNonNull(pool);
+        PoolableConnection pc = pool.poll();
         while (!isValidOrNull(pc)) {
             discard(pc); // If we discover an old connection, we discard it from the queue. Otherwise it will not be closed
-            pc = q.pollLast();
+            pc = pool.poll();
         }
         return pc;
     }
 
-    private String makeKey(PoolableConnection connection) {
-        requireNonNull(connection);
-        return makeKey(connection.getUri(), connection.getUser(), connection.getPassword());
-    }
-
     private String makeKey(String uri, String user, char[] password) {
         requireNonNull(uri);
         // user nullable
@@ -198,9 +457,41 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         return uri + Objects.toString(user) + ((password == null) ? "null" : new String(password));
     }
 
-    private Deque<PoolableConnection> acquireDeque(String key) {
-        requireNonNull(key);
-        return pools.computeIfAbsent(key, $ -> new ConcurrentLinkedDeque<>());
+    private Pool resolvePool(Dbms dbms) {
+        // The url and the credentials are only resolved the first time, since
+        // the pool is cached by the identity of the dbms until invalidated
+        final Pool existing = dbmsPools.get(dbms);
+        if (existing != null) {
+            return existing;
+        }
+
+        final String uri      = DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms);
+        final String username = unwrap(dbms.getUsername());
+        final char[] password = unwrap(passwordComponent.get(dbms));
+
+        final Pool pool = acquirePool(uri, username, password == null ? null : password.clone());
+        final Pool previous = dbmsPools.putIfAbsent(dbms, pool);
+        return previous == null ? pool : previous;
+    }
+
+    private Pool acquirePool(String uri, String user, char[] password) {
+        final String key = makeKey(uri, user, password);
+        final Pool existing = pools.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Pool pool = new Pool(new ConnectionSpec(uri, user, password), maxTotalSize);
+        final Pool previous = pools.putIfAbsent(key, pool);
+        if (previous != null) {
+            return previous;
+        }
+
+        if (minIdleSize > 0) {
+            // Open the idle connections to a new database right away
+            scheduleMaintenance(0);
+        }
+        return pool;
     }
 
     @Override
@@ -208,7 +499,7 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         return pools
             .values()
             .stream()
-            .mapToInt(Collection::size)
+            .mapToInt(Pool::size)
             .sum();
     }
 
@@ -237,7 +528,288 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         this.maxRetainSize = maxRetainSize;
     }
 
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException(
+                "The statement cache size must not be negative: " + statementCacheSize
+            );
+        }
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    @Override
+    public int getMaxTotalSize() {
+        return maxTotalSize;
+    }
+
+    @Override
+    public synchronized void setMaxTotalSize(int maxTotalSize) {
+        if (maxTotalSize <= 0) {
+            throw new IllegalArgumentException(
+                "The max total size must be positive: " + maxTotalSize
+            );
+        }
+        this.maxTotalSize = maxTotalSize;
+        pools.values().forEach(pool -> pool.limit.resize(maxTotalSize));
+    }
+
+    @Override
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    @Override
+    public void setMaxWaitTime(long maxWaitTime) {
+        if (maxWaitTime < 0) {
+            throw new IllegalArgumentException(
+                "The max wait time must not be negative: " + maxWaitTime
+            );
+        }
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    @Override
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    @Override
+    public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+        if (leakDetectionThreshold < 0) {
+            throw new IllegalArgumentException(
+                "The leak detection threshold must not be negative: " + leakDetectionThreshold
+            );
+        }
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    @Override
+    public int getMinIdleSize() {
+        return minIdleSize;
+    }
+
+    @Override
+    public void setMinIdleSize(int minIdleSize) {
+        if (minIdleSize < 0) {
+            throw new IllegalArgumentException(
+                "The min idle size must not be negative: " + minIdleSize
+            );
+        }
+        this.minIdleSize = minIdleSize;
+    }
+
+    @Override
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    @Override
+    public void setMaxIdleTime(long maxIdleTime) {
+        if (maxIdleTime < 0) {
+            throw new IllegalArgumentException(
+                "The max idle time must not be negative: " + maxIdleTime
+            );
+        }
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    @Override
+    public long getMaintenanceInterval() {
+        return maintenanceInterval;
+    }
+
+    @Override
+    public void setMaintenanceInterval(long maintenanceInterval) {
+        if (maintenanceInterval <= 0) {
+            throw new IllegalArgumentException(
+                "The maintenance interval must be positive: " + maintenanceInterval
+            );
+        }
+        this.maintenanceInterval = maintenanceInterval;
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    @Override
+    public long getLeaseCount() {
+        return leaseCount.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public long getTotalWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    @Override
+    public long getTotalLeaseTime() {
+        return totalLeaseMillis.sum();
+    }
+
     private Logger getLogger() {
         return logger;
     }
+
+    private static int stripes(int processors) {
+        int stripes = 1;
+        while (stripes < processors) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * The parameters needed to open new connections to a database.
+     */
+    private final static class ConnectionSpec {
+
+        private final String uri;
+        private final String user;
+        private final char[] password;
+
+        private ConnectionSpec(String uri, String user, char[] password) {
+            this.uri      = requireNonNull(uri);
+            this.user     = user;     // Nullable
+            this.password = password; // Nullable
+        }
+    }
+
+    /**
+     * The idle connections and the lease limit of one database. Idle 
+     * connections are kept in a number of stripes. Each thread returns 
+     * connections to, and first polls from, the head of its own stripe and 
+     * only looks in the other stripes if its own is empty.
+     */
+    private final static class Pool {
+
+        private final ConnectionSpec spec;
+        private final LeaseLimit limit;
+        private final List<Deque<PoolableConnection>> stripes;
+        private final AtomicInteger idle;
+
+        private Pool(ConnectionSpec spec, int maxPermits) {
+            this.spec    = requireNonNull(spec);
+            this.limit   = new LeaseLimit(maxPermits);
+            this.stripes = new ArrayList<>(STRIPES);
+            this.idle    = new AtomicInteger();
+            for (int i = 0; i < STRIPES; i++) {
+                stripes.add(new ConcurrentLinkedDeque<>());
+            }
+        }
+
+        private int size() {
+            return Math.max(0, idle.get());
+        }
+
+        private void offer(PoolableConnection connection) {
+            stripes.get(home()).addFirst(connection);
+            idle.incrementAndGet();
+        }
+
+        private PoolableConnection poll() {
+            final int home = home();
+            for (int i = 0; i < STRIPES; i++) {
+                final PoolableConnection pc = 
+                    stripes.get((home + i) & (STRIPES - 1)).pollFirst();
+                
+                if (pc != null) {
+                    idle.decrementAndGet();
+                    return pc;
+                }
+            }
+            return null;
+        }
+
+        private static int home() {
+            return (int) Thread.currentThread().getId() & (STRIPES - 1);
+        }
+    }
+
+    /**
+     * A connection that is currently leased, together with the pool it 
+     * belongs to and the time and the stack trace of the lease.
+     */
+    private final static class Lease {
+
+        private final Pool pool;
+        private final PoolableConnection connection;
+        private final long leased;
+        private final Throwable stackTrace;
+        private final AtomicBoolean reported;
+
+        private Lease(Pool pool, PoolableConnection connection, long leased, Throwable stackTrace) {
+            this.pool       = requireNonNull(pool);
+            this.connection = requireNonNull(connection);
+            this.leased     = leased;
+            this.stackTrace = stackTrace; // Nullable
+            this.reported   = new AtomicBoolean();
+        }
+
+        private Pool getPool() {
+            return pool;
+        }
+
+        private PoolableConnection getConnection() {
+            return connection;
+        }
+
+        private long getLeased() {
+            return leased;
+        }
+
+        private Throwable getStackTrace() {
+            return stackTrace;
+        }
+
+        private boolean markReported() {
+            return reported.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * A fair semaphore with one permit per connection that may be leased, 
+     * that can be resized while connections are leased.
+     */
+    private final static class LeaseLimit extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        private int maxPermits;
+
+        private LeaseLimit(int maxPermits) {
+            super(maxPermits, true);
+            this.maxPermits = maxPermits;
+        }
+
+        private synchronized int getMaxPermits() {
+            return maxPermits;
+        }
+
+        private synchronized int getLeased() {
+            return maxPermits - availablePermits();
+        }
+
+        private synchronized void resize(int newMaxPermits) {
+            final int delta = newMaxPermits - maxPermits;
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+            maxPermits = newMaxPermits;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,389 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.pool.PoolableConnectionImpl;
+import com.speedment.runtime.core.util.DatabaseUtil;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.speedment.runtime.core.util.OptionalUtil.unwrap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ConnectionPoolComponent} that leases the connections to a dbms from
+ * a {@link DataSource}, typically an external connection pool. Every 
+ * connection is wrapped in a {@link PoolableConnection} so that the rest of 
+ * the runtime can use it as usual, and closing it hands the underlying 
+ * connection back to the {@code DataSource}.
+ * <p>
+ * Sizing, ageing, validation and statement caching are left to the 
+ * {@code DataSource}. The corresponding settings of this component are
+ * retained but have no effect and setting them logs a warning. No 
+ * connections are ever idle in this component. Connections to an explicit 
+ * uri are opened using the {@link DriverManager} and closed when they are 
+ * returned.
+ * <p>
+ * A {@code DataSource} is normally configured using 
+ * {@link com.speedment.runtime.core.ApplicationBuilder#withDataSource(DataSource)}.
+ *
+ * @since  3.0.1
+ */
+public class DataSourceConnectionPoolComponent implements ConnectionPoolComponent {
+
+    private final Logger logger = LoggerManager.getLogger(DataSourceConnectionPoolComponent.class);
+
+    private final static long DEFAULT_MAX_AGE = 30_000;
+    private final static int DEFAULT_MAX_RETAIN_SIZE = 32;
+    private final static int DEFAULT_MAX_TOTAL_SIZE = 128;
+    private final static long DEFAULT_MAX_WAIT_TIME = 30_000;
+    private final static long DEFAULT_MAX_IDLE_TIME = 60_000;
+    private final static long DEFAULT_MAINTENANCE_INTERVAL = 5_000;
+
+    private final Map<String, DataSource> dataSources;
+    private final Map<String, String> uris;
+    private final Map<Long, Long> leasedConnections;
+
+    private final LongAdder leaseCount;
+    private final LongAdder timeoutCount;
+    private final LongAdder totalWaitNanos;
+    private final LongAdder totalLeaseMillis;
+
+    private volatile long maxAge;
+    private volatile int maxRetainSize;
+    private volatile int statementCacheSize;
+    private volatile int maxTotalSize;
+    private volatile long maxWaitTime;
+    private volatile long leakDetectionThreshold;
+    private volatile int minIdleSize;
+    private volatile long maxIdleTime;
+    private volatile long maintenanceInterval;
+
+    private @Inject DbmsHandlerComponent dbmsHandlerComponent;
+
+    public DataSourceConnectionPoolComponent() {
+        dataSources = new ConcurrentHashMap<>();
+        uris = new ConcurrentHashMap<>();
+        leasedConnections = new ConcurrentHashMap<>();
+        leaseCount = new LongAdder();
+        timeoutCount = new LongAdder();
+        totalWaitNanos = new LongAdder();
+        totalLeaseMillis = new LongAdder();
+        maxAge = DEFAULT_MAX_AGE;
+        maxRetainSize = DEFAULT_MAX_RETAIN_SIZE;
+        maxTotalSize = DEFAULT_MAX_TOTAL_SIZE;
+        maxWaitTime = DEFAULT_MAX_WAIT_TIME;
+        maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+        maintenanceInterval = DEFAULT_MAINTENANCE_INTERVAL;
+    }
+
+    /**
+     * Sets the {@code DataSource} to lease connections to the specified dbms
+     * from. This is equivalent to calling 
+     * {@code setDataSource(dbms.getName(), dataSource)}.
+     *
+     * @param dbms        the dbms
+     * @param dataSource  the data source to use for that dbms
+     */
+    public void setDataSource(Dbms dbms, DataSource dataSource) {
+        setDataSource(dbms.getName(), dataSource);
+    }
+
+    /**
+     * Sets the {@code DataSource} to lease connections to the named dbms
+     * from.
+     *
+     * @param dbmsName    the name of the dbms
+     * @param dataSource  the data source to use for that dbms
+     */
+    public void setDataSource(String dbmsName, DataSource dataSource) {
+        dataSources.put(requireNonNull(dbmsName), requireNonNull(dataSource));
+    }
+
+    /**
+     * Returns the {@code DataSource} that connections to the specified dbms 
+     * are leased from, or an empty {@code Optional} if none has been set.
+     *
+     * @param dbms  the dbms
+     * @return      the data source of that dbms, if any
+     */
+    public Optional<DataSource> getDataSource(Dbms dbms) {
+        return Optional.ofNullable(dataSources.get(dbms.getName()));
+    }
+
+    @Override
+    public PoolableConnection getConnection(Dbms dbms) {
+        requireNonNull(dbms);
+        final String uri = uris.computeIfAbsent(dbms.getName(), 
+            $ -> DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms)
+        );
+
+        return lease(newPoolableConnection(uri, unwrap(dbms.getUsername()), newConnection(dbms)));
+    }
+
+    @Override
+    public PoolableConnection getConnection(String uri, String username, char[] password) {
+        requireNonNull(uri);
+        // username nullable
+        // password nullable
+        return lease(newPoolableConnection(uri, username, newConnection(uri, username, password)));
+    }
+
+    @Override
+    public Connection newConnection(Dbms dbms) {
+        requireNonNull(dbms);
+        final DataSource dataSource = dataSources.get(dbms.getName());
+        if (dataSource == null) {
+            throw new SpeedmentException(
+                "No DataSource has been set for the dbms '" + dbms.getName() + "'."
+            );
+        }
+
+        final long started = System.nanoTime();
+        try {
+            return dataSource.getConnection();
+        } catch (final SQLException ex) {
+            if (ex instanceof SQLTimeoutException 
+            ||  ex instanceof SQLTransientConnectionException) {
+                timeoutCount.increment();
+            }
+
+            final String msg = "Unable to get a connection to the dbms '" + 
+                dbms.getName() + "' from the DataSource.";
+
+            logger.error(ex, msg);
+            throw new SpeedmentException(msg, ex);
+        } finally {
+            totalWaitNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public Connection newConnection(String uri, String username, char[] password) {
+        try {
+            return DriverManager.getConnection(uri, username, password == null ? "null" : new String(password));
+        } catch (final SQLException ex) {
+            final String msg = "Unable to get connection using url \"" + uri + 
+                "\", user = \"" + username +
+                "\", password = \"********\".";
+
+            logger.error(ex, msg);
+            throw new SpeedmentException(msg, ex);
+        }
+    }
+
+    @Override
+    public void invalidate(Dbms dbms) {
+        uris.remove(dbms.getName());
+    }
+
+    @Override
+    public void returnConnection(PoolableConnection connection) {
+        requireNonNull(connection);
+        final Long leased = leasedConnections.remove(connection.getId());
+        if (leased != null) {
+            totalLeaseMillis.add(System.currentTimeMillis() - leased);
+        }
+
+        try {
+            // Hands the connection back to the DataSource
+            connection.rawClose();
+        } catch (final SQLException ex) {
+            logger.error(ex, "Error closing a connection.");
+        }
+    }
+
+    private void warnIgnored(String setting, Object value) {
+        logger.warn(
+            "Setting %s to %s has no effect since the connections are pooled by "
+            + "the DataSource. Configure the DataSource instead.", setting, value
+        );
+    }
+
+    private PoolableConnection newPoolableConnection(String uri, String username, Connection rawConnection) {
+        final PoolableConnection connection = new PoolableConnectionImpl(
+            uri, username, null, rawConnection, Long.MAX_VALUE
+        );
+
+        connection.setOnClose(() -> returnConnection(connection));
+        return connection;
+    }
+
+    private PoolableConnection lease(PoolableConnection connection) {
+        leasedConnections.put(connection.getId(), System.currentTimeMillis());
+        leaseCount.increment();
+        return connection;
+    }
+
+    @Override
+    public int poolSize() {
+        return 0;
+    }
+
+    @Override
+    public int leaseSize() {
+        return leasedConnections.size();
+    }
+
+    @Override
+    public int getMaxRetainSize() {
+        return maxRetainSize;
+    }
+
+    @Override
+    public void setMaxRetainSize(int size) {
+        warnIgnored("maxRetainSize", size);
+        this.maxRetainSize = size;
+    }
+
+    @Override
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    @Override
+    public void setMaxAge(long maxAge) {
+        warnIgnored("maxAge", maxAge);
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public void setStatementCacheSize(int statementCacheSize) {
+        warnIgnored("statementCacheSize", statementCacheSize);
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    @Override
+    public int getMaxTotalSize() {
+        return maxTotalSize;
+    }
+
+    @Override
+    public void setMaxTotalSize(int maxTotalSize) {
+        warnIgnored("maxTotalSize", maxTotalSize);
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    @Override
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    @Override
+    public void setMaxWaitTime(long maxWaitTime) {
+        warnIgnored("maxWaitTime", maxWaitTime);
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    @Override
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    @Override
+    public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+        warnIgnored("leakDetectionThreshold", leakDetectionThreshold);
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    @Override
+    public int getMinIdleSize() {
+        return minIdleSize;
+    }
+
+    @Override
+    public void setMinIdleSize(int minIdleSize) {
+        warnIgnored("minIdleSize", minIdleSize);
+        this.minIdleSize = minIdleSize;
+    }
+
+    @Override
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    @Override
+    public void setMaxIdleTime(long maxIdleTime) {
+        warnIgnored("maxIdleTime", maxIdleTime);
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    @Override
+    public long getMaintenanceInterval() {
+        return maintenanceInterval;
+    }
+
+    @Override
+    public void setMaintenanceInterval(long maintenanceInterval) {
+        warnIgnored("maintenanceInterval", maintenanceInterval);
+        this.maintenanceInterval = maintenanceInterval;
+    }
+
+    /**
+     * Returns {@code 0} since the physical connections are created by the
+     * {@code DataSource}.
+     *
+     * @return {@code 0}
+     */
+    @Override
+    public long getCreatedCount() {
+        return 0;
+    }
+
+    @Override
+    public long getLeaseCount() {
+        return leaseCount.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public long getTotalWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    @Override
+    public long getTotalLeaseTime() {
+        return totalLeaseMillis.sum();
+    }
+}
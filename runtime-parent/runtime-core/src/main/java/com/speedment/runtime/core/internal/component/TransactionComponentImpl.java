@@ -0,0 +1,56 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.core.component.transaction.Transaction;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.internal.db.SqlTransaction;
+
+import java.util.Optional;
+
+/**
+ * Default implementation of the {@link TransactionComponent}-interface that 
+ * binds each transaction to the thread that began it.
+ *
+ * @since   3.0.1
+ */
+public final class TransactionComponentImpl implements TransactionComponent {
+
+    private final ThreadLocal<Transaction> current;
+
+    public TransactionComponentImpl() {
+        this.current = new ThreadLocal<>();
+    }
+
+    @Override
+    public Transaction begin() {
+        if (current.get() != null) {
+            throw new IllegalStateException(
+                "The current thread already has an active transaction."
+            );
+        }
+
+        final Transaction tx = new SqlTransaction(current::remove);
+        current.set(tx);
+        return tx;
+    }
+
+    @Override
+    public Optional<Transaction> current() {
+        return Optional.ofNullable(current.get());
+    }
+}
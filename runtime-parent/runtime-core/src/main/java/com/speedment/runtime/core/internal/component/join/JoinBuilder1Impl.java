@@ -0,0 +1,65 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.runtime.core.join.JoinBuilder1;
+import com.speedment.runtime.core.join.JoinBuilder2;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link JoinBuilder1}-interface.
+ * 
+ * @param <T0>  the entity type of the first table
+ * 
+ * @since   3.0.1
+ */
+final class JoinBuilder1Impl<T0> implements JoinBuilder1<T0> {
+
+    private final JoinComponentImpl joinComponent;
+    private final JoinStage<T0> stage0;
+
+    JoinBuilder1Impl(JoinComponentImpl joinComponent, JoinStage<T0> stage0) {
+        this.joinComponent = requireNonNull(joinComponent);
+        this.stage0        = requireNonNull(stage0);
+    }
+
+    @Override
+    public JoinBuilder1<T0> where(Predicate<? super T0> predicate) {
+        stage0.addPredicate(predicate);
+        return this;
+    }
+
+    @Override
+    public <T1> JoinBuilder2<T0, T1> innerJoinOn(Manager<T1> manager, Field<T1> field, Field<T0> otherField) {
+        final List<JoinStage<?>> stages = new ArrayList<>();
+        stages.add(stage0);
+
+        final JoinStage<T1> stage1 = new JoinStage<>(
+            manager.getTableIdentifier(), field, otherField, 
+            JoinStage.indexOf(stages, otherField)
+        );
+
+        return new JoinBuilder2Impl<>(joinComponent, stage0, stage1);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.common.tuple.Tuples;
+import com.speedment.runtime.core.join.Join;
+import com.speedment.runtime.core.join.JoinBuilder2;
+import com.speedment.runtime.core.join.JoinBuilder3;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.Field;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link JoinBuilder2}-interface.
+ * 
+ * @param <T0>  the entity type of the first table
+ * @param <T1>  the entity type of the second table
+ * 
+ * @since   3.0.1
+ */
+final class JoinBuilder2Impl<T0, T1> implements JoinBuilder2<T0, T1> {
+
+    private final JoinComponentImpl joinComponent;
+    private final JoinStage<T0> stage0;
+    private final JoinStage<T1> stage1;
+
+    JoinBuilder2Impl(JoinComponentImpl joinComponent, JoinStage<T0> stage0, JoinStage<T1> stage1) {
+        this.joinComponent = requireNonNull(joinComponent);
+        this.stage0        = requireNonNull(stage0);
+        this.stage1        = requireNonNull(stage1);
+    }
+
+    @Override
+    public JoinBuilder2<T0, T1> where0(Predicate<? super T0> predicate) {
+        stage0.addPredicate(predicate);
+        return this;
+    }
+
+    @Override
+    public JoinBuilder2<T0, T1> where1(Predicate<? super T1> predicate) {
+        stage1.addPredicate(predicate);
+        return this;
+    }
+
+    @Override
+    public <T2> JoinBuilder3<T0, T1, T2> innerJoinOn(Manager<T2> manager, Field<T2> field, Field<?> otherField) {
+        final JoinStage<T2> stage2 = new JoinStage<>(
+            manager.getTableIdentifier(), field, otherField, 
+            JoinStage.indexOf(stages(), otherField)
+        );
+
+        return new JoinBuilder3Impl<>(joinComponent, stage0, stage1, stage2);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Join<Tuple2<T0, T1>> build() {
+        return joinComponent.createJoin(stages(), 
+            row -> Tuples.of((T0) row[0], (T1) row[1])
+        );
+    }
+
+    private List<JoinStage<?>> stages() {
+        return Arrays.asList(stage0, stage1);
+    }
+}
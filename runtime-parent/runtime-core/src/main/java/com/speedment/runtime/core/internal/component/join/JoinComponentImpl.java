@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.util.DocumentDbUtil;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.JoinComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.db.DatabaseNamingConvention;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.join.Join;
+import com.speedment.runtime.core.join.JoinBuilder1;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.util.DatabaseUtil;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default implementation of the {@link JoinComponent}-interface.
+ * 
+ * @since   3.0.1
+ */
+public final class JoinComponentImpl implements JoinComponent {
+
+    private @Inject ProjectComponent projectComponent;
+    private @Inject DbmsHandlerComponent dbmsHandlerComponent;
+    private @Inject SqlStreamSupplierComponent sqlStreamSupplierComponent;
+
+    @Override
+    public <T0> JoinBuilder1<T0> from(Manager<T0> manager) {
+        requireNonNull(manager);
+        return new JoinBuilder1Impl<>(this, new JoinStage<>(manager.getTableIdentifier()));
+    }
+
+    <T> Join<T> createJoin(List<JoinStage<?>> stages, Function<Object[], T> finisher) {
+        final String dbmsName = stages.get(0).getTableIdentifier().getDbmsName();
+        stages.stream()
+            .map(JoinStage::getTableIdentifier)
+            .filter(id -> !dbmsName.equals(id.getDbmsName()))
+            .findAny()
+            .ifPresent(id -> {
+                throw new SpeedmentException(
+                    "The table '" + id + "' can not be joined since it is " + 
+                    "not located in the dbms '" + dbmsName + "'."
+                );
+            });
+
+        final Project project = projectComponent.getProject();
+        final Dbms dbms = DocumentDbUtil.referencedDbms(project, stages.get(0).getTableIdentifier());
+        final DbmsType dbmsType = DatabaseUtil.dbmsTypeOf(dbmsHandlerComponent, dbms);
+        final DatabaseNamingConvention naming = dbmsType.getDatabaseNamingConvention();
+
+        final List<JoinTable<?>> tables = stages.stream()
+            .map(stage -> resolve(project, naming, stage))
+            .collect(toList());
+
+        return new SqlJoin<>(
+            naming,
+            dbmsType.getFieldPredicateView(),
+            tables,
+            (sql, values, rowMapper) -> dbmsType.getOperationHandler()
+                .executeQueryLazily(dbms, sql, values, rowMapper),
+            finisher
+        );
+    }
+
+    private <ENTITY> JoinTable<ENTITY> resolve(Project project, DatabaseNamingConvention naming, JoinStage<ENTITY> stage) {
+        final Table table = DocumentDbUtil.referencedTable(project, stage.getTableIdentifier());
+
+        // The entity mappers expect the enabled columns in configuration order
+        final List<String> columnNames = table.columns()
+            .filter(Column::isEnabled)
+            .map(Column::getName)
+            .collect(toList());
+
+        return new JoinTable<>(
+            stage,
+            naming.fullNameOf(table),
+            columnNames,
+            sqlStreamSupplierComponent.entityMapper(stage.getTableIdentifier())
+        );
+    }
+}
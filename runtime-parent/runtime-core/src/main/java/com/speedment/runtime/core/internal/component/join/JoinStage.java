@@ -0,0 +1,132 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One of the tables of a join that is being built, together with the 
+ * condition it is joined on and the predicates its entities must match.
+ * 
+ * @param <ENTITY>  the entity type of the table
+ * 
+ * @since   3.0.1
+ */
+final class JoinStage<ENTITY> {
+
+    private final TableIdentifier<ENTITY> tableIdentifier;
+    private final Field<ENTITY> field;
+    private final Field<?> otherField;
+    private final int otherIndex;
+    private final List<Predicate<? super ENTITY>> predicates;
+
+    /**
+     * Creates the first stage of a join.
+     * 
+     * @param tableIdentifier  the table
+     */
+    JoinStage(TableIdentifier<ENTITY> tableIdentifier) {
+        this.tableIdentifier = requireNonNull(tableIdentifier);
+        this.field           = null;
+        this.otherField      = null;
+        this.otherIndex      = -1;
+        this.predicates      = new ArrayList<>();
+    }
+
+    /**
+     * Creates a stage that is joined to the stage with the specified index on 
+     * the condition that the two fields are equal.
+     * 
+     * @param tableIdentifier  the table
+     * @param field            the field of this table
+     * @param otherField       the field of the other table
+     * @param otherIndex       the index of the other stage
+     */
+    JoinStage(TableIdentifier<ENTITY> tableIdentifier, Field<ENTITY> field, Field<?> otherField, int otherIndex) {
+        this.tableIdentifier = requireNonNull(tableIdentifier);
+        this.field           = requireNonNull(field);
+        this.otherField      = requireNonNull(otherField);
+        this.otherIndex      = otherIndex;
+        this.predicates      = new ArrayList<>();
+
+        if (!isInTable(field, tableIdentifier)) {
+            throw new IllegalArgumentException(
+                "The field '" + field.identifier().getColumnName() + 
+                "' is not a field of the table '" + tableIdentifier + "'."
+            );
+        }
+    }
+
+    TableIdentifier<ENTITY> getTableIdentifier() {
+        return tableIdentifier;
+    }
+
+    Field<ENTITY> getField() {
+        return field;
+    }
+
+    Field<?> getOtherField() {
+        return otherField;
+    }
+
+    int getOtherIndex() {
+        return otherIndex;
+    }
+
+    List<Predicate<? super ENTITY>> getPredicates() {
+        return predicates;
+    }
+
+    void addPredicate(Predicate<? super ENTITY> predicate) {
+        predicates.add(requireNonNull(predicate));
+    }
+
+    /**
+     * Returns the index of the last of the specified stages that the field
+     * belongs to.
+     * 
+     * @param stages  the stages to search
+     * @param field   the field
+     * @return        the index of the stage
+     * 
+     * @throws IllegalArgumentException  if the field belongs to none of them
+     */
+    static int indexOf(List<JoinStage<?>> stages, Field<?> field) {
+        requireNonNull(field);
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            if (isInTable(field, stages.get(i).getTableIdentifier())) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException(
+            "The field '" + field.identifier().getColumnName() + 
+            "' is not a field of any of the joined tables."
+        );
+    }
+
+    private static boolean isInTable(Field<?> field, TableIdentifier<?> tableIdentifier) {
+        return tableIdentifier.equals(field.identifier().asTableIdentifier());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.runtime.core.db.SqlFunction;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A stage of a join that has been resolved against the configuration of the
+ * project so that it can be rendered into SQL.
+ * 
+ * @param <ENTITY>  the entity type of the table
+ * 
+ * @since   3.0.1
+ */
+final class JoinTable<ENTITY> {
+
+    private final JoinStage<ENTITY> stage;
+    private final String sqlTableReference;
+    private final List<String> columnNames;
+    private final SqlFunction<ResultSet, ENTITY> entityMapper;
+
+    /**
+     * Creates a new table. The column names must be listed in the order the
+     * entity mapper expects them.
+     * 
+     * @param stage              the stage of the join
+     * @param sqlTableReference  the full name of the table
+     * @param columnNames        the unquoted names of the columns
+     * @param entityMapper       the mapper between SQL result and entity
+     */
+    JoinTable(
+            JoinStage<ENTITY> stage,
+            String sqlTableReference,
+            List<String> columnNames,
+            SqlFunction<ResultSet, ENTITY> entityMapper) {
+
+        this.stage             = requireNonNull(stage);
+        this.sqlTableReference = requireNonNull(sqlTableReference);
+        this.columnNames       = unmodifiableList(new ArrayList<>(columnNames));
+        this.entityMapper      = requireNonNull(entityMapper);
+    }
+
+    JoinStage<ENTITY> getStage() {
+        return stage;
+    }
+
+    String getSqlTableReference() {
+        return sqlTableReference;
+    }
+
+    List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    SqlFunction<ResultSet, ENTITY> getEntityMapper() {
+        return entityMapper;
+    }
+}
@@ -0,0 +1,314 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.runtime.core.db.DatabaseNamingConvention;
+import com.speedment.runtime.core.db.FieldPredicateView;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.manager.sql.SqlPredicateCache;
+import com.speedment.runtime.core.internal.stream.BufferedRowResultSet;
+import com.speedment.runtime.core.join.Join;
+import com.speedment.runtime.field.Field;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isSqlExpressible;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Join} that is rendered into a single {@code SELECT} with one 
+ * {@code INNER JOIN} per additional table. The tables are given the aliases
+ * {@code t0}, {@code t1} and so on so that a table can be joined with itself.
+ * <p>
+ * Each row is buffered once and every table reads its own slice of the row,
+ * so the entity mappers of the managers can be used without knowing about 
+ * the join.
+ * 
+ * @param <T>  the type of the joined elements
+ * 
+ * @since   3.0.1
+ */
+final class SqlJoin<T> implements Join<T> {
+
+    /**
+     * Executes a query and maps every row of it.
+     */
+    @FunctionalInterface
+    interface QueryExecutor {
+        Stream<Object[]> execute(String sql, List<Object> values, SqlFunction<ResultSet, Object[]> rowMapper);
+    }
+
+    private final List<JoinTable<?>> tables;
+    private final QueryExecutor executor;
+    private final Function<Object[], T> finisher;
+    private final String sql;
+    private final List<Object> values;
+    private final List<Predicate<Object[]>> filters;
+
+    /**
+     * Renders a new join.
+     * 
+     * @param naming         the naming convention of the database
+     * @param predicateView  the view used to render the predicates
+     * @param tables         the tables to join, starting with the first one
+     * @param executor       the executor of the rendered query
+     * @param finisher       creates an element from the entities of a row
+     */
+    SqlJoin(
+            DatabaseNamingConvention naming,
+            FieldPredicateView predicateView,
+            List<JoinTable<?>> tables,
+            QueryExecutor executor,
+            Function<Object[], T> finisher) {
+
+        requireNonNull(naming);
+        requireNonNull(predicateView);
+        this.tables   = unmodifiableList(new ArrayList<>(tables));
+        this.executor = requireNonNull(executor);
+        this.finisher = requireNonNull(finisher);
+
+        final List<String> columns    = new ArrayList<>();
+        final List<String> conditions = new ArrayList<>();
+        final List<Object> values     = new ArrayList<>();
+        final List<Predicate<Object[]>> filters = new ArrayList<>();
+        final StringBuilder from = new StringBuilder();
+
+        for (int i = 0; i < this.tables.size(); i++) {
+            final JoinTable<?> table = this.tables.get(i);
+            final JoinStage<?> stage = table.getStage();
+
+            for (final String columnName : table.getColumnNames()) {
+                columns.add(alias(i) + "." + naming.encloseField(columnName));
+            }
+
+            from.append(i == 0 ? " FROM " : " INNER JOIN ")
+                .append(table.getSqlTableReference())
+                .append(' ').append(alias(i));
+
+            if (i > 0) {
+                from.append(" ON ")
+                    .append(columnName(naming, i, stage.getField()))
+                    .append(" = ")
+                    .append(columnName(naming, stage.getOtherIndex(), stage.getOtherField()));
+            }
+
+            addPredicates(naming, predicateView, i, table, conditions, values, filters);
+        }
+
+        this.sql = "SELECT " + String.join(",", columns) + from
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        this.values  = unmodifiableList(values);
+        this.filters = unmodifiableList(filters);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        final Stream<Object[]> query = executor.execute(sql, values, new RowMapper());
+
+        // The query is released as soon as all rows have been read so that a
+        // fully consumed stream does not hold on to its connection
+        Stream<Object[]> rows = StreamSupport.stream(
+            new ReleasingSpliterator<>(query.spliterator(), new AtomicInteger(1), query::close), 
+            query.isParallel()
+        ).onClose(query::close);
+
+        for (final Predicate<Object[]> filter : filters) {
+            rows = rows.filter(filter);
+        }
+
+        return rows.map(finisher);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    List<Object> getValues() {
+        return values;
+    }
+
+    private static <ENTITY> void addPredicates(
+            DatabaseNamingConvention naming,
+            FieldPredicateView predicateView,
+            int index,
+            JoinTable<ENTITY> table,
+            List<String> conditions,
+            List<Object> values,
+            List<Predicate<Object[]>> filters) {
+
+        final List<Predicate<? super ENTITY>> expressible = new ArrayList<>();
+        for (final Predicate<? super ENTITY> predicate : table.getStage().getPredicates()) {
+            if (isSqlExpressible(predicate)) {
+                expressible.add(predicate);
+            } else {
+                // Predicates that can not be rendered are applied in memory
+                filters.add(row -> {
+                    @SuppressWarnings("unchecked")
+                    final ENTITY entity = (ENTITY) row[index];
+                    return predicate.test(entity);
+                });
+            }
+        }
+
+        if (!expressible.isEmpty()) {
+            final SqlPredicateCache<ENTITY> renderer = new SqlPredicateCache<>(
+                predicateView, f -> columnName(naming, index, f), 0
+            );
+
+            conditions.add(renderer.render(expressible, values));
+        }
+    }
+
+    private static String columnName(DatabaseNamingConvention naming, int index, Field<?> field) {
+        return alias(index) + "." + naming.encloseField(field.identifier().getColumnName());
+    }
+
+    private static String alias(int index) {
+        return "t" + index;
+    }
+
+    /**
+     * A spliterator that runs a release action once it and all the 
+     * spliterators that were split from it have been exhausted. Closing the
+     * stream is still needed if it is not fully consumed. It never reports
+     * itself as sized so that every terminal operation traverses it.
+     */
+    private final static class ReleasingSpliterator<E> implements Spliterator<E> {
+
+        private final Spliterator<E> inner;
+        private final AtomicInteger remaining;
+        private final Runnable release;
+        private boolean exhausted;
+
+        private ReleasingSpliterator(Spliterator<E> inner, AtomicInteger remaining, Runnable release) {
+            this.inner = requireNonNull(inner);
+            this.remaining = requireNonNull(remaining);
+            this.release = requireNonNull(release);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (exhausted) {
+                return false;
+            } else if (inner.tryAdvance(action)) {
+                return true;
+            }
+
+            exhaust();
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (!exhausted) {
+                inner.forEachRemaining(action);
+                exhaust();
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if (exhausted) {
+                return null;
+            }
+
+            final Spliterator<E> prefix = inner.trySplit();
+            if (prefix == null) {
+                return null;
+            }
+
+            remaining.incrementAndGet();
+            return new ReleasingSpliterator<>(prefix, remaining, release);
+        }
+
+        @Override
+        public long estimateSize() {
+            return inner.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            // A sized stream may compute count() without any traversal, in
+            // which case the release action would never run
+            return inner.characteristics() & ~(SIZED | SUBSIZED);
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            return inner.getComparator();
+        }
+
+        private void exhaust() {
+            exhausted = true;
+            if (remaining.decrementAndGet() == 0) {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Maps a row of the join to an array with one entity per table. An 
+     * instance is created for each stream since it reuses its buffers.
+     */
+    private final class RowMapper implements SqlFunction<ResultSet, Object[]> {
+
+        private BufferedRowResultSet[] slices;
+        private Object[] row;
+
+        @Override
+        public Object[] apply(ResultSet resultSet) throws SQLException {
+            if (slices == null) {
+                final ResultSetMetaData metaData = resultSet.getMetaData();
+                slices = new BufferedRowResultSet[tables.size()];
+
+                int offset = 0;
+                for (int i = 0; i < slices.length; i++) {
+                    final int count = tables.get(i).getColumnNames().size();
+                    slices[i] = new BufferedRowResultSet(
+                        new BufferedRowResultSet.Columns(metaData, offset, count)
+                    );
+                    offset += count;
+                }
+
+                row = new Object[offset];
+            }
+
+            BufferedRowResultSet.copyRow(resultSet, row);
+
+            final Object[] entities = new Object[slices.length];
+            for (int i = 0; i < slices.length; i++) {
+                slices[i].setRow(row);
+                entities[i] = tables.get(i).getEntityMapper().apply(slices[i]);
+            }
+
+            return entities;
+        }
+    }
+}
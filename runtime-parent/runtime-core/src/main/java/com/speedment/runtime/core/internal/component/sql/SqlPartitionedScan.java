@@ -0,0 +1,301 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamPartitioner;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the rows of a single parallel stream in a number of partitions that
+ * each cover a range of an integral column. The range of the column is
+ * determined by a {@code MIN/MAX} query when the stream is started, and each
+ * partition is read by a query of its own, using a connection of its own, 
+ * when the partition is first consumed.
+ * <p>
+ * The queries that are still open when the stream is closed are closed by
+ * {@link #close()}.
+ *
+ * @since  3.0.1
+ */
+final class SqlPartitionedScan implements SqlStreamPartitioner, AutoCloseable {
+
+    private final DbmsOperationHandler operationHandler;
+    private final Dbms dbms;
+    private final String sqlTableReference;
+    private final Partitioning partitioning;
+    private final ParallelStrategy parallelStrategy;
+    private final int fetchSize;
+    private final Set<AsynchronousQueryResult<?>> openQueries;
+
+    SqlPartitionedScan(
+        DbmsOperationHandler operationHandler,
+        Dbms dbms,
+        String sqlTableReference,
+        Partitioning partitioning,
+        ParallelStrategy parallelStrategy,
+        int fetchSize) {
+
+        this.operationHandler  = requireNonNull(operationHandler);
+        this.dbms              = requireNonNull(dbms);
+        this.sqlTableReference = requireNonNull(sqlTableReference);
+        this.partitioning      = partitioning; // Nullable
+        this.parallelStrategy  = requireNonNull(parallelStrategy);
+        this.fetchSize         = fetchSize;
+        this.openQueries       = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return partitioning != null;
+    }
+
+    @Override
+    public <T> Stream<T> stream(String sqlSelect, String sqlWhere, List<Object> values, SqlFunction<ResultSet, T> rsMapper) {
+        requireNonNull(sqlSelect);
+        requireNonNull(sqlWhere);
+        requireNonNull(values);
+        requireNonNull(rsMapper);
+
+        final String sqlPrefix = sqlSelect 
+            + (sqlWhere.isEmpty() ? " WHERE " : sqlWhere + " AND ");
+
+        final List<Partition> partitions = partitions(sqlWhere, values);
+        final List<Partition> queries = new ArrayList<>(partitions.size());
+        partitions.forEach(p -> {
+            final List<Object> partitionValues = new ArrayList<>(values);
+            partitionValues.addAll(p.values);
+            queries.add(new Partition(sqlPrefix + p.sql, partitionValues));
+        });
+
+        return StreamSupport.stream(
+            new PartitionSpliterator<>(queries, 0, queries.size(), rsMapper), 
+            true
+        );
+    }
+
+    @Override
+    public void close() {
+        openQueries.forEach(AsynchronousQueryResult::close);
+        openQueries.clear();
+    }
+
+    private List<Partition> partitions(String sqlWhere, List<Object> values) {
+        final String column = partitioning.sqlColumn;
+        final Optional<long[]> range;
+        try (final Stream<Optional<long[]>> rs = operationHandler.executeQuery(
+            dbms,
+            "SELECT MIN(" + column + "), MAX(" + column + ") FROM " 
+                + sqlTableReference + sqlWhere,
+            values,
+            r -> {
+                final long min = r.getLong(1);
+                return r.wasNull()
+                    ? Optional.empty()
+                    : Optional.of(new long[] {min, r.getLong(2)});
+            }
+        )) {
+            range = rs.findAny().orElse(Optional.empty());
+        }
+
+        final List<Partition> result = new ArrayList<>();
+        range.ifPresent(r -> {
+            final long min = r[0];
+            final long max = r[1];
+            final long span = max - min;
+
+            // The width is rounded up so that the last partition ends at max
+            final long width = span < 0 || span == Long.MAX_VALUE
+                ? Long.MAX_VALUE // Avoid overflowing
+                : span / partitioning.partitions + 1;
+
+            for (long from = min;; from += width) {
+                final boolean last = max - from < width;
+                final long to = last ? max : from + width - 1;
+
+                final List<Object> bounds = new ArrayList<>(2);
+                bounds.add(from);
+                bounds.add(to);
+                result.add(new Partition(
+                    "(" + column + " >= ? AND " + column + " <= ?)", bounds
+                ));
+
+                if (last) {
+                    break;
+                }
+            }
+        });
+
+        if (partitioning.nullable) {
+            result.add(new Partition(column + " IS NULL", Collections.emptyList()));
+        }
+
+        return result;
+    }
+
+    /**
+     * The column and the number of partitions that a table is partitioned
+     * by.
+     */
+    static final class Partitioning {
+
+        private final String sqlColumn;
+        private final boolean nullable;
+        private final int partitions;
+
+        Partitioning(String sqlColumn, boolean nullable, int partitions) {
+            this.sqlColumn  = requireNonNull(sqlColumn);
+            this.nullable   = nullable;
+            this.partitions = partitions;
+        }
+    }
+
+    /**
+     * A condition or a query that selects one partition of the rows.
+     */
+    private static final class Partition {
+
+        private final String sql;
+        private final List<Object> values;
+
+        private Partition(String sql, List<Object> values) {
+            this.sql    = requireNonNull(sql);
+            this.values = requireNonNull(values);
+        }
+    }
+
+    /**
+     * A spliterator over a range of the partitions. Whole partitions are
+     * split off as long as more than one remains, after which the rows of the
+     * last partition are split using the {@link ParallelStrategy} of the
+     * stream.
+     */
+    private final class PartitionSpliterator<T> implements Spliterator<T> {
+
+        private final List<Partition> partitions;
+        private final SqlFunction<ResultSet, T> rsMapper;
+        private int index;
+        private int end;
+        private AsynchronousQueryResult<T> query;
+        private Spliterator<T> current;
+
+        private PartitionSpliterator(List<Partition> partitions, int index, int end, SqlFunction<ResultSet, T> rsMapper) {
+            this.partitions = partitions;
+            this.index      = index;
+            this.end        = end;
+            this.rsMapper   = rsMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            requireNonNull(action);
+            while (current != null || index < end) {
+                if (current == null) {
+                    openNext();
+                }
+                if (current.tryAdvance(action)) {
+                    return true;
+                }
+                closeCurrent();
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            requireNonNull(action);
+            while (current != null || index < end) {
+                if (current == null) {
+                    openNext();
+                }
+                current.forEachRemaining(action);
+                closeCurrent();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (end - index > 1) {
+                final int mid = (index + end) >>> 1;
+                final PartitionSpliterator<T> suffix = 
+                    new PartitionSpliterator<>(partitions, mid, end, rsMapper);
+                
+                end = mid;
+                return suffix;
+            }
+
+            if (current == null) {
+                if (index == end) {
+                    return null;
+                }
+                openNext();
+            }
+
+            return current.trySplit();
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return IMMUTABLE + NONNULL;
+        }
+
+        private void openNext() {
+            final Partition partition = partitions.get(index++);
+            query = operationHandler.executeQueryAsync(
+                dbms,
+                partition.sql,
+                partition.values,
+                rsMapper,
+                parallelStrategy,
+                fetchSize
+            );
+
+            openQueries.add(query);
+            current = query.stream().spliterator();
+        }
+
+        private void closeCurrent() {
+            // Hands the connection back as soon as the partition is read
+            query.close();
+            openQueries.remove(query);
+            query = null;
+            current = null;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.speedment.runtime.core.manager.Updater;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -64,17 +65,33 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
 
     @Override
     public <ENTITY> Persister<ENTITY> persister(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).persist(entity);
+        return new Persister<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).persist(entity);
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities, int batchSize) throws SpeedmentException {
+                getPersistence(tableIdentifier).persist(entities, batchSize);
+            }
+        };
     }
 
     @Override
     public <ENTITY> Updater<ENTITY> updater(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).update(entity);
+        return new SqlTableUpdater<>(
+            tableIdentifier, 
+            entity -> getPersistence(tableIdentifier).update(entity)
+        );
     }
 
     @Override
     public <ENTITY> Remover<ENTITY> remover(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).remove(entity);
+        return new SqlTableRemover<>(
+            tableIdentifier, 
+            entity -> getPersistence(tableIdentifier).remove(entity)
+        );
     }
 
     private <ENTITY> SqlPersistence<ENTITY> getPersistence(TableIdentifier<ENTITY> tableIdentifier) {
@@ -19,6 +19,8 @@ package com.speedment.runtime.core.internal.component.sql;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 
+import java.util.stream.Stream;
+
 /**
  * The common interface for table specific persisting handlers that is managed 
  * by a {@link SqlPersistenceComponent}.
@@ -40,6 +42,18 @@ interface SqlPersistence<ENTITY> {
      */
     ENTITY persist(ENTITY entity) throws SpeedmentException;
 
+    /**
+     * Persists all the entities of the specified stream in the table managed
+     * by this handler using a single transaction, sending them to the 
+     * database in batches of at most {@code batchSize} entities.
+     * 
+     * @param entities   the entities to persist
+     * @param batchSize  the maximum number of entities in each batch
+     * 
+     * @throws SpeedmentException  if the entities could not be persisted
+     */
+    void persist(Stream<? extends ENTITY> entities, int batchSize) throws SpeedmentException;
+
     /**
      * Updates the specified entity in the table managed by this handler.
      * 
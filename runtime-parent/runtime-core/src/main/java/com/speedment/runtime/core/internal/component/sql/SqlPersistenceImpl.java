@@ -178,6 +178,25 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         }
     }
     
+    @Override
+    public void persist(Stream<? extends ENTITY> entities, int batchSize) throws SpeedmentException {
+        try {
+            operationHandler.executeInsertBatch(
+                dbms, 
+                insertStatement, 
+                entities, 
+                entity -> fields.get()
+                    .map(f -> toDatabaseType(f, entity))
+                    .collect(toList()),
+                generatedFields, 
+                (entity, keys) -> newGeneratedKeyConsumer(entity).accept(keys), 
+                batchSize
+            );
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        }
+    }
+    
     @Override
     public ENTITY update(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
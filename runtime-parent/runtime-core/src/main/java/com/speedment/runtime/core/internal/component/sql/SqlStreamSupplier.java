@@ -17,9 +17,12 @@
 package com.speedment.runtime.core.internal.component.sql;
 
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 
+import java.sql.ResultSet;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -42,6 +45,18 @@ interface SqlStreamSupplier<ENTITY> {
      * @return                  the entity stream
      */
     Stream<ENTITY> stream(ParallelStrategy parallelStrategy);
+
+    /**
+     * Produces a stream over the entities in the managed table like 
+     * {@link #stream(ParallelStrategy)}, but where the rows are read using
+     * the specified fetch size.
+     * 
+     * @param parallelStrategy  the parallel strategy to use
+     * @param fetchSize         the fetch size, or {@code 0} to use the 
+     *                          default of the JDBC driver
+     * @return                  the entity stream
+     */
+    Stream<ENTITY> stream(ParallelStrategy parallelStrategy, int fetchSize);
     
     /**
      * Finds a particular entity based on an ordinary key-value search. This is
@@ -58,4 +73,48 @@ interface SqlStreamSupplier<ENTITY> {
      */
     <V extends Comparable<? super V>> Optional<ENTITY> findAny(
         HasComparableOperators<ENTITY, V> field, V value);
-}
\ No newline at end of file
+
+    /**
+     * Makes parallel streams over the managed table read the rows in the 
+     * specified number of partitions, each covering a range of the primary
+     * key, on separate connections. A value of {@code 0} disables 
+     * partitioning.
+     * 
+     * @param partitions  the number of partitions
+     * @throws IllegalArgumentException  if the number is negative or if the 
+     *                                   primary key is not a single integral
+     *                                   column
+     */
+    void partition(int partitions);
+
+    /**
+     * Makes parallel streams over the managed table read the rows in the 
+     * specified number of partitions, each covering a range of the specified
+     * field, on separate connections. A value of {@code 0} disables 
+     * partitioning.
+     * 
+     * @param field       the integral field to partition by
+     * @param partitions  the number of partitions
+     * @throws IllegalArgumentException  if the number is negative or if the 
+     *                                   field is not an integral column of 
+     *                                   the table
+     */
+    void partition(Field<ENTITY> field, int partitions);
+
+    /**
+     * Makes streams over the managed table map the rows on the specified 
+     * number of decoder threads while the consuming thread reads them. A 
+     * value of {@code 0} maps the rows on the thread that reads them.
+     * 
+     * @param decoderThreads  the number of decoder threads
+     * @throws IllegalArgumentException  if the number is negative
+     */
+    void decodeInParallel(int decoderThreads);
+
+    /**
+     * Returns the mapper between SQL result and entity used by this supplier.
+     *
+     * @return  the entity mapper
+     */
+    SqlFunction<ResultSet, ENTITY> entityMapper();
+}
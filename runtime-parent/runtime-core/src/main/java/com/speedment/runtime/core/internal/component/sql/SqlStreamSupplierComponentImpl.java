@@ -21,9 +21,12 @@ import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
 
 import java.sql.ResultSet;
 import java.util.Map;
@@ -46,6 +49,8 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
     private @Inject ProjectComponent projectComponent;
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
     private @Inject ManagerComponent managerComponent;
+    private @Inject TransactionComponent transactionComponent;
+    private @Inject ResultSetMapperComponent resultSetMapperComponent;
 
     public SqlStreamSupplierComponentImpl() {
         this.supportMap = new ConcurrentHashMap<>();
@@ -58,7 +63,9 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
             entityMapper, 
             projectComponent, 
             dbmsHandlerComponent,
-            managerComponent
+            managerComponent,
+            transactionComponent,
+            resultSetMapperComponent
         );
         
         supportMap.put(tableIdentifier, supplier);
@@ -70,6 +77,32 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         return supplier.stream(parallelStrategy);
     }
 
+    @Override
+    public <ENTITY> Stream<ENTITY> stream(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy parallelStrategy, int fetchSize) {
+        final SqlStreamSupplier<ENTITY> supplier = getStreamSupplier(tableIdentifier);
+        return supplier.stream(parallelStrategy, fetchSize);
+    }
+
+    @Override
+    public <ENTITY> void partition(TableIdentifier<ENTITY> tableIdentifier, int partitions) {
+        getStreamSupplier(tableIdentifier).partition(partitions);
+    }
+
+    @Override
+    public <ENTITY> void partition(TableIdentifier<ENTITY> tableIdentifier, Field<ENTITY> field, int partitions) {
+        getStreamSupplier(tableIdentifier).partition(field, partitions);
+    }
+
+    @Override
+    public <ENTITY> void decodeInParallel(TableIdentifier<ENTITY> tableIdentifier, int decoderThreads) {
+        getStreamSupplier(tableIdentifier).decodeInParallel(decoderThreads);
+    }
+
+    @Override
+    public <ENTITY> SqlFunction<ResultSet, ENTITY> entityMapper(TableIdentifier<ENTITY> tableIdentifier) {
+        return getStreamSupplier(tableIdentifier).entityMapper();
+    }
+
     private <ENTITY> SqlStreamSupplier<ENTITY> getStreamSupplier(TableIdentifier<ENTITY> tableIdentifier) {
         @SuppressWarnings("unchecked")
         final SqlStreamSupplier<ENTITY> streamSupplier = (SqlStreamSupplier<ENTITY>) supportMap.get(tableIdentifier);
@@ -26,24 +26,39 @@ import com.speedment.runtime.config.util.DocumentDbUtil;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapping;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DatabaseNamingConvention;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.sql.SqlBulkExecutor;
+import com.speedment.runtime.core.internal.manager.sql.SqlPredicateCache;
 import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
 import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.util.sql.ResultSetUtil;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 import java.util.stream.Stream;
@@ -57,7 +72,9 @@ import java.util.List;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * Default implementation of the {@link SqlStreamSupplier}-interface.
@@ -65,27 +82,44 @@ import static java.util.stream.Collectors.toMap;
  * @author Emil Forslund
  * @since 3.0.1
  */
-final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
+final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY>, SqlBulkExecutor {
 
     private static final Logger LOGGER_SELECT = LoggerManager.getLogger(LOGGER_SELECT_NAME); // Hold an extra reference to this logger
 
+    private static final Set<String> INTEGRAL_TYPES = Stream.of(
+        Byte.class, Short.class, Integer.class, Long.class
+    ).map(Class::getName).collect(toSet());
+
+    private final TableIdentifier<ENTITY> tableId;
+    private final TransactionComponent transactionComponent;
     private final SqlFunction<ResultSet, ENTITY> entityMapper;
     private final Dbms dbms;
     private final DbmsType dbmsType;
     private final Map<ColumnIdentifier<ENTITY>, String> columnNameMap;
+    private final Map<Object, Field<ENTITY>> getterFieldMap;
+    private final Map<Field<ENTITY>, SqlFunction<ResultSet, Object>> columnReaderMap;
+    private final SqlPredicateCache<ENTITY> predicateCache;
     private final String sqlSelect;
     private final String sqlSelectCount;
     private final String sqlTableReference;
+    private final String sqlChunkColumn;
+    private final Map<ColumnIdentifier<ENTITY>, Column> integralColumns;
+    private volatile SqlPartitionedScan.Partitioning partitioning;
+    private volatile int decoderThreads;
 
     SqlStreamSupplierImpl(
         TableIdentifier<ENTITY> tableId,
         SqlFunction<ResultSet, ENTITY> entityMapper,
         ProjectComponent projectComponent,
         DbmsHandlerComponent dbmsHandlerComponent,
-        ManagerComponent managerComponent) {
+        ManagerComponent managerComponent,
+        TransactionComponent transactionComponent,
+        ResultSetMapperComponent resultSetMapperComponent) {
 
         requireNonNulls(tableId, projectComponent, dbmsHandlerComponent);
 
+        this.tableId = tableId;
+        this.transactionComponent = requireNonNull(transactionComponent);
         this.entityMapper = requireNonNull(entityMapper);
 
         final Project project = projectComponent.getProject();
@@ -112,46 +146,116 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         this.sqlSelect = "SELECT " + sqlColumnList + " FROM " + sqlTableReference;
         this.sqlSelectCount = "SELECT COUNT(*) FROM " + sqlTableReference;
 
-        this.columnNameMap = manager.fields()
+        final List<Field<ENTITY>> fields = manager.fields()
             .filter(f -> f.findColumn(project)
             .map(c -> c.getParent())
             .map(t -> isSame(table, t.get()))
             .orElse(false)
             )
+            .collect(toList());
+
+        this.columnNameMap = fields.stream()
             .map(Field::identifier)
             .collect(toMap(identity(), naming::fullNameOf));
+
+        // Getters are matched by identity when projections are pushed down
+        this.getterFieldMap = new IdentityHashMap<>();
+        fields.forEach(f -> getterFieldMap.put(f.getter(), f));
+
+        // Projected columns are read like the generated entity mapper does
+        this.columnReaderMap = new IdentityHashMap<>();
+        fields.forEach(f -> f.findColumn(project).ifPresent(c -> {
+            final SqlFunction<ResultSet, Object> reader = columnReader(
+                resultSetMapperComponent, c, f, manager.getEntityClass()
+            );
+            if (reader != null) {
+                columnReaderMap.put(f, reader);
+            }
+        }));
+
+        // Deletes may only be split by ranges of a single integral primary key
+        final List<Field<ENTITY>> primaryKeyFields = manager.primaryKeyFields()
+            .collect(toList());
+
+        this.sqlChunkColumn = primaryKeyFields.size() == 1
+            && primaryKeyFields.get(0).findColumn(project)
+                .map(Column::getDatabaseType)
+                .filter(INTEGRAL_TYPES::contains)
+                .isPresent()
+            ? sqlColumnNamer(primaryKeyFields.get(0))
+            : null;
+
+        // Parallel streams may be partitioned by ranges of any integral column
+        this.integralColumns = new HashMap<>();
+        fields.forEach(f -> f.findColumn(project)
+            .filter(c -> INTEGRAL_TYPES.contains(c.getDatabaseType()))
+            .ifPresent(c -> integralColumns.put(f.identifier(), c))
+        );
+
+        this.predicateCache = new SqlPredicateCache<>(
+            dbmsType.getFieldPredicateView(),
+            this::sqlColumnNamer
+        );
     }
 
     @Override
     public Stream<ENTITY> stream(ParallelStrategy parallelStrategy) {
+        return stream(parallelStrategy, dbmsType.getDefaultFetchSize());
+    }
+
+    @Override
+    public Stream<ENTITY> stream(ParallelStrategy parallelStrategy, int fetchSize) {
+        final SqlPartitionedScan partitionedScan = new SqlPartitionedScan(
+            dbmsType.getOperationHandler(),
+            dbms,
+            sqlTableReference,
+            // Partitions are read on connections of their own that can not
+            // see the uncommitted changes of an active transaction
+            transactionComponent.current().isPresent() ? null : partitioning,
+            parallelStrategy,
+            fetchSize
+        );
+
         final AsynchronousQueryResult<ENTITY> asynchronousQueryResult
             = dbmsType.getOperationHandler().executeQueryAsync(
                 dbms,
                 sqlSelect,
                 Collections.emptyList(),
                 entityMapper,
-                parallelStrategy
+                parallelStrategy,
+                fetchSize,
+                decoderThreads
             );
 
         final SqlStreamTerminator<ENTITY> terminator = new SqlStreamTerminator<>(
             dbmsType,
             sqlSelect,
             sqlSelectCount,
-            this::executeAndGetLong,
+            this::executeAndGet,
             this::sqlColumnNamer,
+            predicateCache,
+            getterFieldMap::get,
+            columnReaderMap::get,
+            sqlTableReference,
+            this,
+            partitionedScan,
             asynchronousQueryResult
         );
 
         final Supplier<BaseStream<?, ?>> initialSupplier
             = () -> asynchronousQueryResult.stream();
 
+        final PipelineImpl<ENTITY> pipeline = new PipelineImpl<>(initialSupplier);
+        parallelStrategy.getForkJoinPool().ifPresent(pipeline::setForkJoinPool);
+
         final Stream<ENTITY> result = new ReferenceStreamBuilder<>(
-            new PipelineImpl<>(initialSupplier),
+            pipeline,
             terminator
         );
 
         // Make sure we are closing the ResultSet, Statement and Connection later
         result.onClose(asynchronousQueryResult::close);
+        result.onClose(partitionedScan::close);
 
         return result;
     }
@@ -163,17 +267,202 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             .findAny();
     }
 
+    @Override
+    public void partition(int partitions) {
+        requirePartitions(partitions);
+        if (sqlChunkColumn == null) {
+            throw new IllegalArgumentException(
+                "The table '" + tableId + "' can only be partitioned by its " + 
+                "primary key if it consists of a single integral column."
+            );
+        }
+
+        partitioning = partitions == 0 ? null 
+            : new SqlPartitionedScan.Partitioning(sqlChunkColumn, false, partitions);
+    }
+
+    @Override
+    public void partition(Field<ENTITY> field, int partitions) {
+        requireNonNull(field);
+        requirePartitions(partitions);
+        final Column column = integralColumns.get(field.identifier());
+        if (column == null) {
+            throw new IllegalArgumentException(
+                "The table '" + tableId + "' can not be partitioned by '" + 
+                field.identifier().getColumnName() + "' since it is not an " +
+                "integral column of the table."
+            );
+        }
+
+        partitioning = partitions == 0 ? null 
+            : new SqlPartitionedScan.Partitioning(sqlColumnNamer(field), column.isNullable(), partitions);
+    }
+
+    @Override
+    public void decodeInParallel(int decoderThreads) {
+        if (decoderThreads < 0) {
+            throw new IllegalArgumentException(
+                "The number of decoder threads must not be negative: " + decoderThreads
+            );
+        }
+
+        this.decoderThreads = decoderThreads;
+    }
+
+    @Override
+    public SqlFunction<ResultSet, ENTITY> entityMapper() {
+        return entityMapper;
+    }
+
+    private static void requirePartitions(int partitions) {
+        if (partitions < 0) {
+            throw new IllegalArgumentException(
+                "The number of partitions must not be negative: " + partitions
+            );
+        }
+    }
+
+    /**
+     * Returns a function that reads the first column of a {@code ResultSet} 
+     * as the value of the specified field, or {@code null} if the column can
+     * not be read. The value is read using the same {@code ResultSet} getter
+     * as the generated entity mapper and is then converted by the type mapper
+     * of the field.
+     */
+    private SqlFunction<ResultSet, Object> columnReader(
+            ResultSetMapperComponent resultSetMapperComponent,
+            Column column,
+            Field<ENTITY> field,
+            Class<ENTITY> entityClass) {
+
+        final Method getter;
+        try {
+            final ResultSetMapping<?> mapping = resultSetMapperComponent.apply(
+                dbmsType, column.findDatabaseType()
+            );
+            final String getterName = "get" + mapping.getResultSetMethodName(dbms);
+            getter = column.isNullable()
+                ? ResultSetUtil.class.getMethod(getterName, ResultSet.class, int.class)
+                : ResultSet.class.getMethod(getterName, int.class);
+        } catch (final NoSuchMethodException | RuntimeException ex) {
+            return null; // The values are mapped from the entities instead
+        }
+
+        final SqlFunction<ResultSet, Object> reader = rs -> {
+            try {
+                return column.isNullable()
+                    ? getter.invoke(null, rs, 1)
+                    : getter.invoke(rs, 1);
+            } catch (final InvocationTargetException ex) {
+                if (ex.getCause() instanceof SQLException) {
+                    throw (SQLException) ex.getCause();
+                }
+                throw new SpeedmentException(ex.getCause());
+            } catch (final IllegalAccessException ex) {
+                throw new SpeedmentException(ex);
+            }
+        };
+
+        @SuppressWarnings("unchecked")
+        final TypeMapper<Object, Object> typeMapper = 
+            (TypeMapper<Object, Object>) field.typeMapper();
+
+        if (TypeMapper.identity().getClass().isAssignableFrom(typeMapper.getClass())
+            || TypeMapper.primitive().getClass().isAssignableFrom(typeMapper.getClass())) {
+            return reader;
+        }
+
+        return rs -> typeMapper.toJavaType(column, entityClass, reader.apply(rs));
+    }
+
     public String getSqlTableReference() {
         return sqlTableReference;
     }
 
-    public long executeAndGetLong(String sql, List<Object> values) {
-        LOGGER_SELECT.debug("%s, values:%s", sql, values);
-        return dbmsType.getOperationHandler().executeQuery(dbms,
+    public <T> T executeAndGet(String sql, List<Object> values, SqlFunction<ResultSet, T> rsMapper) {
+        try (final Stream<T> stream = dbmsType.getOperationHandler().executeQuery(dbms,
             sql,
             values,
-            rs -> rs.getLong(1)
-        ).findAny().get();
+            rsMapper
+        )) {
+            return stream.findAny().get();
+        }
+    }
+
+    @Override
+    public boolean isUpdater(Object operation) {
+        return operation instanceof SqlTableUpdater
+            && tableId.equals(((SqlTableUpdater<?>) operation).getTableIdentifier());
+    }
+
+    @Override
+    public long executeUpdate(String sql, List<Object> values) {
+        try {
+            return dbmsType.getOperationHandler().executeBulkUpdate(dbms, sql, values);
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        }
+    }
+
+    @Override
+    public boolean isRemover(Object operation) {
+        return operation instanceof SqlTableRemover
+            && tableId.equals(((SqlTableRemover<?>) operation).getTableIdentifier());
+    }
+
+    @Override
+    public long executeDelete(Object remover, String sqlWhere, List<Object> values) {
+        final long chunkSize = ((SqlTableRemover<?>) remover).getChunkSize();
+        final String sqlDelete = "DELETE FROM " + sqlTableReference;
+
+        if (chunkSize == 0 || sqlChunkColumn == null) {
+            return executeBulkDelete(sqlDelete + sqlWhere, values);
+        }
+
+        final Optional<long[]> range = executeAndGet(
+            "SELECT MIN(" + sqlChunkColumn + "), MAX(" + sqlChunkColumn + ") FROM " 
+                + sqlTableReference + sqlWhere,
+            values,
+            rs -> {
+                final long min = rs.getLong(1);
+                return rs.wasNull() 
+                    ? Optional.empty() 
+                    : Optional.of(new long[] {min, rs.getLong(2)});
+            }
+        );
+
+        if (!range.isPresent()) {
+            return 0; // No matching rows
+        }
+
+        final long min = range.get()[0];
+        final long max = range.get()[1];
+        final String sqlChunk = sqlDelete 
+            + (sqlWhere.isEmpty() ? " WHERE " : sqlWhere + " AND ")
+            + "(" + sqlChunkColumn + " >= ? AND " + sqlChunkColumn + " <= ?)";
+
+        long removed = 0;
+        for (long from = min;; from += chunkSize) {
+            final boolean last = max - from < chunkSize;
+            final long to = last ? max : from + chunkSize - 1;
+
+            final List<Object> chunkValues = new ArrayList<>(values);
+            chunkValues.add(from);
+            chunkValues.add(to);
+            removed += executeBulkDelete(sqlChunk, chunkValues);
+
+            if (last) {
+                return removed;
+            }
+        }
+    }
+
+    private long executeBulkDelete(String sql, List<Object> values) {
+        try {
+            return dbmsType.getOperationHandler().executeBulkDelete(dbms, sql, values);
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        }
     }
 
     private String sqlColumnNamer(Field<ENTITY> field) {
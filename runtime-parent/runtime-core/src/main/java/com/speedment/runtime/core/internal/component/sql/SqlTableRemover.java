@@ -0,0 +1,79 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.Remover;
+
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The {@link Remover} of a table that is created by the 
+ * {@link SqlPersistanceComponentImpl}. Since it is known to do nothing but 
+ * removing rows from the table, streams that apply it to all the selected 
+ * entities may be executed as a single {@code DELETE} statement, or as a 
+ * number of statements that each cover a range of primary keys if a chunk 
+ * size is set.
+ * 
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.1
+ */
+final class SqlTableRemover<ENTITY> implements Remover<ENTITY> {
+
+    private final TableIdentifier<ENTITY> tableIdentifier;
+    private final UnaryOperator<ENTITY> remover;
+    private final long chunkSize;
+
+    SqlTableRemover(TableIdentifier<ENTITY> tableIdentifier, UnaryOperator<ENTITY> remover) {
+        this(tableIdentifier, remover, 0);
+    }
+
+    private SqlTableRemover(TableIdentifier<ENTITY> tableIdentifier, UnaryOperator<ENTITY> remover, long chunkSize) {
+        this.tableIdentifier = requireNonNull(tableIdentifier);
+        this.remover         = requireNonNull(remover);
+        this.chunkSize       = chunkSize;
+    }
+
+    TableIdentifier<ENTITY> getTableIdentifier() {
+        return tableIdentifier;
+    }
+
+    /**
+     * Returns the maximum number of primary key values to remove per 
+     * statement, or {@code 0} if all rows should be removed at once.
+     * 
+     * @return  the chunk size
+     */
+    long getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public ENTITY apply(ENTITY entity) throws SpeedmentException {
+        return remover.apply(entity);
+    }
+
+    @Override
+    public Remover<ENTITY> inChunksOf(long chunkSize) {
+        Remover.super.inChunksOf(chunkSize);
+        return new SqlTableRemover<>(tableIdentifier, remover, chunkSize);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.Updater;
+
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The {@link Updater} of a table that is created by the 
+ * {@link SqlPersistanceComponentImpl}. Since it is known to do nothing but 
+ * updating the table, streams that apply it to all the selected entities may 
+ * be executed as a single {@code UPDATE} statement.
+ * 
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.1
+ */
+final class SqlTableUpdater<ENTITY> implements Updater<ENTITY> {
+
+    private final TableIdentifier<ENTITY> tableIdentifier;
+    private final UnaryOperator<ENTITY> updater;
+
+    SqlTableUpdater(TableIdentifier<ENTITY> tableIdentifier, UnaryOperator<ENTITY> updater) {
+        this.tableIdentifier = requireNonNull(tableIdentifier);
+        this.updater         = requireNonNull(updater);
+    }
+
+    TableIdentifier<ENTITY> getTableIdentifier() {
+        return tableIdentifier;
+    }
+
+    @Override
+    public ENTITY apply(ENTITY entity) throws SpeedmentException {
+        return updater.apply(entity);
+    }
+}
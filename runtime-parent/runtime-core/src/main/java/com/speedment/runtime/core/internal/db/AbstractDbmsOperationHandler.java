@@ -22,6 +22,7 @@ import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DbmsOperationHandler;
 import com.speedment.runtime.core.db.SqlFunction;
@@ -34,15 +35,21 @@ import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -64,6 +71,7 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
 
     private @Inject ConnectionPoolComponent connectionPoolComponent;
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
+    private @Inject TransactionComponent transactionComponent;
 
     protected AbstractDbmsOperationHandler() {}
 
@@ -71,31 +79,27 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     public <T> Stream<T> executeQuery(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
         requireNonNulls(sql, values, rsMapper);
 
-        try (
-                final Connection connection = connectionPoolComponent.getConnection(dbms);
-                final PreparedStatement ps = connection.prepareStatement(sql)
-        ) {
-            connection.setAutoCommit(false);
-            try {
-                int i = 1;
-                for (final Object o : values) {
-                    ps.setObject(i++, o);
-                }
-                try (final ResultSet rs = ps.executeQuery()) {
+        // All rows are read and the connection is released before returning
+        try (final Stream<T> stream = executeQueryLazily(dbms, sql, values, rsMapper)) {
+            return stream.collect(toList()).stream();
+        }
+    }
 
-                    // Todo: Make a transparent stream with closeHandler added.
-                    final Stream.Builder<T> streamBuilder = Stream.builder();
-                    while (rs.next()) {
-                        streamBuilder.add(rsMapper.apply(rs));
-                    }
-                    return streamBuilder.build();
-                }
-            } finally {
-                connection.commit();
-            }
-        } catch (final SQLException sqle) {
-            LOGGER.error(sqle, "Error querying " + sql);
-            throw new SpeedmentException(sqle);
+    @Override
+    public <T> Stream<T> executeQueryLazily(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
+        requireNonNulls(sql, values, rsMapper);
+
+        // Rows are read as the stream is consumed. The connection is released
+        // when the stream is closed.
+        final AsynchronousQueryResult<T> queryResult = executeQueryAsync(
+            dbms, sql, values, rsMapper, ParallelStrategy.computeIntensityDefault()
+        );
+
+        try {
+            return queryResult.stream().onClose(queryResult::close);
+        } catch (final RuntimeException ex) {
+            queryResult.close();
+            throw ex;
         }
     }
 
@@ -107,12 +111,75 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
             SqlFunction<ResultSet, T> rsMapper,
             ParallelStrategy parallelStrategy) {
 
+        return executeQueryAsync(
+            dbms,
+            sql,
+            values,
+            rsMapper,
+            parallelStrategy,
+            dbmsTypeOf(dbmsHandlerComponent, dbms).getDefaultFetchSize()
+        );
+    }
+
+    @Override
+    public <T> AsynchronousQueryResult<T> executeQueryAsync(
+            Dbms dbms, 
+            String sql, 
+            List<?> values, 
+            SqlFunction<ResultSet, T> rsMapper,
+            ParallelStrategy parallelStrategy,
+            int fetchSize) {
+
+        return executeQueryAsync(dbms, sql, values, rsMapper, parallelStrategy, fetchSize, 0);
+    }
+
+    @Override
+    public <T> AsynchronousQueryResult<T> executeQueryAsync(
+            Dbms dbms, 
+            String sql, 
+            List<?> values, 
+            SqlFunction<ResultSet, T> rsMapper,
+            ParallelStrategy parallelStrategy,
+            int fetchSize,
+            int decoderThreads) {
+
+        final Optional<SqlTransaction> transaction = currentTransaction();
+        if (transaction.isPresent()) {
+            // Reads within a transaction must see its uncommitted changes, so
+            // they use its connection, which is left open when they are closed
+            final SqlTransaction tx = transaction.get();
+
+            // A negative fetch size makes some drivers (notably MySQL) stream
+            // the rows, which blocks any other statement on the connection 
+            // until the stream is closed. The driver default is used instead.
+            final int txFetchSize = fetchSize < 0 ? 0 : fetchSize;
+
+            return new AsynchronousQueryResultImpl<>(
+                Objects.requireNonNull(sql),
+                Objects.requireNonNull(values),
+                Objects.requireNonNull(rsMapper),
+                () -> {
+                    try {
+                        return tx.flushedConnection(this, dbms);
+                    } catch (final SQLException ex) {
+                        throw new SpeedmentException(ex);
+                    }
+                },
+                parallelStrategy,
+                txFetchSize,
+                decoderThreads,
+                false
+            );
+        }
+
         return new AsynchronousQueryResultImpl<>(
             Objects.requireNonNull(sql),
             Objects.requireNonNull(values),
             Objects.requireNonNull(rsMapper),
             () -> connectionPoolComponent.getConnection(dbms),
-            parallelStrategy
+            parallelStrategy,
+            fetchSize,
+            decoderThreads
         );
     }
 
@@ -120,21 +187,178 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     public <ENTITY> void executeInsert(Dbms dbms, String sql, List<?> values, Collection<Field<ENTITY>> generatedKeyFields, Consumer<List<Long>> generatedKeyConsumer) throws SQLException {
         logOperation(LOGGER_INSERT, sql, values);
         final SqlInsertStatement<ENTITY> sqlUpdateStatement = new SqlInsertStatement<>(sql, values, generatedKeyFields, generatedKeyConsumer);
-        execute(dbms, singletonList(sqlUpdateStatement));
+        executeOrEnlist(dbms, sqlUpdateStatement);
+    }
+
+    @Override
+    public <ENTITY> void executeInsertBatch(
+            Dbms dbms,
+            String sql,
+            Stream<? extends ENTITY> entities,
+            Function<? super ENTITY, List<?>> valueMapper,
+            Collection<Field<ENTITY>> generatedKeyFields,
+            BiConsumer<? super ENTITY, List<Long>> generatedKeyConsumer,
+            int batchSize) throws SQLException {
+
+        requireNonNulls(dbms, sql, entities, valueMapper, generatedKeyFields, generatedKeyConsumer);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+
+        final int autoGeneratedKeys = generatedKeyFields.isEmpty()
+            ? Statement.NO_GENERATED_KEYS
+            : Statement.RETURN_GENERATED_KEYS;
+
+        executeInTransaction(dbms, sql, conn -> {
+            try (final PreparedStatement ps = conn.prepareStatement(sql, autoGeneratedKeys)) {
+                final List<ENTITY> batch = new ArrayList<>(Math.min(batchSize, 1024));
+                final Iterator<? extends ENTITY> iterator = entities.iterator();
+                while (iterator.hasNext()) {
+                    final ENTITY entity = iterator.next();
+                    final List<?> values = valueMapper.apply(entity);
+                    logOperation(LOGGER_INSERT, sql, values);
+
+                    int i = 1;
+                    for (final Object o : values) {
+                        ps.setObject(i++, o);
+                    }
+                    ps.addBatch();
+                    batch.add(entity);
+
+                    if (batch.size() == batchSize) {
+                        executeInsertBatch(ps, batch, autoGeneratedKeys, generatedKeyConsumer);
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    executeInsertBatch(ps, batch, autoGeneratedKeys, generatedKeyConsumer);
+                }
+            }
+            return null;
+        });
+    }
+
+    private <ENTITY> void executeInsertBatch(
+            PreparedStatement ps,
+            List<ENTITY> batch,
+            int autoGeneratedKeys,
+            BiConsumer<? super ENTITY, List<Long>> generatedKeyConsumer) throws SQLException {
+
+        ps.executeBatch();
+
+        if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS) {
+            // The keys are returned in the same order as the rows were added
+            try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (i < batch.size() && generatedKeys.next()) {
+                    generatedKeyConsumer.accept(
+                        batch.get(i++), 
+                        singletonList(generatedKeys.getLong(1))
+                    );
+                }
+            }
+        }
+
+        batch.clear();
     }
 
     @Override
     public void executeUpdate(Dbms dbms, String sql, List<?> values) throws SQLException {
         logOperation(LOGGER_UPDATE, sql, values);
         final SqlUpdateStatement sqlUpdateStatement = new SqlUpdateStatement(sql, values);
-        execute(dbms, singletonList(sqlUpdateStatement));
+        executeOrEnlist(dbms, sqlUpdateStatement);
+    }
+
+    @Override
+    public long executeBulkUpdate(Dbms dbms, String sql, List<?> values) throws SQLException {
+        logOperation(LOGGER_UPDATE, sql, values);
+        return executeAndCount(dbms, sql, values);
     }
 
     @Override
     public void executeDelete(Dbms dbms, String sql, List<?> values) throws SQLException {
         logOperation(LOGGER_DELETE, sql, values);
         final SqlDeleteStatement sqlDeleteStatement = new SqlDeleteStatement(sql, values);
-        execute(dbms, singletonList(sqlDeleteStatement));
+        executeOrEnlist(dbms, sqlDeleteStatement);
+    }
+
+    @Override
+    public long executeBulkDelete(Dbms dbms, String sql, List<?> values) throws SQLException {
+        logOperation(LOGGER_DELETE, sql, values);
+        return executeAndCount(dbms, sql, values);
+    }
+
+    private long executeAndCount(Dbms dbms, String sql, List<?> values) throws SQLException {
+        requireNonNulls(dbms, sql, values);
+
+        return executeInTransaction(dbms, sql, conn -> {
+            try (final PreparedStatement ps = conn.prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
+                int i = 1;
+                for (final Object o : values) {
+                    ps.setObject(i++, o);
+                }
+                return (long) ps.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Executes the given statement as part of the active transaction of the
+     * current thread, if any, or else in a transaction of its own.
+     * 
+     * @param dbms       the dbms to execute it on
+     * @param statement  the statement to execute
+     * @throws SQLException  if an error occurs
+     */
+    private void executeOrEnlist(Dbms dbms, SqlStatement statement) throws SQLException {
+        final Optional<SqlTransaction> transaction = currentTransaction();
+        if (transaction.isPresent()) {
+            transaction.get().enlist(this, dbms, statement);
+        } else {
+            execute(dbms, singletonList(statement));
+        }
+    }
+
+    /**
+     * Applies the given work on the connection of the active transaction of
+     * the current thread, if any, or else on a connection of its own that is
+     * committed if the work completes normally and rolled back otherwise.
+     * 
+     * @param <T>   the result type
+     * @param dbms  the dbms to get a connection to
+     * @param sql   the sql that is executed, used for logging
+     * @param work  the work to do on the connection
+     * @return      the result of the work
+     * @throws SQLException  if an error occurs
+     */
+    private <T> T executeInTransaction(Dbms dbms, String sql, SqlFunction<Connection, T> work) throws SQLException {
+        final Optional<SqlTransaction> transaction = currentTransaction();
+        if (transaction.isPresent()) {
+            return work.apply(transaction.get().flushedConnection(this, dbms));
+        }
+
+        try (final Connection conn = connectionPoolComponent.getConnection(dbms)) {
+            conn.setAutoCommit(false);
+            try {
+                final T result = work.apply(conn);
+                conn.commit();
+                return result;
+            } catch (final SQLException | RuntimeException ex) {
+                LOGGER.error(ex, "Error executing " + sql);
+                conn.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private Optional<SqlTransaction> currentTransaction() {
+        return transactionComponent.current()
+            .filter(SqlTransaction.class::isInstance)
+            .map(SqlTransaction.class::cast);
+    }
+
+    Connection getConnection(Dbms dbms) {
+        return connectionPoolComponent.getConnection(dbms);
     }
 
     protected void logOperation(Logger logger, final String sql, final List<?> values) {
@@ -154,24 +378,7 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
                 conn.setAutoCommit(false);
                 for (final SqlStatement sqlStatement : sqlStatementList) {
                     lastSqlStatement = sqlStatement;
-                    switch (sqlStatement.getType()) {
-                        case INSERT: {
-                            final SqlInsertStatement<?> s = (SqlInsertStatement<?>) sqlStatement;
-                            handleSqlStatement(dbms, conn, s);
-                            break;
-                        }
-                        case UPDATE: {
-                            final SqlUpdateStatement s = (SqlUpdateStatement) sqlStatement;
-                            handleSqlStatement(dbms, conn, s);
-                            break;
-                        }
-                        case DELETE: {
-                            final SqlDeleteStatement s = (SqlDeleteStatement) sqlStatement;
-                            handleSqlStatement(dbms, conn, s);
-                            break;
-                        }
-                    }
-
+                    executeGroup(dbms, conn, singletonList(sqlStatement));
                 }
                 conn.commit();
                 conn.close();
@@ -221,6 +428,74 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         }
     }
 
+    /**
+     * Executes the given statements, that must all be batchable with each
+     * other, on the given connection. A single statement is passed to the
+     * appropriate {@code handleSqlStatement}-method while several statements 
+     * are executed as one JDBC batch.
+     * 
+     * @param dbms        the dbms to execute them on
+     * @param conn        the connection to use
+     * @param statements  the statements
+     * @throws SQLException  if an error occurs
+     * 
+     */
+    void executeGroup(Dbms dbms, Connection conn, List<? extends SqlStatement> statements) throws SQLException {
+        if (statements.size() == 1) {
+            final SqlStatement sqlStatement = statements.get(0);
+            switch (sqlStatement.getType()) {
+                case INSERT: {
+                    final SqlInsertStatement<?> s = (SqlInsertStatement<?>) sqlStatement;
+                    handleSqlStatement(dbms, conn, s);
+                    break;
+                }
+                case UPDATE: {
+                    final SqlUpdateStatement s = (SqlUpdateStatement) sqlStatement;
+                    handleSqlStatement(dbms, conn, s);
+                    break;
+                }
+                case DELETE: {
+                    final SqlDeleteStatement s = (SqlDeleteStatement) sqlStatement;
+                    handleSqlStatement(dbms, conn, s);
+                    break;
+                }
+            }
+        } else {
+            handleSqlStatementBatch(conn, statements);
+        }
+    }
+
+    private void handleSqlStatementBatch(Connection conn, List<? extends SqlStatement> statements) throws SQLException {
+        final SqlStatement first = statements.get(0);
+        final boolean hasGeneratedKeys = first instanceof SqlInsertStatement
+            && !((SqlInsertStatement<?>) first).getGeneratedColumnFields().isEmpty();
+
+        try (final PreparedStatement ps = conn.prepareStatement(
+                first.getSql(), 
+                hasGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS)) {
+
+            for (final SqlStatement sqlStatement : statements) {
+                int i = 1;
+                for (Object o : sqlStatement.getValues()) {
+                    ps.setObject(i++, o);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            if (hasGeneratedKeys) {
+                // The keys are returned in the same order as the rows were added
+                try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (i < statements.size() && generatedKeys.next()) {
+                        ((SqlInsertStatement<?>) statements.get(i++))
+                            .addGeneratedKey(generatedKeys.getLong(1));
+                    }
+                }
+            }
+        }
+    }
+
     protected <ENTITY> void handleSqlStatement(Dbms dbms, Connection conn, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
         try (final PreparedStatement ps = conn.prepareStatement(sqlStatement.getSql(), Statement.RETURN_GENERATED_KEYS)) {
             int i = 1;
@@ -24,6 +24,7 @@ import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.db.metadata.TypeInfoMetaData;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -86,4 +87,27 @@ public abstract class AbstractDbmsType implements DbmsType {
     public String getInitialQuery() {
         return "select 1 from dual";
     }
+
+    /**
+     * Appends a {@code LIMIT ? OFFSET ?} clause to the original query, for 
+     * database types that do not allow an {@code OFFSET} without a 
+     * {@code LIMIT}. The limit and the skip are appended to the given list of
+     * parameter values, in that order.
+     *
+     * @param originalSql  the original query
+     * @param values       the parameter values to append to
+     * @param skip         the number of rows to skip
+     * @param limit        the maximum number of rows
+     * @return             the new query
+     * 
+     * @see DbmsType#applySkipLimit(String, List, long, long)
+     */
+    protected static String applyLimitOffset(String originalSql, List<Object> values, long skip, long limit) {
+        if (skip == 0 && limit == Long.MAX_VALUE) {
+            return originalSql;
+        }
+        values.add(limit);
+        values.add(skip);
+        return originalSql + " LIMIT ? OFFSET ?";
+    }
 }
\ No newline at end of file
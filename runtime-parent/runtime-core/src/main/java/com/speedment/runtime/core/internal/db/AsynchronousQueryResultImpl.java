@@ -21,6 +21,7 @@ import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.ResultSetPipeline;
 import com.speedment.runtime.core.internal.stream.StreamUtil;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 
@@ -48,11 +49,16 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
     private String sql;
     private List<?> values;
     private SqlFunction<ResultSet, T> rsMapper;
+    private boolean ordered;
     private final Supplier<Connection> connectionSupplier;
     private final ParallelStrategy parallelStrategy;
+    private final int fetchSize;
+    private final int decoderThreads;
+    private final boolean ownsConnection;
     private Connection connection;  // null allowed if the stream() method is not run
     private PreparedStatement ps;
     private ResultSet rs;
+    private ResultSetPipeline<T> pipeline;
     private State state;
 
     public enum State {
@@ -64,13 +70,80 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         final List<?> values,
         final SqlFunction<ResultSet, T> rsMapper,
         final Supplier<Connection> connectionSupplier,
-        final ParallelStrategy parallelStrategy
+        final ParallelStrategy parallelStrategy,
+        final int fetchSize
     ) {
+        this(sql, values, rsMapper, connectionSupplier, parallelStrategy, fetchSize, 0);
+    }
+
+    /**
+     * Creates a query result where the rows are mapped by the specified number
+     * of decoder threads while the calling thread only reads them, as 
+     * described in {@link ResultSetPipeline}. A value of {@code 0} maps the 
+     * rows on the thread that reads them.
+     * 
+     * @param sql                 the query
+     * @param values              the values of the parameters of the query
+     * @param rsMapper            the mapper to apply to each row
+     * @param connectionSupplier  supplier of the connection to use
+     * @param parallelStrategy    strategy to use for parallel streams
+     * @param fetchSize           the fetch size, or {@code 0} to use the 
+     *                            default of the JDBC driver
+     * @param decoderThreads      the number of decoder threads, or {@code 0}
+     * @since 3.0.1
+     */
+    public AsynchronousQueryResultImpl(
+        final String sql,
+        final List<?> values,
+        final SqlFunction<ResultSet, T> rsMapper,
+        final Supplier<Connection> connectionSupplier,
+        final ParallelStrategy parallelStrategy,
+        final int fetchSize,
+        final int decoderThreads
+    ) {
+        this(sql, values, rsMapper, connectionSupplier, parallelStrategy, fetchSize, decoderThreads, true);
+    }
+
+    /**
+     * Creates a query result that, if {@code ownsConnection} is 
+     * {@code false}, neither commits nor closes the connection when it is
+     * closed. This is used to read within a transaction that is still active.
+     * 
+     * @param sql                 the query
+     * @param values              the values of the parameters of the query
+     * @param rsMapper            the mapper to apply to each row
+     * @param connectionSupplier  supplier of the connection to use
+     * @param parallelStrategy    strategy to use for parallel streams
+     * @param fetchSize           the fetch size, or {@code 0} to use the 
+     *                            default of the JDBC driver
+     * @param decoderThreads      the number of decoder threads, or {@code 0}
+     * @param ownsConnection      if the connection should be committed and 
+     *                            closed when this result is closed
+     * @since 3.0.1
+     */
+    public AsynchronousQueryResultImpl(
+        final String sql,
+        final List<?> values,
+        final SqlFunction<ResultSet, T> rsMapper,
+        final Supplier<Connection> connectionSupplier,
+        final ParallelStrategy parallelStrategy,
+        final int fetchSize,
+        final int decoderThreads,
+        final boolean ownsConnection
+    ) {
+        if (decoderThreads < 0) {
+            throw new IllegalArgumentException(
+                "The number of decoder threads must not be negative: " + decoderThreads
+            );
+        }
         setSql(sql); // requireNonNull in setter
         setValues(values); // requireNonNull in setter
         setRsMapper(rsMapper); // requireNonNull in setter
         this.connectionSupplier = requireNonNull(connectionSupplier);
         this.parallelStrategy   = requireNonNull(parallelStrategy);
+        this.fetchSize          = fetchSize;
+        this.decoderThreads     = decoderThreads;
+        this.ownsConnection     = ownsConnection;
         setState(State.INIT);
     }
 
@@ -80,8 +153,14 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         try {
             LOGGER_SELECT.debug("%s, values:%s", getSql(), getValues());
             connection = connectionSupplier.get();
-            connection.setAutoCommit(false);
-            ps = connection.prepareStatement(getSql());
+            if (ownsConnection) {
+                connection.setAutoCommit(false);
+            }
+            ps = connection.prepareStatement(getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (fetchSize != 0) {
+                // Read the rows as they are consumed by the stream
+                ps.setFetchSize(fetchSize);
+            }
             int i = 1;
             for (final Object o : getValues()) {
                 ps.setObject(i++, o);
@@ -92,15 +171,22 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
             throw new SpeedmentException(sqle);
         }
         setState(State.OPEN);
-        return StreamUtil.asStream(rs, getRsMapper(), parallelStrategy);
+        if (decoderThreads > 0) {
+            pipeline = new ResultSetPipeline<>(rs, getRsMapper(), decoderThreads);
+            return StreamUtil.asStream(pipeline, parallelStrategy, ordered);
+        }
+        return StreamUtil.asStream(rs, getRsMapper(), parallelStrategy, ordered);
     }
 
     @Override
     public void close() {
+        closeSilently(pipeline); // Stops reading before the ResultSet is closed
         closeSilently(rs);
         closeSilently(ps);
-        commitSilently(connection);
-        closeSilently(connection);
+        if (ownsConnection) {
+            commitSilently(connection);
+            closeSilently(connection);
+        }
         setState(State.CLOSED);
     }
 
@@ -160,6 +246,16 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         this.rsMapper = requireNonNull(rsMapper);
     }
 
+    @Override
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
     public State getState() {
         return state;
     }
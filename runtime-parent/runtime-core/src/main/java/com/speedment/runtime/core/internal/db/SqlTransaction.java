@@ -0,0 +1,269 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.transaction.Transaction;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.speedment.runtime.config.util.DocumentDbUtil.isSame;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Transaction} that executes the statements of the 
+ * {@link AbstractDbmsOperationHandler} on a single connection. Consecutive 
+ * statements with the same SQL are held back until a statement with another 
+ * SQL is enlisted, a query is executed or the transaction is committed, so 
+ * that they can be executed as one JDBC batch. Inserts that generate keys are
+ * executed as soon as they are enlisted, so that the keys are set on the
+ * entities before the insert returns, as other statements of the 
+ * transaction may depend on them. Note that the keys are not reverted if the
+ * transaction is rolled back.
+ * <p>
+ * The transaction is bound to the first database that it is used with.
+ * 
+ * @since   3.0.1
+ */
+public final class SqlTransaction implements Transaction {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(SqlTransaction.class);
+
+    private final Runnable onEnd;
+    private final List<SqlStatement> pending;
+
+    private AbstractDbmsOperationHandler handler;
+    private Dbms dbms;
+    private Connection connection;
+    private boolean active;
+    private boolean failed;
+
+    /**
+     * Creates a new active transaction.
+     * 
+     * @param onEnd  invoked once the transaction has been committed or rolled
+     *               back
+     */
+    public SqlTransaction(Runnable onEnd) {
+        this.onEnd    = requireNonNull(onEnd);
+        this.pending  = new ArrayList<>();
+        this.active   = true;
+    }
+
+    /**
+     * Adds the given statement to this transaction. If it can not be batched
+     * together with the statements that are held back, those are executed
+     * first. If it generates keys, it is executed immediately.
+     * 
+     * @param handler    the handler that executes the statement
+     * @param dbms       the database to execute it on
+     * @param statement  the statement
+     * 
+     * @throws SQLException  if the statements that were held back failed
+     */
+    void enlist(AbstractDbmsOperationHandler handler, Dbms dbms, SqlStatement statement) 
+    throws SQLException {
+        requireNonNull(statement);
+        connection(handler, dbms);
+
+        if (!pending.isEmpty() && !isBatchable(pending.get(0), statement)) {
+            flush();
+        }
+
+        pending.add(statement);
+
+        if (statement instanceof SqlInsertStatement
+        && !((SqlInsertStatement<?>) statement).getGeneratedColumnFields().isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Executes all the statements that are held back and returns the 
+     * connection of this transaction, so that other statements can be 
+     * executed on it in order.
+     * 
+     * @param handler  the handler that executes the statements
+     * @param dbms     the database to execute them on
+     * @return         the connection of this transaction
+     * 
+     * @throws SQLException  if the statements that were held back failed
+     */
+    Connection flushedConnection(AbstractDbmsOperationHandler handler, Dbms dbms) 
+    throws SQLException {
+        final Connection conn = connection(handler, dbms);
+        flush();
+        return conn;
+    }
+
+    @Override
+    public void commit() throws SpeedmentException {
+        assertActive();
+        try {
+            if (failed) {
+                throw new SpeedmentException(
+                    "The transaction can not be committed since one of its " + 
+                    "statements failed."
+                );
+            }
+
+            if (connection != null) {
+                flush();
+                connection.commit();
+            }
+        } catch (final SQLException ex) {
+            rollbackQuietly();
+            throw new SpeedmentException("Could not commit the transaction.", ex);
+        } catch (final RuntimeException ex) {
+            rollbackQuietly();
+            throw ex;
+        } finally {
+            end();
+        }
+    }
+
+    @Override
+    public void rollback() throws SpeedmentException {
+        assertActive();
+        try {
+            if (connection != null) {
+                connection.rollback();
+            }
+        } catch (final SQLException ex) {
+            throw new SpeedmentException("Could not roll back the transaction.", ex);
+        } finally {
+            end();
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void close() throws SpeedmentException {
+        if (active) {
+            rollback();
+        }
+    }
+
+    private Connection connection(AbstractDbmsOperationHandler handler, Dbms dbms) 
+    throws SQLException {
+        requireNonNull(handler);
+        requireNonNull(dbms);
+        assertActive();
+
+        if (failed) {
+            throw new SpeedmentException(
+                "The transaction must be rolled back since one of its " + 
+                "statements failed."
+            );
+        }
+
+        if (connection == null) {
+            final Connection conn = handler.getConnection(dbms);
+            conn.setAutoCommit(false);
+            this.handler    = handler;
+            this.dbms       = dbms;
+            this.connection = conn;
+        } else if (this.dbms != dbms && !isSame(this.dbms, dbms)) {
+            throw new SpeedmentException(
+                "A transaction can not span several databases. It was " + 
+                "started on '" + this.dbms.getName() + "' but was then used " + 
+                "with '" + dbms.getName() + "'."
+            );
+        }
+
+        return connection;
+    }
+
+    private void flush() throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            handler.executeGroup(dbms, connection, pending);
+        } catch (final SQLException | RuntimeException ex) {
+            failed = true;
+            throw ex;
+        }
+
+        // The generated keys are set right away so that later statements of
+        // the transaction can use them
+        handler.postSuccessfulTransaction(pending);
+        pending.clear();
+    }
+
+    private void rollbackQuietly() {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (final SQLException ex) {
+                LOGGER.error(ex, "Could not roll back the transaction.");
+            }
+        }
+    }
+
+    private void end() {
+        active = false;
+        pending.clear();
+
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (final SQLException ex) {
+                LOGGER.error(ex, "Could not close the connection of the transaction.");
+            } finally {
+                connection = null;
+            }
+        }
+
+        onEnd.run();
+    }
+
+    /**
+     * Returns {@code true} if the two statements can be executed in the same
+     * JDBC batch, which is the case if they are of the same type and have 
+     * the same sql.
+     * 
+     * @param first   the first statement
+     * @param second  the second statement
+     * @return        if they are batchable
+     */
+    private static boolean isBatchable(SqlStatement first, SqlStatement second) {
+        return first.getType() == second.getType()
+            && first.getSql().equals(second.getSql());
+    }
+
+    private void assertActive() {
+        if (!active) {
+            throw new IllegalStateException(
+                "The transaction has already been committed or rolled back."
+            );
+        }
+    }
+}
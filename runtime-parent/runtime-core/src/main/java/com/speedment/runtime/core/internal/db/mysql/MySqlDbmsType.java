@@ -25,6 +25,7 @@ import com.speedment.runtime.core.internal.db.AbstractDbmsType;
 import com.speedment.runtime.core.internal.manager.sql.MySqlSpeedmentPredicateView;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -112,6 +113,25 @@ public final class MySqlDbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public SkipLimitSupport getSkipLimitSupport() {
+        return SkipLimitSupport.STANDARD;
+    }
+
+    @Override
+    public String applySkipLimit(String originalSql, List<Object> values, long skip, long limit) {
+        // MySQL does not allow an OFFSET without a LIMIT
+        return applyLimitOffset(originalSql, values, skip, limit);
+    }
+
+    @Override
+    public int getDefaultFetchSize() {
+        // Makes the driver stream the rows one by one. A positive fetch size
+        // is only honored if "useCursorFetch=true" is set in the connection
+        // URL, and may then be given for individual streams.
+        return Integer.MIN_VALUE;
+    }
+
     private final static class MySqlNamingConvention extends AbstractDatabaseNamingConvention {
 
         private final static String 
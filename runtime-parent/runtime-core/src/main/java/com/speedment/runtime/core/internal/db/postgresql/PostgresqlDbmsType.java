@@ -26,6 +26,7 @@ import com.speedment.runtime.core.internal.db.AbstractDbmsType;
 import com.speedment.runtime.core.internal.manager.sql.PostgresSpeedmentPredicateView;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -116,6 +117,32 @@ public final class PostgresqlDbmsType extends AbstractDbmsType {
         return "select version() as \"PostgreSQL version\"";
     }
 
+    @Override
+    public SkipLimitSupport getSkipLimitSupport() {
+        return SkipLimitSupport.STANDARD;
+    }
+
+    @Override
+    public String applySkipLimit(String originalSql, List<Object> values, long skip, long limit) {
+        final StringBuilder sb = new StringBuilder(originalSql);
+        if (limit != Long.MAX_VALUE) {
+            sb.append(" LIMIT ?");
+            values.add(limit);
+        }
+        if (skip != 0) {
+            sb.append(" OFFSET ?");
+            values.add(skip);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int getDefaultFetchSize() {
+        // The driver only uses a cursor if the fetch size is positive and
+        // auto-commit is disabled. Otherwise, the whole result is loaded.
+        return 1000;
+    }
+
     @Override
     public Set<TypeInfoMetaData> getDataTypes() {
         return Stream.concat(
@@ -21,6 +21,8 @@ import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.manager.ManagerConfigurator;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -36,6 +38,7 @@ public class ManagerConfiguratorImpl<ENTITY> implements ManagerConfigurator<ENTI
     private final Manager<ENTITY> manager;
     //
     private ParallelStrategy parallelStrategy;
+    private ForkJoinPool forkJoinPool;
 
     public ManagerConfiguratorImpl(StreamSupplierComponent streamSupplierComponent, Manager<ENTITY> manager) {
         this.streamSupplierComponent = requireNonNull(streamSupplierComponent);
@@ -49,9 +52,21 @@ public class ManagerConfiguratorImpl<ENTITY> implements ManagerConfigurator<ENTI
         return this;
     }
 
+    @Override
+    public ManagerConfigurator<ENTITY> withForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = requireNonNull(forkJoinPool);
+        return this;
+    }
+
     @Override
     public Manager<ENTITY> build() {
-        return new ConfiguredManager<>(streamSupplierComponent, manager, parallelStrategy);
+        return new ConfiguredManager<>(
+            streamSupplierComponent, 
+            manager, 
+            forkJoinPool == null 
+                ? parallelStrategy 
+                : parallelStrategy.withForkJoinPool(forkJoinPool)
+        );
     }
 
 }
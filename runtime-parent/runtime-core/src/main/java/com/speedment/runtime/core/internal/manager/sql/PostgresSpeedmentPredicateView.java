@@ -18,6 +18,7 @@ package com.speedment.runtime.core.internal.manager.sql;
 
 import com.speedment.runtime.core.db.FieldPredicateView;
 import com.speedment.runtime.core.db.SqlPredicateFragment;
+import com.speedment.runtime.field.internal.comparator.NullOrder;
 import com.speedment.runtime.field.predicate.FieldPredicate;
 
 import static com.speedment.runtime.field.internal.predicate.PredicateUtil.getFirstOperandAsRaw;
@@ -66,4 +67,19 @@ public class PostgresSpeedmentPredicateView extends AbstractFieldPredicateView i
     protected SqlPredicateFragment containsIgnoreCaseHelper(String cn, FieldPredicate<?> model, boolean negated) {
         return of("(" + cn + " ILIKE '%' || ? || '%')", negated).add(getFirstOperandAsRaw(model));
     }
+
+    @Override
+    public String orderBy(String columnName, boolean descending, NullOrder nullOrder) {
+        final String direction = descending ? " DESC" : " ASC";
+        switch (nullOrder) {
+            case NONE:
+                return columnName + direction;
+            case FIRST:
+                return columnName + direction + " NULLS FIRST";
+            case LAST:
+                return columnName + direction + " NULLS LAST";
+            default:
+                throw new IllegalArgumentException("Unknown NullOrder:" + nullOrder);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager.sql;
+
+import java.util.List;
+
+/**
+ * Executes set-based data manipulation statements on behalf of a
+ * {@link SqlStreamTerminator}, so that a stream that applies an
+ * {@link com.speedment.runtime.core.manager.Updater} or
+ * {@link com.speedment.runtime.core.manager.Remover} of the streamed table to
+ * all the selected entities can be replaced by a single statement.
+ *
+ * @since  3.0.1
+ */
+public interface SqlBulkExecutor {
+
+    /**
+     * Returns if the given operation is the {@code Updater} of the streamed
+     * table, that does nothing but writing the entities to the table.
+     *
+     * @param operation  the operation to test
+     * @return           if it is the plain updater of the table
+     */
+    boolean isUpdater(Object operation);
+
+    /**
+     * Executes the given {@code UPDATE} statement in a transaction of its own
+     * and returns the number of affected rows.
+     *
+     * @param sql     the statement to execute
+     * @param values  the values to set as parameters of the statement
+     * @return        the number of affected rows
+     */
+    long executeUpdate(String sql, List<Object> values);
+
+    /**
+     * Returns if the given operation is the {@code Remover} of the streamed
+     * table, that does nothing but removing the entities from the table.
+     *
+     * @param operation  the operation to test
+     * @return           if it is the plain remover of the table
+     */
+    boolean isRemover(Object operation);
+
+    /**
+     * Removes all rows of the streamed table that match the given 
+     * {@code WHERE} clause and returns the number of removed rows. Depending
+     * on the given remover, this is done either by a single statement or by a
+     * number of statements that each cover a range of primary keys and that
+     * are committed separately.
+     *
+     * @param remover   the remover that was applied to the stream
+     * @param sqlWhere  the {@code WHERE} clause including the keyword and a
+     *                  leading space, or an empty string to remove all rows
+     * @param values    the values to set as parameters of the clause
+     * @return          the number of removed rows
+     */
+    long executeDelete(Object remover, String sqlWhere, List<Object> values);
+
+}
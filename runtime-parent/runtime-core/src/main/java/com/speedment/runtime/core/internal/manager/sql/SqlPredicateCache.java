@@ -0,0 +1,371 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager.sql;
+
+import com.speedment.common.tuple.Tuple;
+import com.speedment.runtime.core.db.FieldPredicateView;
+import com.speedment.runtime.core.db.SqlPredicateFragment;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.internal.predicate.AbstractCombinedPredicate;
+import com.speedment.runtime.field.internal.predicate.BetweenPredicate;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.predicate.Inclusion;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Renders SQL predicates for a single table and caches the rendered SQL text
+ * by the structural shape of the predicates. The shape consists of the fields,
+ * the effective {@link com.speedment.runtime.field.predicate.PredicateType},
+ * the negation and the {@code BETWEEN} inclusion of every predicate, how they
+ * are combined and the number of elements in every {@code IN} list, rounded up
+ * to the next power of two. Predicates with the same shape only differ in 
+ * their operands, so once a shape has been rendered, subsequent calls only 
+ * need to extract the operand values.
+ * <p>
+ * The {@code IN} lists of cached shapes are padded to the rounded size by
+ * repeating their last element, which does not affect the result of neither
+ * {@code IN} nor {@code NOT IN}. This way, lists of varying sizes share a 
+ * small number of shapes.
+ * <p>
+ * Before a shape is cached, the values extracted from the operands are
+ * compared with the values produced by the {@link FieldPredicateView}. Shapes
+ * where they differ are always rendered by the view.
+ * <p>
+ * This class is thread safe.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.1
+ */
+public final class SqlPredicateCache<ENTITY> {
+
+    /**
+     * The default maximum number of shapes to cache. Shapes that are
+     * encountered after the cache is full are rendered every time.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    // Marks shapes that must be rendered by the view every time
+    private static final String NOT_CACHEABLE = new String("NOT_CACHEABLE");
+
+    private final FieldPredicateView fieldPredicateView;
+    private final Function<Field<ENTITY>, String> sqlColumnNamer;
+    private final int maxSize;
+    private final Map<List<Object>, String> cache;
+
+    public SqlPredicateCache(FieldPredicateView fieldPredicateView, Function<Field<ENTITY>, String> sqlColumnNamer) {
+        this(fieldPredicateView, sqlColumnNamer, DEFAULT_MAX_SIZE);
+    }
+
+    public SqlPredicateCache(FieldPredicateView fieldPredicateView, Function<Field<ENTITY>, String> sqlColumnNamer, int maxSize) {
+        this.fieldPredicateView = requireNonNull(fieldPredicateView);
+        this.sqlColumnNamer     = requireNonNull(sqlColumnNamer);
+        this.maxSize            = maxSize;
+        this.cache              = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Renders the given predicates as SQL expressions combined with
+     * {@code AND}, adding the parameters to the given list of values. Every
+     * predicate must either be a {@link FieldPredicate} or an
+     * {@link AbstractCombinedPredicate} consisting only of field predicates.
+     *
+     * @param predicates  the predicates to render
+     * @param values      the list to add parameter values to
+     * @return            the SQL expression
+     */
+    public String render(List<? extends Predicate<? super ENTITY>> predicates, List<Object> values) {
+        requireNonNull(predicates);
+        requireNonNull(values);
+
+        final List<Object> shape = new ArrayList<>(predicates.size());
+        for (final Predicate<? super ENTITY> predicate : predicates) {
+            if (!addShape(predicate, shape)) {
+                return renderAll(predicates, values);
+            }
+        }
+
+        final String cached = cache.get(shape);
+        if (cached != null && cached != NOT_CACHEABLE) {
+            predicates.forEach(p -> extract(p, values));
+            return cached;
+        }
+
+        if (cached == null && cache.size() < maxSize) {
+            final List<Object> rendered = new ArrayList<>();
+            final String sql = renderPadded(predicates, rendered);
+
+            if (sql != null) {
+                final List<Object> extracted = new ArrayList<>(rendered.size());
+                predicates.forEach(p -> extract(p, extracted));
+
+                if (extracted.equals(rendered)) {
+                    cache.putIfAbsent(shape, sql);
+                    values.addAll(rendered);
+                    return sql;
+                }
+            }
+
+            cache.putIfAbsent(shape, NOT_CACHEABLE);
+        }
+
+        return renderAll(predicates, values);
+    }
+
+    /**
+     * Returns the number of shapes that are currently cached.
+     *
+     * @return  the number of cached shapes
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private String renderAll(List<? extends Predicate<? super ENTITY>> predicates, List<Object> values) {
+        return predicates.stream()
+            .map(p -> render(p, values))
+            .collect(joining(" AND "));
+    }
+
+    /**
+     * Renders the given predicates like {@link #renderAll(List, List)}, but 
+     * with every {@code IN} list padded to the size of its shape.
+     *
+     * @param predicates  the predicates to render
+     * @param values      the list to add parameter values to
+     * @return            the SQL expression, or {@code null} if an 
+     *                    {@code IN} list could not be padded
+     */
+    private String renderPadded(List<? extends Predicate<? super ENTITY>> predicates, List<Object> values) {
+        final StringBuilder sql = new StringBuilder();
+        for (final Predicate<? super ENTITY> predicate : predicates) {
+            final String rendered = renderPadded(predicate, values);
+            if (rendered == null) {
+                return null;
+            }
+            if (sql.length() > 0) {
+                sql.append(" AND ");
+            }
+            sql.append(rendered);
+        }
+        return sql.toString();
+    }
+
+    private String renderPadded(Predicate<? super ENTITY> predicate, List<Object> values) {
+        if (predicate instanceof FieldPredicate) {
+            final int arity = arityOf(predicate);
+            final int size  = bucket(arity);
+            if (size == arity) {
+                return render(predicate, values);
+            }
+
+            @SuppressWarnings("unchecked")
+            final FieldPredicate<ENTITY> fieldPredicate = (FieldPredicate<ENTITY>) predicate;
+            final SqlPredicateFragment fragment = fieldPredicateView.transform(sqlColumnNamer, fieldPredicate);
+            final TypeMapper<Object, Object> tm = typeMapperOf(fieldPredicate);
+            final List<Object> objects = fragment.objects()
+                .map(tm::toDatabaseType)
+                .collect(toList());
+
+            // The fragment must consist of a single list of parameters
+            final String list = placeholders(arity);
+            final String sql = fragment.getSql();
+            final int index = sql.indexOf(list);
+            if (objects.size() != arity || index < 0 || sql.indexOf(list, index + 1) >= 0) {
+                return null;
+            }
+
+            final Object last = objects.get(arity - 1);
+            while (objects.size() < size) {
+                objects.add(last);
+            }
+
+            values.addAll(objects);
+            return sql.substring(0, index) + placeholders(size) + sql.substring(index + list.length());
+        } else if (predicate instanceof AbstractCombinedPredicate) {
+            @SuppressWarnings("unchecked")
+            final AbstractCombinedPredicate<ENTITY> combined = (AbstractCombinedPredicate<ENTITY>) predicate;
+            final String operator = combined.getType() == AbstractCombinedPredicate.Type.AND ? " AND " : " OR ";
+            final StringBuilder sql = new StringBuilder("(");
+            for (final Predicate<? super ENTITY> child : combined.stream().collect(toList())) {
+                final String rendered = renderPadded(child, values);
+                if (rendered == null) {
+                    return null;
+                }
+                if (sql.length() > 1) {
+                    sql.append(operator);
+                }
+                sql.append(rendered);
+            }
+            sql.append(")");
+
+            return combined.isNegated() ? "(NOT " + sql + ")" : sql.toString();
+        } else {
+            return render(predicate, values);
+        }
+    }
+
+    private String render(Predicate<? super ENTITY> predicate, List<Object> values) {
+        if (predicate instanceof FieldPredicate) {
+            @SuppressWarnings("unchecked")
+            final FieldPredicate<ENTITY> fieldPredicate = (FieldPredicate<ENTITY>) predicate;
+            final SqlPredicateFragment fragment = fieldPredicateView.transform(sqlColumnNamer, fieldPredicate);
+            final TypeMapper<Object, Object> tm = typeMapperOf(fieldPredicate);
+
+            fragment.objects()
+                .map(tm::toDatabaseType)
+                .forEach(values::add);
+
+            return fragment.getSql();
+        } else if (predicate instanceof AbstractCombinedPredicate) {
+            @SuppressWarnings("unchecked")
+            final AbstractCombinedPredicate<ENTITY> combined = (AbstractCombinedPredicate<ENTITY>) predicate;
+            final String operator = combined.getType() == AbstractCombinedPredicate.Type.AND ? " AND " : " OR ";
+            final String sql = combined.stream()
+                .map(p -> render(p, values))
+                .collect(joining(operator, "(", ")"));
+
+            return combined.isNegated() ? "(NOT " + sql + ")" : sql;
+        } else {
+            throw new IllegalArgumentException(
+                "Predicate " + predicate + " can not be expressed in SQL."
+            );
+        }
+    }
+
+    /**
+     * Adds the shape of the given predicate to the given list.
+     *
+     * @param predicate  the predicate
+     * @param shape      the list to add the shape to
+     * @return           {@code true} if the predicate has a known shape
+     */
+    private boolean addShape(Predicate<? super ENTITY> predicate, List<Object> shape) {
+        if (predicate instanceof FieldPredicate && predicate instanceof Tuple) {
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+            shape.add(Arrays.asList(
+                fieldPredicate.getField().identifier(),
+                fieldPredicate.getEffectivePredicateType(),
+                predicate instanceof BetweenPredicate 
+                    ? ((BetweenPredicate) predicate).getInclusion() 
+                    : null,
+                bucket(arityOf(predicate))
+            ));
+            return true;
+        } else if (predicate instanceof AbstractCombinedPredicate) {
+            @SuppressWarnings("unchecked")
+            final AbstractCombinedPredicate<ENTITY> combined = (AbstractCombinedPredicate<ENTITY>) predicate;
+            final List<Object> children = new ArrayList<>();
+            children.add(combined.getType());
+            children.add(combined.isNegated());
+            return combined.stream().allMatch(p -> addShape(p, children))
+                && shape.add(children);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Adds the operands of the given predicate to the given list in the order
+     * they appear in the predicate. Elements of collections are added one by
+     * one and the inclusion of {@code BETWEEN} predicates is skipped.
+     *
+     * @param predicate  the predicate to extract operands from
+     * @param values     the list to add the database values to
+     */
+    private void extract(Predicate<? super ENTITY> predicate, List<Object> values) {
+        if (predicate instanceof FieldPredicate) {
+            @SuppressWarnings("unchecked")
+            final FieldPredicate<ENTITY> fieldPredicate = (FieldPredicate<ENTITY>) predicate;
+            final TypeMapper<Object, Object> tm = typeMapperOf(fieldPredicate);
+            final Tuple operands = (Tuple) predicate;
+
+            for (int i = 0; i < operands.length(); i++) {
+                final Object operand = operands.get(i);
+                if (operand instanceof Collection) {
+                    final Collection<?> elements = (Collection<?>) operand;
+                    Object last = null;
+                    for (final Object element : elements) {
+                        last = tm.toDatabaseType(element);
+                        values.add(last);
+                    }
+                    for (int j = elements.size(); j < bucket(elements.size()); j++) {
+                        values.add(last);
+                    }
+                } else if (!(operand instanceof Inclusion)) {
+                    values.add(tm.toDatabaseType(operand));
+                }
+            }
+        } else {
+            @SuppressWarnings("unchecked")
+            final AbstractCombinedPredicate<ENTITY> combined = (AbstractCombinedPredicate<ENTITY>) predicate;
+            combined.stream().forEachOrdered(p -> extract(p, values));
+        }
+    }
+
+    /**
+     * Returns the number of elements in the collection operand of the given
+     * predicate, or {@code -1} if it has no such operand.
+     *
+     * @param predicate  a field predicate that is also a tuple
+     * @return           the number of elements in its {@code IN} list
+     */
+    private static int arityOf(Predicate<?> predicate) {
+        final Tuple operands = (Tuple) predicate;
+        int arity = -1;
+        for (int i = 0; i < operands.length(); i++) {
+            if (operands.get(i) instanceof Collection) {
+                arity = ((Collection<?>) operands.get(i)).size();
+            }
+        }
+        return arity;
+    }
+
+    /**
+     * Rounds the given {@code IN} list size up to the next power of two. 
+     * Sizes below two, including {@code -1} for no list, are returned as is.
+     *
+     * @param arity  the number of elements
+     * @return       the size of the padded list
+     */
+    private static int bucket(int arity) {
+        return arity < 2 ? arity : Integer.highestOneBit(arity - 1) << 1;
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(",", Collections.nCopies(count, "?")) + ")";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeMapper<Object, Object> typeMapperOf(FieldPredicate<?> fieldPredicate) {
+        return (TypeMapper<Object, Object>) fieldPredicate.getField().typeMapper();
+    }
+}
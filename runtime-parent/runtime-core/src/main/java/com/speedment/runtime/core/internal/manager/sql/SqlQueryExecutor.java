@@ -0,0 +1,45 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager.sql;
+
+import com.speedment.runtime.core.db.SqlFunction;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Executes a query that is expected to return exactly one row, like an
+ * aggregate query, and maps that row into a result.
+ *
+ * @since  3.0.1
+ */
+@FunctionalInterface
+public interface SqlQueryExecutor {
+
+    /**
+     * Executes the given query and maps the first row of the result using 
+     * the given mapper.
+     *
+     * @param <T>       the result type
+     * @param sql       the query to execute
+     * @param values    the values to set as parameters of the query
+     * @param rsMapper  the mapper to apply to the first row
+     * @return          the mapped result
+     */
+    <T> T executeAndGet(String sql, List<Object> values, SqlFunction<ResultSet, T> rsMapper);
+
+}
@@ -0,0 +1,64 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager.sql;
+
+import com.speedment.runtime.core.db.SqlFunction;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads the rows of a parallel stream on behalf of a
+ * {@link SqlStreamTerminator} using a number of queries that each cover a
+ * range of a numeric column, so that the rows can be read over several
+ * connections at the same time.
+ *
+ * @since  3.0.1
+ */
+public interface SqlStreamPartitioner {
+
+    /**
+     * Returns if the streamed table has been configured to be read in 
+     * partitions when the stream is parallel.
+     *
+     * @return  if parallel streams are partitioned
+     */
+    boolean isPartitioned();
+
+    /**
+     * Returns a parallel stream of the rows that match the given 
+     * {@code WHERE} clause, where each partition of the rows is read by a
+     * query of its own that is executed on the thread that consumes it. The
+     * returned stream has no encounter order.
+     *
+     * @param <T>        the type of the mapped rows
+     * @param sqlSelect  the {@code SELECT} statement without any clauses
+     * @param sqlWhere   the {@code WHERE} clause including the keyword and a
+     *                   leading space, or an empty string to read all rows
+     * @param values     the values to set as parameters of the clause
+     * @param rsMapper   the mapper to apply to each row
+     * @return           a stream of the mapped rows
+     */
+    <T> Stream<T> stream(
+        String sqlSelect, 
+        String sqlWhere, 
+        List<Object> values, 
+        SqlFunction<ResultSet, T> rsMapper
+    );
+
+}
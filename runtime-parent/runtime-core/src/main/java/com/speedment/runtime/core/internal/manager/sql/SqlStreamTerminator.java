@@ -17,9 +17,10 @@
 package com.speedment.runtime.core.internal.manager.sql;
 
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DatabaseNamingConvention;
 import com.speedment.runtime.core.db.DbmsType;
-import com.speedment.runtime.core.db.FieldPredicateView;
-import com.speedment.runtime.core.db.SqlPredicateFragment;
+import com.speedment.runtime.core.db.SkipLimitSupport;
+import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.IntPipeline;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.LongPipeline;
@@ -29,22 +30,56 @@ import com.speedment.runtime.core.internal.stream.builder.streamterminator.Strea
 import com.speedment.runtime.core.stream.Pipeline;
 import com.speedment.runtime.core.stream.action.Action;
 import com.speedment.runtime.field.Field;
-import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.internal.comparator.CombinedComparator;
+import com.speedment.runtime.field.internal.comparator.FieldComparator;
+import com.speedment.runtime.field.internal.comparator.NullOrder;
+import com.speedment.runtime.field.method.SetToBoolean;
+import com.speedment.runtime.field.method.SetToByte;
+import com.speedment.runtime.field.method.SetToChar;
+import com.speedment.runtime.field.method.SetToDouble;
+import com.speedment.runtime.field.method.SetToFloat;
+import com.speedment.runtime.field.method.SetToInt;
+import com.speedment.runtime.field.method.SetToLong;
+import com.speedment.runtime.field.method.SetToReference;
+import com.speedment.runtime.field.method.SetToShort;
+import com.speedment.runtime.field.trait.HasDoubleValue;
+import com.speedment.runtime.field.trait.HasIntValue;
+import com.speedment.runtime.field.trait.HasLongValue;
 import com.speedment.runtime.typemapper.TypeMapper;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasLimit;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasSkip;
+import static com.speedment.runtime.core.stream.action.Property.ORDER;
 import static com.speedment.runtime.core.stream.action.Property.SIZE;
 import static com.speedment.runtime.core.stream.action.Verb.PRESERVE;
 import java.util.Collections;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
-import java.util.function.BiFunction;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
@@ -59,85 +94,123 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
     private final String sqlSelect;
     private final String sqlSelectCount;
     //private final LongSupplier sqlCounter;
-    private final BiFunction<String, List<Object>, Long> counter;
+    private final SqlQueryExecutor queryExecutor;
     private final Function<Field<ENTITY>, String> sqlColumnNamer;
+    private final SqlPredicateCache<ENTITY> predicateCache;
+    private final Function<Object, Field<ENTITY>> fieldOfGetter;
+    private final Function<Field<ENTITY>, SqlFunction<ResultSet, Object>> columnReader;
+    private final String sqlTableReference;
+    private final SqlBulkExecutor bulkExecutor;
+    private final SqlStreamPartitioner partitioner;
     private final AsynchronousQueryResult<ENTITY> asynchronousQueryResult;
 
     public SqlStreamTerminator(
         DbmsType dbmsType,
         String sqlSelect,
         String sqlSelectCount,
-        BiFunction<String, List<Object>, Long> counter,
+        SqlQueryExecutor queryExecutor,
         //LongSupplier sqlCounter,
         Function<Field<ENTITY>, String> sqlColumnNamer,
+        SqlPredicateCache<ENTITY> predicateCache,
+        Function<Object, Field<ENTITY>> fieldOfGetter,
+        Function<Field<ENTITY>, SqlFunction<ResultSet, Object>> columnReader,
+        String sqlTableReference,
+        SqlBulkExecutor bulkExecutor,
+        SqlStreamPartitioner partitioner,
         AsynchronousQueryResult<ENTITY> asynchronousQueryResult) {
 
         this.dbmsType = requireNonNull(dbmsType);
         this.sqlSelect = requireNonNull(sqlSelect);
         this.sqlSelectCount = requireNonNull(sqlSelectCount);
-        this.counter = requireNonNull(counter);
+        this.queryExecutor = requireNonNull(queryExecutor);
         //this.sqlCounter = requireNonNull(sqlCounter);
         this.sqlColumnNamer = requireNonNull(sqlColumnNamer);
+        this.predicateCache = requireNonNull(predicateCache);
+        this.fieldOfGetter = requireNonNull(fieldOfGetter);
+        this.columnReader = requireNonNull(columnReader);
+        this.sqlTableReference = requireNonNull(sqlTableReference);
+        this.bulkExecutor = requireNonNull(bulkExecutor);
+        this.partitioner = requireNonNull(partitioner);
         this.asynchronousQueryResult = requireNonNull(asynchronousQueryResult);
     }
 
     @Override
     public <P extends Pipeline> P optimize(P initialPipeline) {
         requireNonNull(initialPipeline);
-        final List<FieldPredicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(initialPipeline);
+        final List<Predicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(initialPipeline);
+        final List<String> orderByTerms = topLevelOrderBy(initialPipeline);
+        final SkipLimit skipLimit = topLevelSkipLimit(initialPipeline);
+        final Projection projection = topLevelProjection(initialPipeline);
 
-        if (!andPredicateBuilders.isEmpty()) {
-            modifySource(andPredicateBuilders, asynchronousQueryResult);
+        if (projection != null) {
+            @SuppressWarnings("unchecked")
+            final SqlFunction<ResultSet, ENTITY> rsMapper = (SqlFunction<ResultSet, ENTITY>) (SqlFunction<ResultSet, ?>) projection.rsMapper;
+            asynchronousQueryResult.setRsMapper(rsMapper);
+            modifySource(
+                "SELECT " + projection.columnName + " FROM " + sqlTableReference,
+                andPredicateBuilders, orderByTerms, skipLimit, asynchronousQueryResult
+            );
+        } else if (!andPredicateBuilders.isEmpty() || !orderByTerms.isEmpty() || !skipLimit.isEmpty()) {
+            modifySource(sqlSelect, andPredicateBuilders, orderByTerms, skipLimit, asynchronousQueryResult);
+        }
+
+        // Unsorted and unlimited parallel streams may be read in partitions
+        if (initialPipeline.isParallel() 
+            && orderByTerms.isEmpty() 
+            && skipLimit.isEmpty() 
+            && partitioner.isPartitioned()) {
+            
+            final String sqlBase = projection == null 
+                ? sqlSelect 
+                : "SELECT " + projection.columnName + " FROM " + sqlTableReference;
+            
+            final SqlInfo where = sqlInfo("", andPredicateBuilders);
+            final SqlFunction<ResultSet, ENTITY> rsMapper = asynchronousQueryResult.getRsMapper();
+            initialPipeline.setInitialSupplier(
+                () -> partitioner.stream(sqlBase, where.sql, where.values, rsMapper)
+            );
         }
 
         return initialPipeline;
     }
 
-    public void modifySource(List<FieldPredicate<ENTITY>> predicateBuilders, AsynchronousQueryResult<ENTITY> qr) {
-        requireNonNull(predicateBuilders);
+    public void modifySource(String sqlBase, List<Predicate<ENTITY>> predicateBuilders, List<String> orderByTerms, SkipLimit skipLimit, AsynchronousQueryResult<ENTITY> qr) {
+        requireNonNulls(sqlBase, predicateBuilders, orderByTerms, skipLimit);
         requireNonNull(qr);
 
-        if (predicateBuilders.isEmpty()) {
-            // Nothing to do...
-            return;
+        final SqlInfo sqlInfo = sqlInfo(sqlBase, predicateBuilders, orderByTerms);
+        qr.setOrdered(!orderByTerms.isEmpty());
+        if (skipLimit.isEmpty()) {
+            qr.setSql(sqlInfo.sql);
+            qr.setValues(sqlInfo.values);
+        } else {
+            final List<Object> values = new ArrayList<>(sqlInfo.values);
+            qr.setSql(dbmsType.applySkipLimit(sqlInfo.sql, values, skipLimit.skip, skipLimit.limit));
+            qr.setValues(values);
         }
+    }
 
-        final SqlInfo sqlInfo = sqlInfo(sqlSelect, predicateBuilders);
-        qr.setSql(sqlInfo.sql);
-        qr.setValues(sqlInfo.values);
+    public SqlInfo sqlInfo(String sqlBase, List<Predicate<ENTITY>> predicateBuilders) {
+        return sqlInfo(sqlBase, predicateBuilders, Collections.emptyList());
     }
 
-    public SqlInfo sqlInfo(String sqlBase, List<FieldPredicate<ENTITY>> predicateBuilders) {
-        requireNonNull(predicateBuilders);
+    public SqlInfo sqlInfo(String sqlBase, List<Predicate<ENTITY>> predicateBuilders, List<String> orderByTerms) {
+        requireNonNulls(predicateBuilders, orderByTerms);
+
+        final String sqlOrderBy = orderByTerms.isEmpty() 
+            ? "" 
+            : orderByTerms.stream().collect(joining(", ", " ORDER BY ", ""));
 
         if (predicateBuilders.isEmpty()) {
             // Nothing to do...
-            return new SqlInfo(sqlBase, Collections.emptyList());
+            return new SqlInfo(sqlBase + sqlOrderBy, Collections.emptyList());
         }
 
-        final FieldPredicateView spv = dbmsType.getFieldPredicateView();
-        final List<SqlPredicateFragment> fragments = predicateBuilders.stream()
-            .map(sp -> spv.transform(sqlColumnNamer, sp))
-            .collect(toList());
-
-        final String sql = sqlBase + " WHERE "
-            + fragments.stream()
-                .map(SqlPredicateFragment::getSql)
-                .collect(joining(" AND "));
-
         final List<Object> values = new ArrayList<>();
-        for (int i = 0; i < fragments.size(); i++) {
-
-            final FieldPredicate<ENTITY> p = predicateBuilders.get(i);
-            final Field<ENTITY> referenceFieldTrait = p.getField();
-
-            @SuppressWarnings("unchecked")
-            final TypeMapper<Object, Object> tm = (TypeMapper<Object, Object>) referenceFieldTrait.typeMapper();
+        final String sql = sqlBase + " WHERE "
+            + predicateCache.render(predicateBuilders, values)
+            + sqlOrderBy;
 
-            fragments.get(i).objects()
-                .map(tm::toDatabaseType)
-                .forEach(values::add);
-        }
         return new SqlInfo(sql, values);
     }
 
@@ -162,10 +235,365 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
     @Override
     public <T> long count(ReferencePipeline<T> pipeline) {
         requireNonNull(pipeline);
+        if (!pipeline.isEmpty() && pipeline.getLast() instanceof MapAction) {
+            // stream.filter(...).map(field.setTo(...)).map(updater).count()
+            // stream.filter(...).map(remover).count()
+            final Object mapper = ((MapAction<?, ?>) pipeline.getLast()).getMapper();
+            final int end = pipeline.size() - 1;
+            final long affected = bulkUpdate(pipeline, end, mapper);
+            if (affected >= 0) {
+                return affected;
+            }
+            final long removed = bulkRemove(pipeline, end, mapper);
+            if (removed >= 0) {
+                return removed;
+            }
+        }
         return countHelper(pipeline, () -> StreamTerminator.super.count(pipeline));
     }
 
+    @Override
+    public <T> void forEach(ReferencePipeline<T> pipeline, Consumer<? super T> action) {
+        requireNonNull(pipeline);
+        requireNonNull(action);
+        // stream.filter(...).map(field.setTo(...)).forEach(updater)
+        // stream.filter(...).forEach(remover)
+        if (bulkUpdate(pipeline, pipeline.size(), action) < 0
+            && bulkRemove(pipeline, pipeline.size(), action) < 0) {
+            StreamTerminator.super.forEach(pipeline, action);
+        }
+    }
+
+    @Override
+    public <T> void forEachOrdered(ReferencePipeline<T> pipeline, Consumer<? super T> action) {
+        requireNonNull(pipeline);
+        requireNonNull(action);
+        if (bulkUpdate(pipeline, pipeline.size(), action) < 0
+            && bulkRemove(pipeline, pipeline.size(), action) < 0) {
+            StreamTerminator.super.forEachOrdered(pipeline, action);
+        }
+    }
+
     private static final Predicate<Action<?, ?>> CHECK_RETAIN_SIZE = action -> action.is(PRESERVE, SIZE);
+    private static final Predicate<Action<?, ?>> CHECK_RETAIN_SIZE_AND_ORDER = action -> action.is(PRESERVE, SIZE) && action.is(PRESERVE, ORDER);
+
+    @Override
+    public <T> Optional<T> findFirst(ReferencePipeline<T> pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findFirst(pipeline);
+    }
+
+    @Override
+    public <T> Optional<T> findAny(ReferencePipeline<T> pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findAny(pipeline);
+    }
+
+    @Override
+    public OptionalInt findFirst(IntPipeline pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findFirst(pipeline);
+    }
+
+    @Override
+    public OptionalInt findAny(IntPipeline pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findAny(pipeline);
+    }
+
+    @Override
+    public OptionalLong findFirst(LongPipeline pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findFirst(pipeline);
+    }
+
+    @Override
+    public OptionalLong findAny(LongPipeline pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findAny(pipeline);
+    }
+
+    @Override
+    public OptionalDouble findFirst(DoublePipeline pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findFirst(pipeline);
+    }
+
+    @Override
+    public OptionalDouble findAny(DoublePipeline pipeline) {
+        requireNonNull(pipeline);
+        limitToFirst(pipeline);
+        return StreamTerminator.super.findAny(pipeline);
+    }
+
+    @Override
+    public <T> boolean anyMatch(ReferencePipeline<T> pipeline, Predicate<? super T> predicate) {
+        requireNonNulls(pipeline, predicate);
+        return isExistsOptimizable(pipeline, predicate)
+            ? exists(pipeline, predicate, false)
+            : StreamTerminator.super.anyMatch(pipeline, predicate);
+    }
+
+    @Override
+    public <T> boolean allMatch(ReferencePipeline<T> pipeline, Predicate<? super T> predicate) {
+        requireNonNulls(pipeline, predicate);
+        return isExistsOptimizable(pipeline, predicate)
+            ? !exists(pipeline, predicate, true)
+            : StreamTerminator.super.allMatch(pipeline, predicate);
+    }
+
+    @Override
+    public <T> boolean noneMatch(ReferencePipeline<T> pipeline, Predicate<? super T> predicate) {
+        requireNonNulls(pipeline, predicate);
+        return isExistsOptimizable(pipeline, predicate)
+            ? !exists(pipeline, predicate, false)
+            : StreamTerminator.super.noneMatch(pipeline, predicate);
+    }
+
+    /**
+     * Inserts a {@code limit(1)} operation after the initial filter, sort,
+     * skip and limit operations of the given pipeline, provided that the
+     * filters can be fully expressed in SQL and that the remaining 
+     * operations preserve both the size and the order of the stream. The 
+     * limit will then be rendered in SQL by {@link #optimize(Pipeline)}.
+     *
+     * @param pipeline  the pipeline
+     */
+    private void limitToFirst(Pipeline pipeline) {
+        if (dbmsType.getSkipLimitSupport() == SkipLimitSupport.NONE || renderedFilters(pipeline) < 0) {
+            return;
+        }
+
+        int index = 0;
+        for (final Action<?, ?> action : pipeline) {
+            if (action instanceof FilterAction
+            || action instanceof SortedComparatorAction
+            || action instanceof HasSkip
+            || action instanceof HasLimit) {
+                index++;
+            } else {
+                break;
+            }
+        }
+
+        if (pipeline.stream().skip(index).allMatch(CHECK_RETAIN_SIZE_AND_ORDER)) {
+            pipeline.add(index, new LimitAction<>(1));
+        }
+    }
+
+    private boolean isExistsOptimizable(Pipeline pipeline, Predicate<?> predicate) {
+        return renderedFilters(pipeline) == pipeline.size()
+            && StreamTerminatorUtil.isSqlExpressible(predicate);
+    }
+
+    /**
+     * Returns if there is any row that passes all the filters of the given
+     * pipeline and where the given predicate is true, or if {@code negated}
+     * is set, where the given predicate is not true.
+     *
+     * @param pipeline   the pipeline that only consists of rendered filters
+     * @param predicate  the predicate to test
+     * @param negated    if the rows must not match the predicate
+     * @return           if there is any such row
+     */
+    private boolean exists(Pipeline pipeline, Predicate<?> predicate, boolean negated) {
+        final List<Predicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(pipeline);
+        final SqlInfo sqlInfo = sqlInfo("SELECT 1 FROM " + sqlTableReference, andPredicateBuilders);
+        final List<Object> values = new ArrayList<>(sqlInfo.values);
+
+        @SuppressWarnings("unchecked")
+        final String condition = predicateCache.render(singletonList((Predicate<ENTITY>) predicate), values);
+
+        final String sql = "SELECT EXISTS (" + sqlInfo.sql
+            + (andPredicateBuilders.isEmpty() ? " WHERE " : " AND ")
+            + (negated ? condition + " IS NOT TRUE" : condition)
+            + ")";
+
+        return queryExecutor.executeAndGet(sql, values, rs -> rs.getBoolean(1));
+    }
+
+    @Override
+    public int sum(IntPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToIntAction.class, HasIntValue.class);
+        return cn == null
+            ? StreamTerminator.super.sum(pipeline)
+            : (int) aggregate(pipeline, "SUM(" + cn + ")", rs -> rs.getLong(1)).longValue();
+    }
+
+    @Override
+    public OptionalInt min(IntPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToIntAction.class, HasIntValue.class);
+        return cn == null
+            ? StreamTerminator.super.min(pipeline)
+            : aggregate(pipeline, "MIN(" + cn + ")", SqlStreamTerminator::optionalInt);
+    }
+
+    @Override
+    public OptionalInt max(IntPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToIntAction.class, HasIntValue.class);
+        return cn == null
+            ? StreamTerminator.super.max(pipeline)
+            : aggregate(pipeline, "MAX(" + cn + ")", SqlStreamTerminator::optionalInt);
+    }
+
+    @Override
+    public OptionalDouble average(IntPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToIntAction.class, HasIntValue.class);
+        return cn == null
+            ? StreamTerminator.super.average(pipeline)
+            : aggregate(pipeline, countAndSum(cn), SqlStreamTerminator::longAverage);
+    }
+
+    @Override
+    public long sum(LongPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToLongAction.class, HasLongValue.class);
+        return cn == null
+            ? StreamTerminator.super.sum(pipeline)
+            : aggregate(pipeline, "SUM(" + cn + ")", rs -> rs.getLong(1));
+    }
+
+    @Override
+    public OptionalLong min(LongPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToLongAction.class, HasLongValue.class);
+        return cn == null
+            ? StreamTerminator.super.min(pipeline)
+            : aggregate(pipeline, "MIN(" + cn + ")", SqlStreamTerminator::optionalLong);
+    }
+
+    @Override
+    public OptionalLong max(LongPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToLongAction.class, HasLongValue.class);
+        return cn == null
+            ? StreamTerminator.super.max(pipeline)
+            : aggregate(pipeline, "MAX(" + cn + ")", SqlStreamTerminator::optionalLong);
+    }
+
+    @Override
+    public OptionalDouble average(LongPipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToLongAction.class, HasLongValue.class);
+        return cn == null
+            ? StreamTerminator.super.average(pipeline)
+            : aggregate(pipeline, countAndSum(cn), SqlStreamTerminator::longAverage);
+    }
+
+    @Override
+    public double sum(DoublePipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToDoubleAction.class, HasDoubleValue.class);
+        return cn == null
+            ? StreamTerminator.super.sum(pipeline)
+            : aggregate(pipeline, "SUM(" + cn + ")", rs -> rs.getDouble(1));
+    }
+
+    @Override
+    public OptionalDouble min(DoublePipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToDoubleAction.class, HasDoubleValue.class);
+        return cn == null
+            ? StreamTerminator.super.min(pipeline)
+            : aggregate(pipeline, "MIN(" + cn + ")", SqlStreamTerminator::optionalDouble);
+    }
+
+    @Override
+    public OptionalDouble max(DoublePipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToDoubleAction.class, HasDoubleValue.class);
+        return cn == null
+            ? StreamTerminator.super.max(pipeline)
+            : aggregate(pipeline, "MAX(" + cn + ")", SqlStreamTerminator::optionalDouble);
+    }
+
+    @Override
+    public OptionalDouble average(DoublePipeline pipeline) {
+        requireNonNull(pipeline);
+        final String cn = aggregatedColumn(pipeline, MapToDoubleAction.class, HasDoubleValue.class);
+        return cn == null
+            ? StreamTerminator.super.average(pipeline)
+            : aggregate(pipeline, countAndSum(cn), rs -> {
+                final long count = rs.getLong(1);
+                return count == 0 
+                    ? OptionalDouble.empty() 
+                    : OptionalDouble.of(rs.getDouble(2) / count);
+            });
+    }
+
+    /**
+     * Returns the column to aggregate if the given pipeline only consists of
+     * filters that can be fully expressed in SQL followed by a map operation
+     * of the given type that uses the getter of a field of this table. 
+     * Otherwise, {@code null} is returned.
+     *
+     * @param pipeline    the pipeline
+     * @param actionType  the expected type of the map action
+     * @param fieldType   the expected type of the field
+     * @return            the name of the column or {@code null}
+     */
+    private String aggregatedColumn(Pipeline pipeline, Class<?> actionType, Class<?> fieldType) {
+        final int filters = renderedFilters(pipeline);
+        if (filters < 0 || pipeline.size() != filters + 1) {
+            return null;
+        }
+
+        final Action<?, ?> action = pipeline.getLast();
+        if (!actionType.isInstance(action)) {
+            return null;
+        }
+
+        final Field<ENTITY> field = fieldOfGetter.apply(((HasMapper<?>) action).getMapper());
+        if (field == null || !fieldType.isInstance(field) || !isPlainTypeMapper(field.typeMapper())) {
+            return null;
+        }
+
+        return sqlColumnNamer.apply(field);
+    }
+
+    private <T> T aggregate(Pipeline pipeline, String selectList, SqlFunction<ResultSet, T> rsMapper) {
+        final List<Predicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(pipeline);
+        final SqlInfo sqlInfo = sqlInfo("SELECT " + selectList + " FROM " + sqlTableReference, andPredicateBuilders);
+        return queryExecutor.executeAndGet(sqlInfo.sql, sqlInfo.values, rsMapper);
+    }
+
+    // The average is computed from the sum since AVG() might be rounded
+    private static String countAndSum(String columnName) {
+        return "COUNT(" + columnName + "), SUM(" + columnName + ")";
+    }
+
+    private static OptionalInt optionalInt(ResultSet rs) throws SQLException {
+        final int value = rs.getInt(1);
+        return rs.wasNull() ? OptionalInt.empty() : OptionalInt.of(value);
+    }
+
+    private static OptionalLong optionalLong(ResultSet rs) throws SQLException {
+        final long value = rs.getLong(1);
+        return rs.wasNull() ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
+    private static OptionalDouble optionalDouble(ResultSet rs) throws SQLException {
+        final double value = rs.getDouble(1);
+        return rs.wasNull() ? OptionalDouble.empty() : OptionalDouble.of(value);
+    }
+
+    private static OptionalDouble longAverage(ResultSet rs) throws SQLException {
+        final long count = rs.getLong(1);
+        return count == 0
+            ? OptionalDouble.empty()
+            : OptionalDouble.of((double) rs.getLong(2) / count);
+    }
 
     /**
      * Optimizer for count operations.
@@ -180,28 +608,403 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         
         if (isCountOptimizable(pipeline)) {
             // select count(*) from 'table' where ...
-            final List<FieldPredicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(pipeline);
+            final List<Predicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(pipeline);
             final SqlInfo sqlInfo = sqlInfo(sqlSelectCount, andPredicateBuilders);
-            return counter.apply(sqlInfo.sql, sqlInfo.values);
+            return queryExecutor.executeAndGet(sqlInfo.sql, sqlInfo.values, rs -> rs.getLong(1));
         } else if (pipeline.stream().allMatch(CHECK_RETAIN_SIZE)) {
             // select count(*) from 'table'
-            return counter.apply(sqlSelectCount, Collections.emptyList());
+            return queryExecutor.executeAndGet(sqlSelectCount, Collections.emptyList(), rs -> rs.getLong(1));
         } else {
             // Iterate over all materialized ENTITIES....
             return fallbackSupplier.getAsLong();
         }
     }
 
+    /**
+     * Renders the sort order of the {@link SortedComparatorAction} that 
+     * precedes any other action than filters in the given pipeline (if any) 
+     * as a number of {@code ORDER BY} terms. If the comparator can be fully 
+     * expressed in SQL, the action is removed from the pipeline since the rows
+     * will arrive in the requested order.
+     *
+     * @param pipeline  the pipeline
+     * @return          the terms to order by or an empty list
+     */
+    private List<String> topLevelOrderBy(Pipeline pipeline) {
+        final int index = StreamTerminatorUtil.topLevelSortedComparatorIndex(pipeline);
+        if (index >= 0) {
+            final SortedComparatorAction<?> action = (SortedComparatorAction<?>) pipeline.get(index);
+            final List<String> terms = new ArrayList<>();
+            if (orderByTerms(action.getComparator(), false, terms)) {
+                pipeline.remove(index);
+                return terms;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean orderByTerms(Comparator<?> comparator, boolean reversed, List<String> terms) {
+        if (comparator instanceof FieldComparator) {
+            final FieldComparator<?> fieldComparator = (FieldComparator<?>) comparator;
+            @SuppressWarnings("unchecked")
+            final Field<ENTITY> field = (Field<ENTITY>) fieldComparator.getField();
+            final String columnName = sqlColumnNamer.apply(field);
+            if (columnName == null) {
+                return false; // The field does not belong to this table
+            }
+            final boolean descending = fieldComparator.isReversed() ^ reversed;
+            terms.add(dbmsType.getFieldPredicateView().orderBy(
+                columnName,
+                descending,
+                effectiveNullOrder(fieldComparator.getNullOrder(), descending)
+            ));
+            return true;
+        } else if (comparator instanceof CombinedComparator) {
+            final CombinedComparator<?> combinedComparator = (CombinedComparator<?>) comparator;
+            final boolean combinedReversed = combinedComparator.isReversed() ^ reversed;
+            return combinedComparator.stream()
+                .allMatch(c -> orderByTerms(c, combinedReversed, terms));
+        } else {
+            return false; // An opaque comparator
+        }
+    }
+
+    /**
+     * Field comparators apply the reversal also to null values, so nulls 
+     * that are placed first end up last when reversed.
+     */
+    private static NullOrder effectiveNullOrder(NullOrder nullOrder, boolean descending) {
+        if (!descending) {
+            return nullOrder;
+        }
+        switch (nullOrder) {
+            case FIRST:
+                return NullOrder.LAST;
+            case LAST:
+                return NullOrder.FIRST;
+            default:
+                return nullOrder;
+        }
+    }
+
+    /**
+     * Folds the skip and limit actions that directly follow the initial 
+     * filters of the given pipeline into a {@link SkipLimit} and removes 
+     * them from the pipeline. This is only done if all the filters (and any
+     * sorting) are rendered in SQL, since the database would otherwise skip 
+     * and limit other rows than the stream.
+     *
+     * @param pipeline  the pipeline
+     * @return          the skip and limit to render
+     */
+    private SkipLimit topLevelSkipLimit(Pipeline pipeline) {
+        if (dbmsType.getSkipLimitSupport() == SkipLimitSupport.NONE) {
+            return SkipLimit.EMPTY;
+        }
+
+        int index = renderedFilters(pipeline);
+        if (index < 0) {
+            return SkipLimit.EMPTY;
+        }
+
+        long skip = 0;
+        long limit = Long.MAX_VALUE;
+        while (index < pipeline.size()) {
+            final Action<?, ?> action = pipeline.get(index);
+            if (action instanceof HasSkip) {
+                final long n = ((HasSkip) action).getSkip();
+                skip = saturatedAdd(skip, n);
+                if (limit != Long.MAX_VALUE) {
+                    limit = Math.max(0, limit - n);
+                }
+            } else if (action instanceof HasLimit) {
+                limit = Math.min(limit, ((HasLimit) action).getLimit());
+            } else {
+                break;
+            }
+            pipeline.remove(index);
+        }
+        return new SkipLimit(skip, limit);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        final long result = a + b;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    /**
+     * Returns if the given pipeline starts with filters that can be fully
+     * expressed in SQL and only contains size preserving actions after them,
+     * so that the number of elements is given by a {@code COUNT(*)} query.
+     *
+     * @param pipeline  the pipeline
+     * @return          if the count can be computed by the database
+     */
     private boolean isCountOptimizable(Pipeline pipeline) {
+        final int filters = renderedFilters(pipeline);
+        return filters > 0 && pipeline.stream().skip(filters).allMatch(CHECK_RETAIN_SIZE);
+    }
+
+    /**
+     * Executes the given pipeline, up to but not including the action at the
+     * given end index, followed by the given updater as a single 
+     * {@code UPDATE} statement. This is only done if the updater is the plain
+     * updater of the streamed table and the pipeline consists of filters that
+     * are fully rendered in SQL followed by map operations that set fields to
+     * constant values.
+     *
+     * @param pipeline  the pipeline
+     * @param end       the index of the first action after the setters
+     * @param updater   the operation that is applied to the entities
+     * @return          the number of updated rows or {@code -1} if the 
+     *                  pipeline could not be expressed as an update statement
+     */
+    private long bulkUpdate(Pipeline pipeline, int end, Object updater) {
+        if (!bulkExecutor.isUpdater(updater)) {
+            return -1;
+        }
+
+        final int filters = renderedFilters(pipeline);
+        if (filters < 0) {
+            return -1;
+        }
+
+        // Later setters of the same field override earlier ones
+        final Map<Field<ENTITY>, Object> assignments = new LinkedHashMap<>();
+        for (int i = filters; i < end; i++) {
+            final Action<?, ?> action = pipeline.get(i);
+            if (!(action instanceof MapAction)
+                || !addAssignment(((MapAction<?, ?>) action).getMapper(), assignments)) {
+                return -1;
+            }
+        }
+
+        if (assignments.isEmpty()) {
+            return -1;
+        }
+
+        final DatabaseNamingConvention naming = dbmsType.getDatabaseNamingConvention();
+        final List<Object> values = new ArrayList<>(assignments.values());
+        final String sqlSet = assignments.keySet().stream()
+            .map(f -> naming.encloseField(f.identifier().getColumnName()) + " = ?")
+            .collect(joining(", "));
+
+        final List<Predicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(pipeline);
+        final String sql = "UPDATE " + sqlTableReference + " SET " + sqlSet
+            + (andPredicateBuilders.isEmpty() 
+                ? "" 
+                : " WHERE " + predicateCache.render(andPredicateBuilders, values));
+
+        return bulkExecutor.executeUpdate(sql, values);
+    }
+
+    /**
+     * Executes the given pipeline, up to but not including the action at the
+     * given end index, followed by the given remover as a set-based 
+     * {@code DELETE}. This is only done if the remover is the plain remover 
+     * of the streamed table and all the actions before the end index are
+     * filters that are fully rendered in SQL.
+     *
+     * @param pipeline  the pipeline
+     * @param end       the index of the first action after the filters
+     * @param remover   the operation that is applied to the entities
+     * @return          the number of removed rows or {@code -1} if the 
+     *                  pipeline could not be expressed as a delete statement
+     */
+    private long bulkRemove(Pipeline pipeline, int end, Object remover) {
+        if (!bulkExecutor.isRemover(remover) || renderedFilters(pipeline) != end) {
+            return -1;
+        }
+
+        final List<Object> values = new ArrayList<>();
+        final List<Predicate<ENTITY>> andPredicateBuilders = StreamTerminatorUtil.topLevelAndPredicates(pipeline);
+        final String sqlWhere = andPredicateBuilders.isEmpty()
+            ? ""
+            : " WHERE " + predicateCache.render(andPredicateBuilders, values);
+
+        return bulkExecutor.executeDelete(remover, sqlWhere, values);
+    }
+
+    /**
+     * Adds the field and the database value of the given mapper to the map of
+     * assignments if the mapper sets a field of the streamed table to a 
+     * constant value.
+     *
+     * @param mapper       the mapper
+     * @param assignments  the map to add the assignment to
+     * @return             if the mapper was such a setter
+     */
+    @SuppressWarnings("unchecked")
+    private boolean addAssignment(Object mapper, Map<Field<ENTITY>, Object> assignments) {
+        final Field<ENTITY> field;
+        final Object value;
+        if (mapper instanceof SetToReference) {
+            field = ((SetToReference<ENTITY, ?, ?>) mapper).getField();
+            value = ((SetToReference<ENTITY, ?, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToInt) {
+            field = ((SetToInt<ENTITY, ?>) mapper).getField();
+            value = ((SetToInt<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToLong) {
+            field = ((SetToLong<ENTITY, ?>) mapper).getField();
+            value = ((SetToLong<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToDouble) {
+            field = ((SetToDouble<ENTITY, ?>) mapper).getField();
+            value = ((SetToDouble<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToFloat) {
+            field = ((SetToFloat<ENTITY, ?>) mapper).getField();
+            value = ((SetToFloat<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToShort) {
+            field = ((SetToShort<ENTITY, ?>) mapper).getField();
+            value = ((SetToShort<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToByte) {
+            field = ((SetToByte<ENTITY, ?>) mapper).getField();
+            value = ((SetToByte<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToChar) {
+            field = ((SetToChar<ENTITY, ?>) mapper).getField();
+            value = ((SetToChar<ENTITY, ?>) mapper).getValue();
+        } else if (mapper instanceof SetToBoolean) {
+            field = ((SetToBoolean<ENTITY, ?>) mapper).getField();
+            value = ((SetToBoolean<ENTITY, ?>) mapper).getValue();
+        } else {
+            return false;
+        }
+
+        if (sqlColumnNamer.apply(field) == null) {
+            return false; // Not a column of the streamed table
+        }
+
+        final TypeMapper<Object, Object> tm = (TypeMapper<Object, Object>) field.typeMapper();
+        assignments.remove(field);
+        assignments.put(field, tm.toDatabaseType(value));
+        return true;
+    }
+
+    /**
+     * Returns the number of initial filters in the given pipeline if they can
+     * all be fully expressed in SQL, or {@code -1} if any of them can not.
+     *
+     * @param pipeline  the pipeline
+     * @return          the number of initial filters or {@code -1}
+     */
+    private int renderedFilters(Pipeline pipeline) {
         int filters = 0;
         for (final Action<?, ?> action : pipeline) {
             if (action instanceof FilterAction) {
+                @SuppressWarnings("unchecked")
+                final FilterAction<ENTITY> filterAction = (FilterAction<ENTITY>) action;
+                if (!StreamTerminatorUtil.isContainingOnlyFieldPredicate(filterAction)) {
+                    return -1;
+                }
                 filters++;
             } else {
                 break;
             }
         }
-        return filters > 0;
+        return filters;
+    }
+
+    /**
+     * Renders a getter-based map operation that directly follows the initial
+     * filters of the given pipeline as a single column projection. This is 
+     * only done if the filters are fully rendered in SQL, since the stream 
+     * will no longer contain any entities to apply them to. On success, the
+     * filters are removed from the pipeline and the map operation is replaced
+     * by one that takes the column value read by the returned projection.
+     * <p>
+     * A {@code map} operation is rendered for the getter of any field that 
+     * the column reader can read, including fields with a type mapper. The
+     * primitive {@code mapToXxx} operations are only rendered for fields 
+     * without a converting type mapper.
+     *
+     * @param pipeline  the pipeline
+     * @return          the column to select or {@code null} 
+     */
+    private Projection topLevelProjection(Pipeline pipeline) {
+        final int filters = renderedFilters(pipeline);
+        if (filters < 0 || filters >= pipeline.size()) {
+            return null;
+        }
+
+        final Action<?, ?> action = pipeline.get(filters);
+        if (!(action instanceof HasMapper)) {
+            return null;
+        }
+
+        final Field<ENTITY> field = fieldOfGetter.apply(((HasMapper<?>) action).getMapper());
+        if (field == null) {
+            return null; // Not a getter of this table
+        }
+
+        final String columnName = sqlColumnNamer.apply(field);
+        if (columnName == null) {
+            return null;
+        }
+
+        final SqlFunction<ResultSet, Object> rsMapper;
+        final Action<?, ?> replacement;
+        if (action instanceof MapAction) {
+            rsMapper = columnReader.apply(field);
+            if (rsMapper == null) {
+                return null;
+            }
+            replacement = null; // The stream will already contain the values
+        } else if (!isPlainTypeMapper(field.typeMapper())) {
+            return null; // A converted value
+        } else if (action instanceof MapToIntAction && field instanceof HasIntValue) {
+            rsMapper = rs -> rs.getInt(1);
+            replacement = new MapToIntAction<Integer>(Integer::intValue);
+        } else if (action instanceof MapToLongAction && field instanceof HasLongValue) {
+            rsMapper = rs -> rs.getLong(1);
+            replacement = new MapToLongAction<Long>(Long::longValue);
+        } else if (action instanceof MapToDoubleAction && field instanceof HasDoubleValue) {
+            rsMapper = rs -> rs.getDouble(1);
+            replacement = new MapToDoubleAction<Double>(Double::doubleValue);
+        } else {
+            return null;
+        }
+
+        pipeline.remove(filters);
+        if (replacement != null) {
+            pipeline.add(filters, replacement);
+        }
+        for (int i = 0; i < filters; i++) {
+            pipeline.removeFirst();
+        }
+
+        return new Projection(columnName, rsMapper);
+    }
+
+    private static boolean isPlainTypeMapper(TypeMapper<?, ?> typeMapper) {
+        return TypeMapper.identity().getClass().isAssignableFrom(typeMapper.getClass())
+            || TypeMapper.primitive().getClass().isAssignableFrom(typeMapper.getClass());
+    }
+
+    public static final class SkipLimit {
+
+        private static final SkipLimit EMPTY = new SkipLimit(0, Long.MAX_VALUE);
+
+        private final long skip;
+        private final long limit;
+
+        private SkipLimit(long skip, long limit) {
+            this.skip = skip;
+            this.limit = limit;
+        }
+
+        private boolean isEmpty() {
+            return skip == 0 && limit == Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Projection {
+
+        private final String columnName;
+        private final SqlFunction<ResultSet, Object> rsMapper;
+
+        private Projection(String columnName, SqlFunction<ResultSet, Object> rsMapper) {
+            this.columnName = columnName;
+            this.rsMapper = rsMapper;
+        }
     }
 
     private static class SqlInfo {
@@ -0,0 +1,230 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A lease of a {@link PreparedStatement} held by a {@link PreparedStatementCache}.
+ * Closing the lease resets the statement and returns it to the cache instead
+ * of closing it. Result sets obtained during the lease are closed, and 
+ * parameters, batches and warnings are always cleared. The fetch size, fetch
+ * direction, maximum number of rows and query timeout are restored to the 
+ * values the statement had before they were first changed during the lease,
+ * so that the next lessee does not inherit them. If any other setting of the
+ * statement is changed, it is closed instead of being returned to the cache.
+ *
+ * @since  3.0.1
+ */
+final class CachedPreparedStatement extends PreparedStatementDelegator {
+
+    private final Connection owner;
+    private final PreparedStatementCache cache;
+    private final PreparedStatementCache.Key key;
+    private Integer initialFetchSize;
+    private Integer initialFetchDirection;
+    private Long initialMaxRows;
+    private Integer initialQueryTimeout;
+    private ResultSet resultSet;
+    private ResultSet generatedKeys;
+    private boolean batched;
+    private boolean reusable;
+    private boolean closed;
+
+    CachedPreparedStatement(
+            Connection owner,
+            PreparedStatementCache cache,
+            PreparedStatementCache.Key key,
+            PreparedStatement statement) throws SQLException {
+
+        super(statement);
+        this.owner    = requireNonNull(owner);
+        this.cache    = requireNonNull(cache);
+        this.key      = requireNonNull(key);
+        this.reusable = true;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        return resultSet = statement.executeQuery();
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        return resultSet = statement.executeQuery(sql);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return resultSet = statement.getResultSet();
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return generatedKeys = statement.getGeneratedKeys();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        if (initialFetchSize == null) {
+            initialFetchSize = statement.getFetchSize();
+        }
+        statement.setFetchSize(rows);
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        if (initialFetchDirection == null) {
+            initialFetchDirection = statement.getFetchDirection();
+        }
+        statement.setFetchDirection(direction);
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        if (initialMaxRows == null) {
+            initialMaxRows = (long) statement.getMaxRows();
+        }
+        statement.setMaxRows(max);
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        if (initialMaxRows == null) {
+            initialMaxRows = statement.getLargeMaxRows();
+        }
+        statement.setLargeMaxRows(max);
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        if (initialQueryTimeout == null) {
+            initialQueryTimeout = statement.getQueryTimeout();
+        }
+        statement.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        reusable = false;
+        statement.setMaxFieldSize(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        reusable = false;
+        statement.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        reusable = false;
+        statement.setCursorName(name);
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        reusable = false;
+        statement.setPoolable(poolable);
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        reusable = false;
+        statement.closeOnCompletion();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        statement.addBatch();
+        batched = true;
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        statement.addBatch(sql);
+        batched = true;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return owner;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || statement.isClosed();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (statement.isClosed()) {
+            return;
+        } else if (!reusable) {
+            // Settings that are seldom changed are not restored
+            statement.close();
+            return;
+        }
+
+        try {
+            closeResultSet(resultSet);
+            closeResultSet(generatedKeys);
+            statement.clearParameters();
+            if (batched) {
+                statement.clearBatch();
+            }
+            if (initialFetchSize != null) {
+                statement.setFetchSize(initialFetchSize);
+            }
+            if (initialFetchDirection != null) {
+                statement.setFetchDirection(initialFetchDirection);
+            }
+            if (initialMaxRows != null) {
+                if (initialMaxRows <= Integer.MAX_VALUE) {
+                    statement.setMaxRows((int) (long) initialMaxRows);
+                } else {
+                    statement.setLargeMaxRows(initialMaxRows);
+                }
+            }
+            if (initialQueryTimeout != null) {
+                statement.setQueryTimeout(initialQueryTimeout);
+            }
+            statement.clearWarnings();
+        } catch (final SQLException sqle) {
+            // A statement that cannot be reset must not be reused
+            statement.close();
+            throw sqle;
+        }
+
+        cache.release(key, statement);
+    }
+
+    private static void closeResultSet(ResultSet rs) throws SQLException {
+        if (rs != null && !rs.isClosed()) {
+            rs.close();
+        }
+    }
+}
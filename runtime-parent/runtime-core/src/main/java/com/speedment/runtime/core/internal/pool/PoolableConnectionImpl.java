@@ -17,9 +17,13 @@
 package com.speedment.runtime.core.internal.pool;
 
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.db.SqlSupplier;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Objects.requireNonNull;
@@ -37,9 +41,14 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     private final String uri;
     private final long created;
     private final long expires;
+    private final PreparedStatementCache statementCache;
     private Runnable onClose;
 
     public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires) {
+        this(uri, username, password, connection, expires, 0);
+    }
+
+    public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires, int statementCacheSize) {
         super(connection);
         this.id       = ID_GENERATOR.getAndIncrement();
         this.uri      = requireNonNull(uri);
@@ -47,6 +56,7 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
         this.password = password; //nullable
         this.created  = System.currentTimeMillis();
         this.expires  = expires;
+        this.statementCache = new PreparedStatementCache(statementCacheSize);
     }
 
     @Override
@@ -61,9 +71,54 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
 
     @Override
     public void rawClose() throws SQLException {
+        statementCache.close();
         connection.close();
     }
 
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareCached(
+            new PreparedStatementCache.Key(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, Statement.NO_GENERATED_KEYS),
+            () -> connection.prepareStatement(sql)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return prepareCached(
+            new PreparedStatementCache.Key(sql, resultSetType, resultSetConcurrency, Statement.NO_GENERATED_KEYS),
+            () -> connection.prepareStatement(sql, resultSetType, resultSetConcurrency)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return prepareCached(
+            new PreparedStatementCache.Key(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, autoGeneratedKeys),
+            () -> connection.prepareStatement(sql, autoGeneratedKeys)
+        );
+    }
+
+    @Override
+    public int cachedStatementCount() {
+        return statementCache.size();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementCache.getHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCache.getMisses();
+    }
+
+    @Override
+    public long getStatementCacheEvictions() {
+        return statementCache.getEvictions();
+    }
+
     @Override
     public void setOnClose(Runnable onClose) {
         this.onClose = onClose;
@@ -98,4 +153,18 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     public long getExpires() {
         return expires;
     }
+
+    private PreparedStatement prepareCached(PreparedStatementCache.Key key, SqlSupplier<PreparedStatement> creator) throws SQLException {
+        if (statementCache.getCapacity() == 0) {
+            return creator.get();
+        }
+
+        final PreparedStatement statement = statementCache.acquire(key, creator);
+        try {
+            return new CachedPreparedStatement(this, statementCache, key, statement);
+        } catch (final SQLException sqle) {
+            statement.close();
+            throw sqle;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.db.SqlSupplier;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, least-recently-used cache of {@link PreparedStatement PreparedStatements}
+ * belonging to a single physical connection. A statement is removed from the
+ * cache while it is leased so that the same statement is never used by two
+ * callers at the same time. When the lease is closed, the statement is
+ * returned to the cache and, if the cache is full, the least recently used
+ * statement is closed.
+ *
+ * @since  3.0.1
+ */
+final class PreparedStatementCache {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(PreparedStatementCache.class);
+
+    private final int capacity;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private boolean closed;
+
+    PreparedStatementCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative: " + capacity);
+        }
+        this.capacity   = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a cached statement for the given key, or creates a new one using
+     * the provided supplier if no such statement is available. The returned
+     * statement is no longer part of the cache until it is
+     * {@link #release(Key, PreparedStatement) released}.
+     *
+     * @param key      the key of the statement
+     * @param creator  supplier of a new statement
+     * @return         a statement for the key
+     * 
+     * @throws SQLException  if a new statement could not be created
+     */
+    PreparedStatement acquire(Key key, SqlSupplier<PreparedStatement> creator) throws SQLException {
+        requireNonNull(key);
+        requireNonNull(creator);
+        synchronized (this) {
+            final PreparedStatement cached = statements.remove(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        return creator.get();
+    }
+
+    /**
+     * Returns a statement previously obtained from {@link #acquire(Key, SqlSupplier)}
+     * to the cache. If the cache is closed, disabled or already holds a
+     * statement for the same key, the statement is closed instead.
+     *
+     * @param key        the key of the statement
+     * @param statement  the statement to return
+     */
+    void release(Key key, PreparedStatement statement) {
+        requireNonNull(key);
+        requireNonNull(statement);
+        final List<PreparedStatement> toClose = new ArrayList<>(1);
+        synchronized (this) {
+            if (closed || capacity == 0 || statements.containsKey(key)) {
+                toClose.add(statement);
+            } else {
+                statements.put(key, statement);
+                final Iterator<PreparedStatement> it = statements.values().iterator();
+                while (statements.size() > capacity) {
+                    toClose.add(it.next());
+                    it.remove();
+                    evictions++;
+                }
+            }
+        }
+        toClose.forEach(PreparedStatementCache::closeSilently);
+    }
+
+    /**
+     * Closes all statements held by this cache. Statements that are released
+     * after this method has been called are closed directly.
+     */
+    void close() {
+        final List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        toClose.forEach(PreparedStatementCache::closeSilently);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private static void closeSilently(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException sqle) {
+            LOGGER.error(sqle, "Error closing a cached statement.");
+        }
+    }
+
+    /**
+     * The identity of a prepared statement. Two statements are interchangeable
+     * if they were prepared from the same SQL text using the same options.
+     */
+    static final class Key {
+
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+        private final int autoGeneratedKeys;
+
+        Key(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+            this.sql                  = requireNonNull(sql);
+            this.resultSetType        = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.autoGeneratedKeys    = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            final Key that = (Key) o;
+            return resultSetType == that.resultSetType
+                && resultSetConcurrency == that.resultSetConcurrency
+                && autoGeneratedKeys == that.autoGeneratedKeys
+                && sql.equals(that.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, resultSetType, resultSetConcurrency, autoGeneratedKeys);
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream;
+
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link Iterator} over the mapped rows of a {@link ResultSet} where the 
+ * reading and the mapping of the rows are done on separate threads. A reader
+ * thread copies the values of the rows into reusable chunks of row buffers 
+ * and a number of decoder threads apply the mapper to the buffered rows, so
+ * that waiting for the database overlaps with creating the entities. The 
+ * entities are returned in the order of the rows.
+ * <p>
+ * The number of buffered rows is bounded. If the consumer falls behind, the 
+ * reader waits for chunks to be consumed. The pipeline must be closed before
+ * the {@code ResultSet} is closed, since closing waits for the reader to stop
+ * using it.
+ *
+ * @param <T> the type of the mapped rows
+ * @since 3.0.1
+ */
+public final class ResultSetPipeline<T> implements Iterator<T>, AutoCloseable {
+
+    private static final int CHUNK_ROWS = 128;
+    private static final long POLL_MILLIS = 100;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "speedment-result-set-pipeline-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ResultSet resultSet;
+    private final SqlFunction<ResultSet, T> mapper;
+    private final BufferedRowResultSet.Columns columns;
+    private final int decoderThreads;
+    private final BlockingQueue<Chunk> free;
+    private final BlockingQueue<Chunk> work;
+    private final BlockingQueue<Chunk> ordered;
+    private final CountDownLatch readerDone;
+    private volatile boolean closed;
+    private boolean started;
+    private Chunk current;
+    private int position;
+
+    /**
+     * Creates a pipeline over the specified result set. No threads are 
+     * started until the first row is requested.
+     * 
+     * @param resultSet       the result set to read
+     * @param mapper          the mapper to apply to each row
+     * @param decoderThreads  the number of threads that apply the mapper
+     * @throws IllegalArgumentException  if the number of threads is not 
+     *                                   positive
+     * @throws SpeedmentException        if the columns of the result set 
+     *                                   could not be determined
+     */
+    public ResultSetPipeline(ResultSet resultSet, SqlFunction<ResultSet, T> mapper, int decoderThreads) {
+        if (decoderThreads <= 0) {
+            throw new IllegalArgumentException(
+                "The number of decoder threads must be positive: " + decoderThreads
+            );
+        }
+
+        this.resultSet      = requireNonNull(resultSet);
+        this.mapper         = requireNonNull(mapper);
+        this.decoderThreads = decoderThreads;
+        this.free           = new LinkedBlockingQueue<>();
+        this.work           = new LinkedBlockingQueue<>();
+        this.ordered        = new LinkedBlockingQueue<>();
+        this.readerDone     = new CountDownLatch(1);
+
+        try {
+            this.columns = new BufferedRowResultSet.Columns(resultSet.getMetaData());
+        } catch (final SQLException ex) {
+            throw new SpeedmentException("Error reading the columns of a ResultSet", ex);
+        }
+
+        // Let the reader run ahead of the decoders by a few chunks
+        for (int i = 0; i < 2 * decoderThreads + 2; i++) {
+            free.add(new Chunk(columns.count()));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (true) {
+            if (current != null) {
+                if (position < current.size) {
+                    return true;
+                } else if (current.last) {
+                    return false;
+                }
+
+                free.add(current);
+                current = null;
+            }
+
+            if (!started) {
+                start();
+            }
+
+            final Chunk next;
+            try {
+                next = ordered.take();
+                next.mapped.acquire();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SpeedmentException("Interrupted while iterating over a ResultSet", ex);
+            }
+
+            if (next.failure != null) {
+                current = Chunk.END;
+                throw new SpeedmentException("Error iterating over a ResultSet", next.failure);
+            }
+
+            current  = next;
+            position = 0;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        @SuppressWarnings("unchecked")
+        final T entity = (T) current.entities[position];
+        current.entities[position++] = null;
+        return entity;
+    }
+
+    /**
+     * Stops the reader and the decoders. This method waits for the reader to 
+     * stop using the {@code ResultSet}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (started) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    readerDone.await();
+                    break;
+                } catch (final InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void start() {
+        started = true;
+        EXECUTOR.execute(this::read);
+        for (int i = 0; i < decoderThreads; i++) {
+            EXECUTOR.execute(this::decode);
+        }
+    }
+
+    private void read() {
+        try {
+            while (true) {
+                Chunk chunk = null;
+                while (chunk == null) {
+                    if (closed) {
+                        return;
+                    }
+                    chunk = free.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                int size = 0;
+                while (size < CHUNK_ROWS && resultSet.next()) {
+                    BufferedRowResultSet.copyRow(resultSet, chunk.rows[size++]);
+                }
+
+                chunk.size = size;
+                chunk.last = size < CHUNK_ROWS;
+                chunk.failure = null;
+                ordered.add(chunk);
+                if (size > 0) {
+                    work.add(chunk);
+                } else {
+                    chunk.mapped.release();
+                }
+
+                if (chunk.last) {
+                    return;
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(ex);
+        } catch (final SQLException | RuntimeException ex) {
+            fail(ex);
+        } finally {
+            for (int i = 0; i < decoderThreads; i++) {
+                work.add(Chunk.END);
+            }
+            readerDone.countDown();
+        }
+    }
+
+    private void fail(Exception ex) {
+        final Chunk failed = new Chunk(0);
+        failed.last    = true;
+        failed.failure = ex;
+        failed.mapped.release();
+        ordered.add(failed);
+    }
+
+    private void decode() {
+        final BufferedRowResultSet row = new BufferedRowResultSet(columns);
+        try {
+            while (true) {
+                final Chunk chunk = work.take();
+                if (chunk == Chunk.END) {
+                    return;
+                }
+
+                try {
+                    for (int i = 0; i < chunk.size; i++) {
+                        row.setRow(chunk.rows[i]);
+                        chunk.entities[i] = mapper.apply(row);
+                    }
+                } catch (final SQLException | RuntimeException ex) {
+                    chunk.failure = ex;
+                } finally {
+                    chunk.mapped.release();
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A number of consecutive rows and the entities that they are mapped to.
+     * The chunk is handed from the reader to a decoder and then to the 
+     * consumer, with the semaphore and the queues ordering the accesses.
+     */
+    private static final class Chunk {
+
+        private static final Chunk END = new Chunk(0);
+
+        static {
+            END.last = true;
+        }
+
+        private final Object[][] rows;
+        private final Object[] entities;
+        private final Semaphore mapped;
+        private int size;
+        private boolean last;
+        private Exception failure;
+
+        private Chunk(int columnCount) {
+            final int capacity = columnCount == 0 ? 0 : CHUNK_ROWS;
+            this.rows     = new Object[capacity][columnCount];
+            this.entities = new Object[capacity];
+            this.mapped   = new Semaphore(0);
+        }
+    }
+}
@@ -75,10 +75,53 @@ public final class StreamUtil {
     }
     
     public static <T> Stream<T> asStream(ResultSet resultSet, SqlFunction<ResultSet, T> mapper, ParallelStrategy parallelStrategy) {
+        return asStream(resultSet, mapper, parallelStrategy, false);
+    }
+
+    /**
+     * Creates a stream over the rows of a {@link ResultSet}. The stream only
+     * reports {@link Spliterator#ORDERED} if the rows have a defined order, 
+     * since an ordered parallel stream is more expensive to limit, 
+     * deduplicate and search.
+     * 
+     * @param <T>               the type of the mapped rows
+     * @param resultSet         the result set to read
+     * @param mapper            the mapper to apply to each row
+     * @param parallelStrategy  the strategy to use if the stream is parallel
+     * @param ordered           if the rows have a defined order, for example
+     *                          because of an {@code ORDER BY} clause
+     * @return                  the stream of mapped rows
+     * @since 3.0.1
+     */
+    public static <T> Stream<T> asStream(ResultSet resultSet, SqlFunction<ResultSet, T> mapper, ParallelStrategy parallelStrategy, boolean ordered) {
         requireNonNull(resultSet);
         requireNonNull(mapper);
-        final Iterator<T> iterator = new ResultSetIterator<>(resultSet, mapper);
-        return StreamSupport.stream(parallelStrategy.spliteratorUnknownSize(iterator, Spliterator.IMMUTABLE + Spliterator.NONNULL), false);
+        return asStream(new ResultSetIterator<>(resultSet, mapper), parallelStrategy, ordered);
+    }
+
+    /**
+     * Creates a stream over the rows of a {@link ResultSet} that are read and
+     * mapped by the specified {@link ResultSetPipeline}. The pipeline must be
+     * closed by the caller before the {@code ResultSet} is closed.
+     * 
+     * @param <T>               the type of the mapped rows
+     * @param pipeline          the pipeline that reads and maps the rows
+     * @param parallelStrategy  the strategy to use if the stream is parallel
+     * @param ordered           if the rows have a defined order, for example
+     *                          because of an {@code ORDER BY} clause
+     * @return                  the stream of mapped rows
+     * @since 3.0.1
+     */
+    public static <T> Stream<T> asStream(ResultSetPipeline<T> pipeline, ParallelStrategy parallelStrategy, boolean ordered) {
+        return asStream((Iterator<T>) pipeline, parallelStrategy, ordered);
+    }
+
+    private static <T> Stream<T> asStream(Iterator<T> iterator, ParallelStrategy parallelStrategy, boolean ordered) {
+        requireNonNull(parallelStrategy);
+        final int characteristics = Spliterator.IMMUTABLE + Spliterator.NONNULL;
+        return StreamSupport.stream(parallelStrategy.spliteratorUnknownSize(iterator, 
+            ordered ? characteristics + Spliterator.ORDERED : characteristics
+        ), false);
     }
 
     public static <T> Stream<T> from(@SuppressWarnings("OptionalUsedAsFieldOrParameterType") Optional<T> optional) {
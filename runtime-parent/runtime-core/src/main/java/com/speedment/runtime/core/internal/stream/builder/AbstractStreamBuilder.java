@@ -29,6 +29,10 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.*;
 import java.util.stream.BaseStream;
 
@@ -126,7 +130,7 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
 
     protected boolean finallyCloseBoolean(BooleanSupplier bs) {
         try {
-            return bs.getAsBoolean();
+            return execute(bs::getAsBoolean);
         } catch (Exception e) {
             LOGGER.error(e);
             throw e;
@@ -137,7 +141,7 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
 
     protected long finallyCloseLong(LongSupplier lp) {
         try {
-            return lp.getAsLong();
+            return execute(lp::getAsLong);
         } catch (Exception e) {
             LOGGER.error(e);
             throw e;
@@ -148,7 +152,7 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
 
     protected int finallyCloseInt(IntSupplier is) {
         try {
-            return is.getAsInt();
+            return execute(is::getAsInt);
         } catch (Exception e) {
             LOGGER.error(e);
             throw e;
@@ -159,7 +163,7 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
 
     protected double finallyCloseDouble(DoubleSupplier ds) {
         try {
-            return ds.getAsDouble();
+            return execute(ds::getAsDouble);
         } catch (Exception e) {
             LOGGER.error(e);
             throw e;
@@ -170,7 +174,10 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
 
     protected void finallyClose(Runnable r) {
         try {
-            r.run();
+            execute(() -> {
+                r.run();
+                return null;
+            });
         } catch (Exception e) {
             LOGGER.error(e);
             throw e;
@@ -181,7 +188,7 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
 
     protected <T> T finallyCloseReference(Supplier<T> s) {
         try {
-            return s.get();
+            return execute(s);
         } catch (Exception e) {
             LOGGER.error(e);
             throw e;
@@ -190,6 +197,37 @@ public abstract class AbstractStreamBuilder<T extends AbstractStreamBuilder<T, P
         }
     }
 
+    /**
+     * Executes the terminal operation in the pool of the pipeline if the
+     * pipeline is parallel and has a pool of its own, so that the parallel
+     * work is done by the workers of that pool rather than by the workers of
+     * the common pool. Exceptions are rethrown as they were thrown.
+     */
+    private <R> R execute(Supplier<R> terminal) {
+        final ForkJoinPool pool = pipeline.getForkJoinPool().orElse(null);
+        if (pool == null
+            || !pipeline.isParallel()
+            || ForkJoinTask.getPool() == pool) {
+            return terminal.get();
+        }
+
+        final AtomicReference<RuntimeException> thrown = new AtomicReference<>();
+        final R result = pool.invoke(ForkJoinTask.adapt((Callable<R>) () -> {
+            try {
+                return terminal.get();
+            } catch (final RuntimeException ex) {
+                thrown.set(ex);
+                return null;
+            }
+        }));
+
+        final RuntimeException ex = thrown.get();
+        if (ex != null) {
+            throw ex;
+        }
+        return result;
+    }
+
     protected static Set<BaseStream<?, ?>> newStreamSet() {
         return new HashSet<>();
     }
@@ -16,6 +16,7 @@
  */
 package com.speedment.runtime.core.internal.stream.builder.action.reference;
 
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
 import com.speedment.runtime.core.stream.action.Action;
 
 import java.util.function.ToLongFunction;
@@ -30,10 +31,18 @@ import static java.util.Objects.requireNonNull;
  * @author pemi
  * @param <T> the input type of the stream elements
  */
-public final class MapToLongAction<T> extends Action<Stream<T>, LongStream> {
+public final class MapToLongAction<T> extends Action<Stream<T>, LongStream> implements HasMapper<ToLongFunction<? super T>> {
+
+    private final ToLongFunction<? super T> mapper;
 
     public MapToLongAction(ToLongFunction<? super T> mapper) {
         super(s -> s.mapToLong(requireNonNull(mapper)), LongStream.class, MAP_TO);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public ToLongFunction<? super T> getMapper() {
+        return mapper;
     }
 
 }
@@ -22,6 +22,8 @@ import com.speedment.runtime.core.stream.action.Action;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.*;
@@ -40,6 +42,7 @@ public final class PipelineImpl<E> implements Pipeline, ReferencePipeline<E>, In
     private Supplier<BaseStream<?, ?>> initialSupplier;
     private boolean parallel;
     private boolean ordered;
+    private ForkJoinPool forkJoinPool;
 
     public PipelineImpl(Supplier<BaseStream<?, ?>> initialSupplier) {
         this.initialSupplier = Objects.requireNonNull(initialSupplier);
@@ -227,4 +230,14 @@ public final class PipelineImpl<E> implements Pipeline, ReferencePipeline<E>, In
         this.ordered = ordered;
     }
 
+    @Override
+    public Optional<ForkJoinPool> getForkJoinPool() {
+        return Optional.ofNullable(forkJoinPool);
+    }
+
+    @Override
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
 }
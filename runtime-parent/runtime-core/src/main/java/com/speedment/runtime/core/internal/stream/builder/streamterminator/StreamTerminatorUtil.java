@@ -17,6 +17,7 @@
 package com.speedment.runtime.core.internal.stream.builder.streamterminator;
 
 import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
 import com.speedment.runtime.core.internal.util.Cast;
 import com.speedment.runtime.core.stream.Pipeline;
 import com.speedment.runtime.core.stream.action.Action;
@@ -36,46 +37,111 @@ import static java.util.Objects.requireNonNull;
  */
 public final class StreamTerminatorUtil {
 
-    public static <T extends Pipeline, ENTITY> List<FieldPredicate<ENTITY>> topLevelAndPredicates(T initialPipeline) {
-        final List<FieldPredicate<ENTITY>> andPredicateBuilders = new ArrayList<>();
+    public static <T extends Pipeline, ENTITY> List<Predicate<ENTITY>> topLevelAndPredicates(T initialPipeline) {
+        final List<Predicate<ENTITY>> andPredicateBuilders = new ArrayList<>();
 
         for (final Action<?, ?> action : initialPipeline) {
             @SuppressWarnings("rawtypes")
             final Optional<FilterAction> oFilterAction = Cast.cast(action, FilterAction.class);
             if (oFilterAction.isPresent()) {
                 @SuppressWarnings("unchecked")
-                final List<FieldPredicate<ENTITY>> newAndPredicates = andPredicates(oFilterAction.get());
+                final List<Predicate<ENTITY>> newAndPredicates = andPredicates(oFilterAction.get());
                 andPredicateBuilders.addAll(newAndPredicates);
-            } else {
-                break; // We can only do initial consecutive FilterAction(s)
+            } else if (!(action instanceof SortedComparatorAction)) {
+                break; // We can only do initial consecutive FilterAction(s) (sorting does not affect the elements)
             }
         }
         return andPredicateBuilders;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    public static <ENTITY> List<FieldPredicate<?>> andPredicates(FilterAction<ENTITY> action) {
-        requireNonNull(action);
-        final List<FieldPredicate<?>> andPredicateBuilders = new ArrayList<>();
-        final Predicate<? super ENTITY> predicate = action.getPredicate();
+    /**
+     * Returns the index of the {@link SortedComparatorAction} among the
+     * initial consecutive filter and sort actions of the given pipeline. If
+     * there is no such action or if there are several of them, {@code -1} is
+     * returned.
+     *
+     * @param <T>              the pipeline type
+     * @param initialPipeline  the pipeline to examine
+     * @return                 the index of the sort action or {@code -1}
+     */
+    public static <T extends Pipeline> int topLevelSortedComparatorIndex(T initialPipeline) {
+        int result = -1;
+        int index = 0;
+        for (final Action<?, ?> action : initialPipeline) {
+            if (action instanceof SortedComparatorAction) {
+                if (result >= 0) {
+                    return -1; // The last sort would take precedence. Do not bother.
+                }
+                result = index;
+            } else if (!(action instanceof FilterAction)) {
+                break;
+            }
+            index++;
+        }
+        return result;
+    }
 
-        final Optional<FieldPredicate> oPredicateBuilder = Cast.cast(predicate, FieldPredicate.class);
-        if (oPredicateBuilder.isPresent()) {
-            andPredicateBuilders.add(oPredicateBuilder.get()); // Just a top level predicate builder
-        } else {
+    /**
+     * Returns the terms of the predicate of the given action that can be 
+     * expressed in SQL. Every returned term is either a {@link FieldPredicate}
+     * or an {@link AbstractCombinedPredicate} that only consists of field
+     * predicates. The terms should be combined using {@code AND}. Terms that 
+     * can not be expressed in SQL are left out, so the returned predicates
+     * might select more elements than the original predicate.
+     *
+     * @param <ENTITY>  the entity type
+     * @param action    the filter action
+     * @return          the SQL-expressible terms of the predicate
+     */
+    public static <ENTITY> List<Predicate<ENTITY>> andPredicates(FilterAction<ENTITY> action) {
+        requireNonNull(action);
+        final List<Predicate<ENTITY>> andPredicateBuilders = new ArrayList<>();
+        addAndPredicates(action.getPredicate(), andPredicateBuilders);
+        return andPredicateBuilders;
+    }
 
-            final Optional<AbstractCombinedPredicate.AndCombinedBasePredicate> oAndCombinedBasePredicate = Cast.cast(predicate, AbstractCombinedPredicate.AndCombinedBasePredicate.class);
-            if (oAndCombinedBasePredicate.isPresent()) {
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> void addAndPredicates(Predicate<? super ENTITY> predicate, List<Predicate<ENTITY>> andPredicateBuilders) {
+        if (predicate instanceof AbstractCombinedPredicate.AndCombinedBasePredicate
+        && !((AbstractCombinedPredicate<?>) predicate).isNegated()) {
+            // Every term that can be rendered narrows down the result
+            ((AbstractCombinedPredicate<ENTITY>) predicate).stream()
+                .forEachOrdered(p -> addAndPredicates(p, andPredicateBuilders));
+        } else if (isSqlExpressible(predicate)) {
+            andPredicateBuilders.add((Predicate<ENTITY>) predicate);
+        }
+    }
 
-                final AbstractCombinedPredicate.AndCombinedBasePredicate<ENTITY> andCombinedBasePredicate = (AbstractCombinedPredicate.AndCombinedBasePredicate<ENTITY>) oAndCombinedBasePredicate.get();
-                andCombinedBasePredicate.stream()
-                    .map(p -> Cast.cast(p, FieldPredicate.class))
-                    .filter(p -> p.isPresent())
-                    .map(Optional::get)
-                    .forEachOrdered(andPredicateBuilders::add);
-            }
+    /**
+     * Returns if the given predicate only consists of 
+     * {@link FieldPredicate FieldPredicates}, possibly combined using 
+     * {@code and}, {@code or} and {@code negate}.
+     *
+     * @param predicate  the predicate to examine
+     * @return           if the predicate can be fully expressed in SQL
+     */
+    public static boolean isSqlExpressible(Predicate<?> predicate) {
+        if (predicate instanceof FieldPredicate) {
+            return true;
+        } else if (predicate instanceof AbstractCombinedPredicate) {
+            return ((AbstractCombinedPredicate<?>) predicate).stream()
+                .allMatch(StreamTerminatorUtil::isSqlExpressible);
+        } else {
+            return false;
         }
-        return andPredicateBuilders;
+    }
+
+    /**
+     * Returns if the predicate of the given action is fully described by the
+     * predicates returned by {@link #andPredicates(FilterAction)}.
+     *
+     * @param <ENTITY>  the entity type
+     * @param action    the filter action
+     * @return          if the predicate only consists of field predicates
+     */
+    public static <ENTITY> boolean isContainingOnlyFieldPredicate(FilterAction<ENTITY> action) {
+        requireNonNull(action);
+        return isSqlExpressible(action.getPredicate());
     }
 
     private StreamTerminatorUtil() {}
@@ -0,0 +1,235 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Spliterator} of unknown size that splits off batches of an 
+ * iterator, where the size of each batch is derived from the measured time it
+ * took to produce and consume the elements of the previous batches. The first
+ * batch holds a single element and the size is at most doubled or halved from
+ * one batch to the next.
+ *
+ * @param <T> type of {@link Spliterator} to implement
+ * @since 3.0.1
+ */
+final class AdaptiveIteratorSpliterator<T> implements Spliterator<T> {
+
+    private final Iterator<? extends T> iterator;
+    private final int characteristics;
+    private final long targetBatchTime;
+    private final Statistics statistics;
+    private int batchSize;
+
+    AdaptiveIteratorSpliterator(Iterator<? extends T> iterator, int characteristics, long targetBatchTime, Statistics statistics) {
+        this.iterator        = requireNonNull(iterator);
+        this.characteristics = characteristics & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        this.targetBatchTime = targetBatchTime;
+        this.statistics      = requireNonNull(statistics);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+
+        final int size = nextBatchSize();
+        final long started = System.nanoTime();
+        final Object[] array = new Object[size];
+        int noRead = 0;
+        do {
+            array[noRead] = iterator.next();
+        } while (++noRead < size && iterator.hasNext());
+        statistics.produced(noRead, System.nanoTime() - started);
+
+        return new TimedSpliterator<>(
+            new ArraySpliterator<>(array, 0, noRead, characteristics), 
+            statistics
+        );
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        iterator.forEachRemaining(requireNonNull(action));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        requireNonNull(action);
+        if (iterator.hasNext()) {
+            action.accept(iterator.next());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        if (hasCharacteristics(Spliterator.SORTED)) {
+            return null;
+        }
+        throw new IllegalStateException();
+    }
+
+    private int nextBatchSize() {
+        final double cost = statistics.getElementCost();
+        final long next;
+        if (batchSize == 0) {
+            next = 1;
+        } else if (Double.isNaN(cost)) {
+            next = batchSize * 2L; // Nothing consumed yet, keep growing
+        } else {
+            final long wanted = (long) (targetBatchTime / Math.max(cost, 1d));
+            next = Math.max(batchSize / 2, Math.min(batchSize * 2L, wanted));
+        }
+
+        batchSize = (int) Math.max(1, Math.min(ConfigurableIteratorSpliteratorImpl.MAX_BATCH, next));
+        statistics.chosen(batchSize);
+        return batchSize;
+    }
+
+    /**
+     * The measurements of a single adaptive spliterator. The batches that are
+     * split off report the time it took to consume them from the threads 
+     * that consumed them. The cost per element is a moving average so that
+     * early measurements, typically taken before the code is compiled, do not
+     * hold back the batch sizes for the rest of the stream.
+     */
+    static final class Statistics {
+
+        private static final int MAX_RETAINED_SIZES = 256;
+        private static final double WEIGHT = 0.25;
+
+        private final int[] batchSizes;
+        private long batchSizeCount;
+        private double produceCost;
+        private double consumeCost;
+
+        Statistics() {
+            batchSizes  = new int[MAX_RETAINED_SIZES];
+            produceCost = Double.NaN;
+            consumeCost = Double.NaN;
+        }
+
+        synchronized void produced(long elements, long nanos) {
+            produceCost = average(produceCost, elements, nanos);
+        }
+
+        synchronized void consumed(long elements, long nanos) {
+            consumeCost = average(consumeCost, elements, nanos);
+        }
+
+        synchronized void chosen(int batchSize) {
+            batchSizes[(int) (batchSizeCount++ % MAX_RETAINED_SIZES)] = batchSize;
+        }
+
+        /**
+         * Returns the most recently chosen batch sizes, oldest first.
+         * 
+         * @return the most recently chosen batch sizes
+         */
+        synchronized int[] getBatchSizes() {
+            if (batchSizeCount <= MAX_RETAINED_SIZES) {
+                return Arrays.copyOf(batchSizes, (int) batchSizeCount);
+            }
+            final int first = (int) (batchSizeCount % MAX_RETAINED_SIZES);
+            final int[] result = new int[MAX_RETAINED_SIZES];
+            System.arraycopy(batchSizes, first, result, 0, MAX_RETAINED_SIZES - first);
+            System.arraycopy(batchSizes, 0, result, MAX_RETAINED_SIZES - first, first);
+            return result;
+        }
+
+        synchronized double getElementCost() {
+            return produceCost + consumeCost; // NaN until both are known
+        }
+
+        private static double average(double average, long elements, long nanos) {
+            if (elements == 0) {
+                return average;
+            }
+            final double cost = (double) nanos / elements;
+            return Double.isNaN(average) ? cost : average + WEIGHT * (cost - average);
+        }
+    }
+
+    /**
+     * Measures the time it takes to consume the elements of a batch, 
+     * including the batches that it is split into by the stream.
+     */
+    private static final class TimedSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> delegate;
+        private final Statistics statistics;
+
+        private TimedSpliterator(Spliterator<T> delegate, Statistics statistics) {
+            this.delegate   = delegate;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return delegate.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            final long elements = delegate.estimateSize();
+            final long started = System.nanoTime();
+            delegate.forEachRemaining(action);
+            statistics.consumed(elements, System.nanoTime() - started);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<T> prefix = delegate.trySplit();
+            return prefix == null ? null : new TimedSpliterator<>(prefix, statistics);
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return delegate.getComparator();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.AdaptiveParallelStrategy;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * The default implementation of the {@link AdaptiveParallelStrategy} 
+ * interface.
+ *
+ * @since  3.0.1
+ */
+public final class AdaptiveParallelStrategyImpl implements AdaptiveParallelStrategy {
+
+    private final long targetBatchTime;
+    private volatile AdaptiveIteratorSpliterator.Statistics lastStatistics;
+
+    public AdaptiveParallelStrategyImpl(long targetBatchTime) {
+        if (targetBatchTime <= 0) {
+            throw new IllegalArgumentException(
+                "The target batch time must be positive: " + targetBatchTime
+            );
+        }
+        this.targetBatchTime = targetBatchTime;
+    }
+
+    @Override
+    public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
+        final AdaptiveIteratorSpliterator.Statistics statistics = 
+            new AdaptiveIteratorSpliterator.Statistics();
+        
+        lastStatistics = statistics;
+        return new AdaptiveIteratorSpliterator<>(iterator, characteristics, targetBatchTime, statistics);
+    }
+
+    @Override
+    public long getTargetBatchTime() {
+        return targetBatchTime;
+    }
+
+    @Override
+    public int[] getBatchSizes() {
+        final AdaptiveIteratorSpliterator.Statistics statistics = lastStatistics;
+        return statistics == null ? new int[0] : statistics.getBatchSizes();
+    }
+
+    @Override
+    public double getElementCost() {
+        final AdaptiveIteratorSpliterator.Statistics statistics = lastStatistics;
+        return statistics == null ? Double.NaN : statistics.getElementCost();
+    }
+}
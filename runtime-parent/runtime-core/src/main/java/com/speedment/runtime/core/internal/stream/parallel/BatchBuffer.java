@@ -0,0 +1,267 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of rows that are buffered in batches that have been split
+ * off a spliterator but not yet consumed, and recycles the arrays that hold 
+ * them. A producer that would exceed the budget is blocked until consumers 
+ * have released enough rows. Blocking is done through 
+ * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)} so that the 
+ * pool may activate another worker to consume the outstanding batches.
+ * <p>
+ * A parallel stream that is short-circuited or fails does not tell its 
+ * spliterators, so batches that were split off may never be consumed. To 
+ * detect this, consumers report when they are traversing a batch. As long as
+ * a batch is being traversed the producer keeps waiting, however long each
+ * element takes to process. Only if no rows are released and no batch is
+ * traversed during the stall time, the outstanding batches are considered
+ * abandoned and the producer gives up instead of waiting forever.
+ *
+ * @since  3.0.1
+ */
+final class BatchBuffer {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(BatchBuffer.class);
+    static final long DEFAULT_STALL_MILLIS = 1_000;
+
+    private final long maxRows;
+    private final long stallNanos;
+    private final AtomicInteger traversing;
+    private final AtomicLong traversals;
+    private final ReentrantLock lock;
+    private final Condition released;
+    private final Deque<Object[]> arrays;
+    private long availableRows;
+    private long pooledLength;
+    private long releases;
+
+    BatchBuffer(long maxRows) {
+        this(maxRows, DEFAULT_STALL_MILLIS);
+    }
+
+    BatchBuffer(long maxRows, long stallMillis) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException(
+                "The maximum number of buffered rows must be positive: " + maxRows
+            );
+        }
+        if (stallMillis <= 0) {
+            throw new IllegalArgumentException(
+                "The stall time must be positive: " + stallMillis
+            );
+        }
+        this.maxRows       = maxRows;
+        this.stallNanos    = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        this.traversing    = new AtomicInteger();
+        this.traversals    = new AtomicLong();
+        this.lock          = new ReentrantLock();
+        this.released      = lock.newCondition();
+        this.arrays        = new ArrayDeque<>();
+        this.availableRows = maxRows;
+    }
+
+    /**
+     * Returns the largest batch that could ever be acquired.
+     * 
+     * @return  the largest batch size
+     */
+    int maxBatchSize() {
+        return (int) Math.min(Integer.MAX_VALUE, maxRows);
+    }
+
+    /**
+     * Reserves the specified number of rows, blocking until they are 
+     * available. Returns {@code false} if the rows could not be reserved 
+     * because the outstanding batches seem to have been abandoned or the 
+     * thread was interrupted.
+     * 
+     * @param rows  the number of rows to reserve
+     * @return      {@code true} if the rows were reserved
+     */
+    boolean acquire(int rows) {
+        final Acquirer acquirer = new Acquirer(rows);
+        if (acquirer.isReleasable()) {
+            return acquirer.acquired;
+        }
+
+        try {
+            ForkJoinPool.managedBlock(acquirer);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return acquirer.acquired;
+    }
+
+    /**
+     * Gives back rows that were reserved using {@link #acquire(int)}.
+     * 
+     * @param rows  the number of rows to give back
+     */
+    void release(int rows) {
+        if (rows == 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            availableRows += rows;
+            releases++;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reports that a consumer has started to traverse a batch.
+     */
+    void traversalStarted() {
+        traversing.incrementAndGet();
+        traversals.incrementAndGet();
+    }
+
+    /**
+     * Reports that a consumer has stopped traversing a batch.
+     */
+    void traversalEnded() {
+        traversing.decrementAndGet();
+    }
+
+    /**
+     * Returns an array with room for at least the specified number of 
+     * elements, reusing a recycled one if possible.
+     * 
+     * @param size  the minimum length
+     * @return      an array with only {@code null} elements
+     */
+    Object[] borrow(int size) {
+        lock.lock();
+        try {
+            final Iterator<Object[]> it = arrays.iterator();
+            while (it.hasNext()) {
+                final Object[] array = it.next();
+                if (array.length >= size) {
+                    it.remove();
+                    pooledLength -= array.length;
+                    return array;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return new Object[size];
+    }
+
+    /**
+     * Gives back an array that was obtained using {@link #borrow(int)}. All
+     * the elements of the array must have been set to {@code null}.
+     * 
+     * @param array  the array to recycle
+     */
+    void recycle(Object[] array) {
+        lock.lock();
+        try {
+            if (pooledLength + array.length <= maxRows) {
+                arrays.addFirst(array);
+                pooledLength += array.length;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Acquirer implements ForkJoinPool.ManagedBlocker {
+
+        private final int rows;
+        private boolean acquired;
+        private boolean stalled;
+
+        private Acquirer(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            lock.lock();
+            try {
+                long remaining     = stallNanos;
+                long seen          = releases;
+                long seenTraversal = traversals.get();
+                while (availableRows < rows) {
+                    if (remaining <= 0) {
+                        if (traversing.get() == 0 && traversals.get() == seenTraversal) {
+                            stalled = true;
+                            LOGGER.debug(
+                                "No buffered batch was consumed for %d ms. " +
+                                "The rest of the stream is read without " + 
+                                "splitting.", 
+                                TimeUnit.NANOSECONDS.toMillis(stallNanos)
+                            );
+                            return true;
+                        }
+                        remaining     = stallNanos;
+                        seenTraversal = traversals.get();
+                    }
+                    remaining = released.awaitNanos(remaining);
+                    if (releases != seen) {
+                        remaining = stallNanos;
+                        seen      = releases;
+                    }
+                }
+                availableRows -= rows;
+                acquired = true;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (acquired || stalled) {
+                return true;
+            }
+
+            lock.lock();
+            try {
+                if (availableRows >= rows) {
+                    availableRows -= rows;
+                    acquired = true;
+                }
+                return acquired;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
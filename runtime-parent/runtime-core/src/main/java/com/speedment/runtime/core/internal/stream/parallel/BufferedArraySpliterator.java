@@ -0,0 +1,141 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An array {@link Spliterator} over a batch that was reserved from a 
+ * {@link BatchBuffer}. Elements are cleared from the array as they are
+ * consumed and once all the parts of the batch have been consumed, the rows 
+ * are released and the array is recycled.
+ *
+ * @param <T> type of {@link Spliterator} to implement
+ * @since 3.0.1
+ */
+final class BufferedArraySpliterator<T> implements Spliterator<T> {
+
+    private final Batch batch;
+    private final int size;
+    private final int characteristics;
+    private int index;
+
+    BufferedArraySpliterator(BatchBuffer buffer, Object[] array, int size, int characteristics) {
+        this(new Batch(buffer, array, size), 0, size, characteristics);
+    }
+
+    private BufferedArraySpliterator(Batch batch, int origin, int size, int characteristics) {
+        this.batch           = batch;
+        this.index           = origin;
+        this.size            = size;
+        this.characteristics = characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final int lo = index;
+        final int mid = (lo + size) >>> 1;
+        return (lo >= mid)
+                ? null
+                : new BufferedArraySpliterator<>(batch, lo, index = mid, characteristics);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        requireNonNull(action);
+        final Object[] array = batch.array;
+        final int from = index;
+        int i = from;
+        batch.buffer.traversalStarted();
+        try {
+            while (i < size) {
+                final T e = (T) array[i];
+                array[i++] = null;
+                action.accept(e);
+            }
+        } finally {
+            index = i;
+            batch.buffer.traversalEnded();
+            batch.consumed(i - from);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        requireNonNull(action);
+        if (index < size) {
+            @SuppressWarnings("unchecked")
+            final T e = (T) batch.array[index];
+            batch.array[index++] = null;
+            batch.buffer.traversalStarted();
+            try {
+                action.accept(e);
+            } finally {
+                batch.buffer.traversalEnded();
+                batch.consumed(1);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (long) (size - index);
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        if (hasCharacteristics(Spliterator.SORTED)) {
+            return null;
+        }
+        throw new IllegalStateException();
+    }
+
+    private static final class Batch {
+
+        private final BatchBuffer buffer;
+        private final Object[] array;
+        private final int rows;
+        private final AtomicInteger remaining;
+
+        private Batch(BatchBuffer buffer, Object[] array, int rows) {
+            this.buffer    = buffer;
+            this.array     = array;
+            this.rows      = rows;
+            this.remaining = new AtomicInteger(rows);
+        }
+
+        private void consumed(int count) {
+            if (count > 0 && remaining.addAndGet(-count) == 0) {
+                buffer.recycle(array);
+                buffer.release(rows);
+            }
+        }
+    }
+}
@@ -30,9 +30,26 @@ public final class ComputeIntensityExtremeParallelStrategy implements ParallelSt
 
     private final static int[] BATCH_SIZES = {1};
 
+    private final long maxBufferedRows;
+
+    public ComputeIntensityExtremeParallelStrategy() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a strategy that buffers at most the given number of rows in 
+     * batches that have been split off but not yet consumed.
+     * 
+     * @param maxBufferedRows  the maximum number of buffered rows
+     * @since 3.0.1
+     */
+    public ComputeIntensityExtremeParallelStrategy(long maxBufferedRows) {
+        this.maxBufferedRows = maxBufferedRows;
+    }
+
     @Override
     public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
-        return ConfigurableIteratorSpliterator.of(iterator, characteristics, BATCH_SIZES);
+        return ConfigurableIteratorSpliterator.of(iterator, characteristics, BATCH_SIZES, maxBufferedRows);
     }
 
 }
@@ -33,9 +33,26 @@ public final class ComputeIntensityMediumParallelStrategy implements ParallelStr
             .map(ComputeIntensityUtil::toThePowerOfTwo)
             .toArray();
 
+    private final long maxBufferedRows;
+
+    public ComputeIntensityMediumParallelStrategy() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a strategy that buffers at most the given number of rows in 
+     * batches that have been split off but not yet consumed.
+     * 
+     * @param maxBufferedRows  the maximum number of buffered rows
+     * @since 3.0.1
+     */
+    public ComputeIntensityMediumParallelStrategy(long maxBufferedRows) {
+        this.maxBufferedRows = maxBufferedRows;
+    }
+
     @Override
     public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
-        return ConfigurableIteratorSpliterator.of(iterator, characteristics, BATCH_SIZES);
+        return ConfigurableIteratorSpliterator.of(iterator, characteristics, BATCH_SIZES, maxBufferedRows);
     }
 
 }
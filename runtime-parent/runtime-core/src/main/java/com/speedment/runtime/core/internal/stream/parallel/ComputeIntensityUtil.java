@@ -25,7 +25,8 @@ import java.util.stream.IntStream;
 public final class ComputeIntensityUtil {
 
     static IntStream repeatOnHalfAvailableProcessors(int item) {
-        return repeat(item, availableProcessors() / 2);
+        // At least once, or there would be no batch sizes on a single processor
+        return repeat(item, Math.max(1, availableProcessors() / 2));
     }
 
     static int toThePowerOfTwo(int x) {
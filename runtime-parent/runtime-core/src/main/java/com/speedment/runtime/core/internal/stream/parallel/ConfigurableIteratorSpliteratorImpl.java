@@ -35,6 +35,7 @@ public final class ConfigurableIteratorSpliteratorImpl<T> implements Spliterator
     private final Iterator<? extends T> iterator;
     private final int[] batchSizes;
     private final int characteristics;
+    private final BatchBuffer buffer;
     private int batchSizeIndex;
     private long sizeEstimate;
 
@@ -49,12 +50,32 @@ public final class ConfigurableIteratorSpliteratorImpl<T> implements Spliterator
      * @param batchSizes the batch sizes to use for pseudo parallelism
      */
     public ConfigurableIteratorSpliteratorImpl(Iterator<? extends T> iterator, long size, int characteristics, int[] batchSizes) {
+        this(iterator, size, characteristics, batchSizes, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@link Spliterator} using the given iterator for traversal, and
+     * reporting the given initial size and characteristics. At most the given
+     * number of rows are buffered in batches that have been split off but not
+     * yet consumed. Splitting blocks until enough rows have been consumed.
+     *
+     * @param iterator the iterator for the source
+     * @param size the number of elements in the source
+     * @param characteristics properties of this {@link Spliterator}'s source or
+     * elements.
+     * @param batchSizes the batch sizes to use for pseudo parallelism
+     * @param maxBufferedRows the maximum number of buffered rows, or
+     * {@code Long.MAX_VALUE} for no limit
+     * @since 3.0.1
+     */
+    public ConfigurableIteratorSpliteratorImpl(Iterator<? extends T> iterator, long size, int characteristics, int[] batchSizes, long maxBufferedRows) {
         this.iterator = iterator;
         this.sizeEstimate = size;
         this.characteristics = (characteristics & Spliterator.CONCURRENT) == 0
             ? characteristics | Spliterator.SIZED | Spliterator.SUBSIZED
             : characteristics;
         this.batchSizes = Arrays.copyOf(batchSizes, batchSizes.length);
+        this.buffer = maxBufferedRows == Long.MAX_VALUE ? null : new BatchBuffer(maxBufferedRows);
     }
 
     /**
@@ -67,10 +88,30 @@ public final class ConfigurableIteratorSpliteratorImpl<T> implements Spliterator
      * @param batchSizes the batch sizes to use for pseudo parallelism
      */
     public ConfigurableIteratorSpliteratorImpl(Iterator<? extends T> iterator, int characteristics, int[] batchSizes) {
+        this(iterator, characteristics, batchSizes, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@link Spliterator} using the given iterator for traversal, and
+     * reporting the given characteristics. The size is unknown. At most the 
+     * given number of rows are buffered in batches that have been split off
+     * but not yet consumed. Splitting blocks until enough rows have been 
+     * consumed.
+     *
+     * @param iterator the iterator for the source
+     * @param characteristics properties of this {@link Spliterator}'s source or
+     * elements.
+     * @param batchSizes the batch sizes to use for pseudo parallelism
+     * @param maxBufferedRows the maximum number of buffered rows, or
+     * {@code Long.MAX_VALUE} for no limit
+     * @since 3.0.1
+     */
+    public ConfigurableIteratorSpliteratorImpl(Iterator<? extends T> iterator, int characteristics, int[] batchSizes, long maxBufferedRows) {
         this.iterator = iterator;
         this.sizeEstimate = Long.MAX_VALUE;
         this.characteristics = characteristics & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
         this.batchSizes = Arrays.copyOf(batchSizes, batchSizes.length);
+        this.buffer = maxBufferedRows == Long.MAX_VALUE ? null : new BatchBuffer(maxBufferedRows);
     }
 
     protected int nextBatchSize() {
@@ -91,6 +132,9 @@ public final class ConfigurableIteratorSpliteratorImpl<T> implements Spliterator
             if (batchSize > MAX_BATCH) {
                 batchSize = MAX_BATCH;
             }
+            if (buffer != null) {
+                return trySplitBuffered(Math.min(batchSize, buffer.maxBatchSize()));
+            }
             if (batchSize == 1) {
                 final T item = iterator.next();
                 if (sizeEstimate != Long.MAX_VALUE) {
@@ -113,6 +157,29 @@ public final class ConfigurableIteratorSpliteratorImpl<T> implements Spliterator
         return null;
     }
 
+    private Spliterator<T> trySplitBuffered(int batchSize) {
+        if (!buffer.acquire(batchSize)) {
+            // The outstanding batches are not being consumed. Let the caller
+            // traverse the rest of the iterator instead of buffering more.
+            return null;
+        }
+
+        final Object[] array = buffer.borrow(batchSize);
+        int noRead = 0;
+        try {
+            do {
+                array[noRead] = iterator.next();
+            } while (++noRead < batchSize && iterator.hasNext());
+        } finally {
+            buffer.release(batchSize - noRead);
+        }
+        if (sizeEstimate != Long.MAX_VALUE) {
+            sizeEstimate -= noRead;
+        }
+
+        return new BufferedArraySpliterator<>(buffer, array, noRead, characteristics);
+    }
+
     @Override
     public void forEachRemaining(Consumer<? super T> action) {
         iterator.forEachRemaining(requireNonNull(action));
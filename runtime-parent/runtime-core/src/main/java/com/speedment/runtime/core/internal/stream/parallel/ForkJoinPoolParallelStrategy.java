@@ -0,0 +1,58 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ParallelStrategy} that splits elements like another strategy but
+ * that executes parallel streams in a particular {@link ForkJoinPool}.
+ *
+ * @since  3.0.1
+ */
+public final class ForkJoinPoolParallelStrategy implements ParallelStrategy {
+
+    private final ParallelStrategy strategy;
+    private final ForkJoinPool pool;
+
+    public ForkJoinPoolParallelStrategy(ParallelStrategy strategy, ForkJoinPool pool) {
+        this.strategy = requireNonNull(strategy);
+        this.pool     = requireNonNull(pool);
+    }
+
+    @Override
+    public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
+        return strategy.spliteratorUnknownSize(iterator, characteristics);
+    }
+
+    @Override
+    public Optional<ForkJoinPool> getForkJoinPool() {
+        return Optional.of(pool);
+    }
+
+    @Override
+    public ParallelStrategy withForkJoinPool(ForkJoinPool pool) {
+        return new ForkJoinPoolParallelStrategy(strategy, pool);
+    }
+}
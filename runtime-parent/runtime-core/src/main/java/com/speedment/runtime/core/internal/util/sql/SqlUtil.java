@@ -27,6 +27,7 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 
 import java.util.Collections;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
@@ -150,11 +151,13 @@ public final class SqlUtil {
      * @return the number of elements in the table
      */
     public static long sqlCount(DbmsOperationHandler dbmsOperationHandler, DatabaseNamingConvention naming, Dbms dbms, Table table) {
-        return dbmsOperationHandler.executeQuery(dbms,
+        try (final Stream<Long> stream = dbmsOperationHandler.executeQuery(dbms,
             "SELECT COUNT(*) FROM " + sqlTableReference(naming, table),
             Collections.emptyList(),
             rs -> rs.getLong(1)
-        ).findAny().get();
+        )) {
+            return stream.findAny().get();
+        }
     }
 
     /**
@@ -0,0 +1,42 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.join;
+
+import java.util.stream.Stream;
+
+/**
+ * A join of several tables that has been rendered into a single SQL query. 
+ * A {@code Join} can be streamed any number of times, each time executing 
+ * the query again.
+ * 
+ * @param <T>  the type of the elements, typically a tuple of entities
+ * 
+ * @since   3.0.1
+ */
+public interface Join<T> {
+
+    /**
+     * Executes the join and returns a stream of the result. The returned 
+     * stream holds database resources until all of its elements have been 
+     * read or until it is closed. Since short-circuiting operations like
+     * {@code findFirst()} do not read all elements, the stream should always
+     * be closed after use (preferably using a try-with-resources block).
+     * 
+     * @return  a stream of the joined elements
+     */
+    Stream<T> stream();
+}
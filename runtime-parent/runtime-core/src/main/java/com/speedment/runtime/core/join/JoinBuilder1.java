@@ -0,0 +1,60 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.join;
+
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.Field;
+
+import java.util.function.Predicate;
+
+/**
+ * A builder for a join that so far only contains one table.
+ * 
+ * @param <T0>  the entity type of the first table
+ * 
+ * @since   3.0.1
+ */
+public interface JoinBuilder1<T0> {
+
+    /**
+     * Adds a predicate that the entities of the first table must match. 
+     * Predicates that are composed of field predicates are rendered in the
+     * {@code WHERE}-clause of the join; other predicates are applied as the 
+     * rows are read.
+     * 
+     * @param predicate  the predicate to add
+     * @return           this builder
+     */
+    JoinBuilder1<T0> where(Predicate<? super T0> predicate);
+
+    /**
+     * Adds a table to the join using an {@code INNER JOIN} on the condition
+     * that the specified field of the new table equals the specified field 
+     * of the first table. Typically, one of the fields is a foreign key
+     * field that references the other.
+     * 
+     * @param <T1>        the entity type of the new table
+     * @param manager     the manager of the new table
+     * @param field       the field of the new table
+     * @param otherField  the field of the first table
+     * @return            a builder for the join with two tables
+     * 
+     * @throws IllegalArgumentException  if a field does not belong to its 
+     *                                   table
+     */
+    <T1> JoinBuilder2<T0, T1> innerJoinOn(Manager<T1> manager, Field<T1> field, Field<T0> otherField);
+}
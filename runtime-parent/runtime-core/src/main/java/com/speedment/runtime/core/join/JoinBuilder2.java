@@ -0,0 +1,79 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.join;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.Field;
+
+import java.util.function.Predicate;
+
+/**
+ * A builder for a join of two tables.
+ * 
+ * @param <T0>  the entity type of the first table
+ * @param <T1>  the entity type of the second table
+ * 
+ * @since   3.0.1
+ */
+public interface JoinBuilder2<T0, T1> {
+
+    /**
+     * Adds a predicate that the entities of the first table must match.
+     * 
+     * @param predicate  the predicate to add
+     * @return           this builder
+     * 
+     * @see JoinBuilder1#where(Predicate)
+     */
+    JoinBuilder2<T0, T1> where0(Predicate<? super T0> predicate);
+
+    /**
+     * Adds a predicate that the entities of the second table must match.
+     * 
+     * @param predicate  the predicate to add
+     * @return           this builder
+     * 
+     * @see JoinBuilder1#where(Predicate)
+     */
+    JoinBuilder2<T0, T1> where1(Predicate<? super T1> predicate);
+
+    /**
+     * Adds a table to the join using an {@code INNER JOIN} on the condition
+     * that the specified field of the new table equals the specified field 
+     * of one of the previous tables. If the previous table occurs more than
+     * once in the join, the last occurrence is used.
+     * 
+     * @param <T2>        the entity type of the new table
+     * @param manager     the manager of the new table
+     * @param field       the field of the new table
+     * @param otherField  the field of one of the previous tables
+     * @return            a builder for the join with three tables
+     * 
+     * @throws IllegalArgumentException  if a field does not belong to any
+     *                                   of the tables
+     */
+    <T2> JoinBuilder3<T0, T1, T2> innerJoinOn(Manager<T2> manager, Field<T2> field, Field<?> otherField);
+
+    /**
+     * Renders the join into a single SQL query and returns a {@link Join} 
+     * that streams a tuple with one entity from each table per row.
+     * 
+     * @return  the join
+     */
+    Join<Tuple2<T0, T1>> build();
+}
@@ -0,0 +1,71 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.join;
+
+import com.speedment.common.tuple.Tuple3;
+
+import java.util.function.Predicate;
+
+/**
+ * A builder for a join of three tables.
+ * 
+ * @param <T0>  the entity type of the first table
+ * @param <T1>  the entity type of the second table
+ * @param <T2>  the entity type of the third table
+ * 
+ * @since   3.0.1
+ */
+public interface JoinBuilder3<T0, T1, T2> {
+
+    /**
+     * Adds a predicate that the entities of the first table must match.
+     * 
+     * @param predicate  the predicate to add
+     * @return           this builder
+     * 
+     * @see JoinBuilder1#where(Predicate)
+     */
+    JoinBuilder3<T0, T1, T2> where0(Predicate<? super T0> predicate);
+
+    /**
+     * Adds a predicate that the entities of the second table must match.
+     * 
+     * @param predicate  the predicate to add
+     * @return           this builder
+     * 
+     * @see JoinBuilder1#where(Predicate)
+     */
+    JoinBuilder3<T0, T1, T2> where1(Predicate<? super T1> predicate);
+
+    /**
+     * Adds a predicate that the entities of the third table must match.
+     * 
+     * @param predicate  the predicate to add
+     * @return           this builder
+     * 
+     * @see JoinBuilder1#where(Predicate)
+     */
+    JoinBuilder3<T0, T1, T2> where2(Predicate<? super T2> predicate);
+
+    /**
+     * Renders the join into a single SQL query and returns a {@link Join} 
+     * that streams a tuple with one entity from each table per row.
+     * 
+     * @return  the join
+     */
+    Join<Tuple3<T0, T1, T2>> build();
+}
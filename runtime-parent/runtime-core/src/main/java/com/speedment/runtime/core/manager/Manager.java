@@ -20,6 +20,7 @@ import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.util.stream.SingletonStream;
 import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.method.BatchFinder;
 import com.speedment.runtime.field.trait.HasFinder;
 
 import java.util.function.Function;
@@ -195,6 +196,47 @@ public interface Manager<ENTITY> {
      */
     Persister<ENTITY> persister();
 
+    /**
+     * Persists all the entities of the provided stream to the underlying
+     * database in a single transaction, sending them in batches of
+     * {@link Persister#DEFAULT_BATCH_SIZE} entities. This is considerably
+     * faster than calling {@link #persist(java.lang.Object) } for each entity
+     * when a large number of entities are persisted. If the persistence fails
+     * for any reason, an unchecked {@link SpeedmentException} is thrown and
+     * the transaction is rolled back.
+     * <p>
+     * Auto generated column(s) are set in the provided entity instances.
+     *
+     * @param entities to persist
+     * @throws SpeedmentException if the underlying database throws an exception
+     * (e.g. SQLException)
+     * @see Persister#acceptAll(Stream)
+     * @since 3.0.1
+     */
+    default void persistAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        persister().acceptAll(entities);
+    }
+
+    /**
+     * Persists all the entities of the provided stream to the underlying
+     * database in a single transaction, sending them in batches of at most
+     * {@code batchSize} entities. If the persistence fails for any reason, an
+     * unchecked {@link SpeedmentException} is thrown and the transaction is
+     * rolled back.
+     * <p>
+     * Auto generated column(s) are set in the provided entity instances.
+     *
+     * @param entities to persist
+     * @param batchSize the maximum number of entities in each batch
+     * @throws SpeedmentException if the underlying database throws an exception
+     * (e.g. SQLException)
+     * @see Persister#acceptAll(Stream, int)
+     * @since 3.0.1
+     */
+    default void persistAll(Stream<? extends ENTITY> entities, int batchSize) throws SpeedmentException {
+        persister().acceptAll(entities, batchSize);
+    }
+
     /**
      * Updates the provided entity in the underlying database and returns a
      * potentially updated entity. If the update fails for any reason, an
@@ -267,6 +309,30 @@ public interface Manager<ENTITY> {
         return fkField.finder(getTableIdentifier(), this::stream);
     }
 
+    /**
+     * Returns a Function that, when it is applied to a stream of foreign
+     * entities, will produce an equivalent result as if
+     * {@code stream.map(finderBy(fkField))} was called. Instead of issuing one
+     * query per element, the foreign keys are collected in chunks of at most
+     * {@code batchSize} elements and each chunk is resolved using a single
+     * {@code IN}-query. The order of the stream is retained.
+     * <p>
+     * Note that some databases limit the number of values that can be used in
+     * an {@code IN}-clause, so the batch size should be chosen accordingly.
+     *
+     * @param <FK_ENTITY> the type of the foreign entity
+     * @param fkField the foreign key field
+     * @param batchSize the maximum number of keys to resolve in each query
+     * @return a function that maps a stream of foreign entities to a stream
+     * of the Entities they reference
+     * @throws IllegalArgumentException if the batch size is not positive
+     *
+     * @see #finderBy(HasFinder)
+     */
+    default <FK_ENTITY> BatchFinder<FK_ENTITY, ENTITY> finderBy(HasFinder<FK_ENTITY, ENTITY> fkField, int batchSize) {
+        return BatchFinder.of(fkField.finder(getTableIdentifier(), this::stream), this::stream, batchSize);
+    }
+
     /**
      * Retrieves and returns an Entity that matches the given a foreign key
      * relation (foreign field and entity). For example, if there is an entity
@@ -332,6 +398,28 @@ public interface Manager<ENTITY> {
         return fkField.backwardFinder(getTableIdentifier(), this::stream);
     }
 
+    /**
+     * Returns a Function that, when it is applied to a stream of foreign
+     * entities, will produce an equivalent result as if
+     * {@code stream.flatMap(finderBackwardsBy(fkField))} was called. Instead of
+     * issuing one query per element, the keys are collected in chunks of at
+     * most {@code batchSize} elements and the matching entities of each chunk
+     * are retrieved using a single {@code IN}-query. The order of the stream
+     * is retained.
+     *
+     * @param <FK_ENTITY> the type of the foreign entity
+     * @param fkField the foreign key field
+     * @param batchSize the maximum number of keys to resolve in each query
+     * @return a function that maps a stream of foreign entities to a stream
+     * of all the Entities that reference them
+     * @throws IllegalArgumentException if the batch size is not positive
+     *
+     * @see #finderBackwardsBy(HasFinder)
+     */
+    default <FK_ENTITY> BatchFinder<FK_ENTITY, ENTITY> finderBackwardsBy(HasFinder<ENTITY, FK_ENTITY> fkField, int batchSize) {
+        return BatchFinder.of(fkField.backwardFinder(getTableIdentifier(), this::stream), this::stream, batchSize);
+    }
+
     /**
      * Retrieves and returns a stream of matching entities that matches the
      * given a foreign key relation (foreign field and entity). For example, if
@@ -18,6 +18,8 @@ package com.speedment.runtime.core.manager;
 
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * This class makes it possible to decorate a manager with a special 
  * parallelization strategy by using a builder pattern.
@@ -37,6 +39,19 @@ public interface ManagerConfigurator<ENTITY> {
      */
     ManagerConfigurator<ENTITY> withParallelStrategy(ParallelStrategy parallelStrategy);
 
+    /**
+     * Set the pool that parallel streams of the built manager should execute
+     * their terminal operations in instead of the common pool. This isolates 
+     * the parallel streams of the manager from other parallel work in the 
+     * same JVM.
+     * 
+     * @param pool  the pool to use for parallel streams
+     * @return      a reference to this instance
+     * 
+     * @see ParallelStrategy#withForkJoinPool(ForkJoinPool)
+     */
+    ManagerConfigurator<ENTITY> withForkJoinPool(ForkJoinPool pool);
+
     /**
      * Builds a new manager that might delegate some methods to the pre-existing 
      * manager, but where the specified settings will be applied upon execution.
@@ -20,6 +20,9 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * An action that takes an entity and persists it to a data store. This 
@@ -34,6 +37,14 @@ import java.util.function.UnaryOperator;
 @FunctionalInterface
 public interface Persister<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY>  {
 
+    /**
+     * The default maximum number of entities that are sent to the data store
+     * in each batch by {@link #acceptAll(Stream)}.
+     * 
+     * @since 3.0.1
+     */
+    int DEFAULT_BATCH_SIZE = 1000;
+
     /**
      * Persists the entity in the data store, returning the same or a different
      * entity with any auto-generated fields updated.
@@ -58,4 +69,45 @@ public interface Persister<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTIT
     default void accept(ENTITY entity) {
         apply(entity);
     }
+
+    /**
+     * Persists all the entities of the specified stream in the data store, 
+     * using the {@link #DEFAULT_BATCH_SIZE default batch size}. The entities 
+     * might be modified by this method in some implementations, for an 
+     * example to set auto-generated fields.
+     * 
+     * @param entities  the entities to persist
+     * 
+     * @throws SpeedmentException  if persisting the entities failed
+     * @see #acceptAll(Stream, int)
+     * @since 3.0.1
+     */
+    default void acceptAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        acceptAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Persists all the entities of the specified stream in the data store. 
+     * Implementations may group the entities into batches of at most 
+     * {@code batchSize} entities and persist all the entities in a single 
+     * transaction, which is considerably faster than persisting the entities 
+     * one by one. The entities might be modified by this method in some 
+     * implementations, for an example to set auto-generated fields.
+     * <p>
+     * The default implementation persists the entities one by one using 
+     * {@link #accept(Object)}.
+     * 
+     * @param entities   the entities to persist
+     * @param batchSize  the maximum number of entities in each batch
+     * 
+     * @throws SpeedmentException  if persisting the entities failed
+     * @since 3.0.1
+     */
+    default void acceptAll(Stream<? extends ENTITY> entities, int batchSize) throws SpeedmentException {
+        requireNonNull(entities);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        entities.forEachOrdered(this);
+    }
 }
\ No newline at end of file
@@ -58,4 +58,31 @@ public interface Remover<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY>
     default void accept(ENTITY entity) {
         apply(entity);
     }
+
+    /**
+     * Returns a remover that removes entities just like this one, but that, 
+     * if a stream that applies it to all the entities selected by a number of
+     * filters is executed as a single set-based delete, splits the delete 
+     * into several statements that each cover a range of at most 
+     * {@code chunkSize} primary key values and that are committed separately.
+     * This keeps each transaction, and thus the time locks are held, short 
+     * when very many rows are removed.
+     * <p>
+     * Implementations that can not split deletes, for an example because the
+     * table does not have a single integral primary key column, may return 
+     * this remover. The default implementation does just that.
+     * 
+     * @param chunkSize  the maximum number of primary key values per statement
+     * @return           the chunked remover
+     * 
+     * @throws IllegalArgumentException  if the chunk size is not positive
+     */
+    default Remover<ENTITY> inChunksOf(long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                "The chunk size must be positive, was " + chunkSize + "."
+            );
+        }
+        return this;
+    }
 }
\ No newline at end of file
@@ -19,6 +19,8 @@ package com.speedment.runtime.core.stream;
 import com.speedment.runtime.core.stream.action.Action;
 
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 import java.util.stream.Stream;
@@ -107,4 +109,25 @@ public interface Pipeline extends Iterable<Action<?, ?>> {
      */
     void setOrdered(boolean flag);
 
+    /**
+     * Returns the pool that terminal operations of this pipeline should be 
+     * executed in if the pipeline is parallel, or an empty {@code Optional}
+     * to execute them in the pool of the calling thread, which normally is
+     * the common pool.
+     *
+     * @return the pool to execute parallel terminal operations in
+     * @since 3.0.1
+     */
+    Optional<ForkJoinPool> getForkJoinPool();
+
+    /**
+     * Sets the pool that terminal operations of this pipeline should be 
+     * executed in if the pipeline is parallel.
+     *
+     * @param pool the pool, or {@code null} to use the pool of the calling 
+     * thread
+     * @since 3.0.1
+     */
+    void setForkJoinPool(ForkJoinPool pool);
+
 }
@@ -0,0 +1,59 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.parallel;
+
+/**
+ * A {@link ParallelStrategy} that chooses the size of each batch that is
+ * split off from the source by measuring the time it takes to produce and to
+ * consume the elements of the previous batches. Batches are grown while they
+ * are cheap to process and shrunk when they are expensive, so that each batch
+ * takes about the same time and the workers of the pool are kept busy 
+ * without being flooded by tiny tasks.
+ *
+ * @since  3.0.1
+ */
+public interface AdaptiveParallelStrategy extends ParallelStrategy {
+
+    /**
+     * Returns the number of nanoseconds that each batch should take to 
+     * produce and consume.
+     *
+     * @return  the target batch time in nanoseconds
+     */
+    long getTargetBatchTime();
+
+    /**
+     * Returns the batch sizes that were chosen by the spliterator that was
+     * most recently created by this strategy, in the order that they were
+     * chosen. Only the most recent sizes are retained. This method is 
+     * intended for diagnostics.
+     *
+     * @return  the chosen batch sizes
+     */
+    int[] getBatchSizes();
+
+    /**
+     * Returns the moving average of the number of nanoseconds that it took
+     * to produce and to consume an element of the spliterator that was most
+     * recently created by this strategy, or {@code NaN} if nothing has been
+     * measured yet. This method is intended for diagnostics.
+     *
+     * @return  the average cost of an element in nanoseconds
+     */
+    double getElementCost();
+
+}
@@ -35,4 +35,25 @@ public interface ConfigurableIteratorSpliterator<T> extends Spliterator<T> {
     static <T> Spliterator<T> of(Iterator<? extends T> iterator, int characteristics, int[] batchSizes) {
         return new ConfigurableIteratorSpliteratorImpl<>(iterator, characteristics, batchSizes);
     }
+
+    /**
+     * Creates a {@link Spliterator} of unknown size that buffers at most the 
+     * given number of rows in batches that have been split off but not yet 
+     * consumed. Splitting blocks until enough rows have been consumed and
+     * the arrays of consumed batches are reused for new batches.
+     * 
+     * @param <T>              the element type
+     * @param iterator         the iterator for the source
+     * @param characteristics  properties of the source or elements
+     * @param batchSizes       the batch sizes to use for pseudo parallelism
+     * @param maxBufferedRows  the maximum number of buffered rows, or 
+     *                         {@code Long.MAX_VALUE} for no limit
+     * @return                 the new spliterator
+     * @throws IllegalArgumentException  if {@code maxBufferedRows} is not
+     *                                   positive
+     * @since 3.0.1
+     */
+    static <T> Spliterator<T> of(Iterator<? extends T> iterator, int characteristics, int[] batchSizes, long maxBufferedRows) {
+        return new ConfigurableIteratorSpliteratorImpl<>(iterator, characteristics, batchSizes, maxBufferedRows);
+    }
 }
\ No newline at end of file
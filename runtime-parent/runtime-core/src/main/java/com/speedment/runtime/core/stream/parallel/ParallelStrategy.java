@@ -16,13 +16,17 @@
  */
 package com.speedment.runtime.core.stream.parallel;
 
+import com.speedment.runtime.core.internal.stream.parallel.AdaptiveParallelStrategyImpl;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityExtremeParallelStrategy;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityHighParallelStrategy;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityMediumParallelStrategy;
+import com.speedment.runtime.core.internal.stream.parallel.ForkJoinPoolParallelStrategy;
 
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  *
@@ -52,6 +56,23 @@ public interface ParallelStrategy {
         return Hidden.COMPUTE_INTENSITY_MEDIUM;
     }
 
+    /**
+     * A Parallel Strategy like {@link #computeIntensityMedium()} that buffers
+     * at most the given number of rows in batches that have been split off 
+     * but not yet consumed. Splitting blocks until enough rows have been
+     * consumed which bounds the memory that is held by a parallel stream.
+     *
+     * @param maxBufferedRows  the maximum number of buffered rows
+     * @return a ParallelStrategy
+     * @throws IllegalArgumentException if {@code maxBufferedRows} is not
+     * positive
+     * @since 3.0.1
+     */
+    static ParallelStrategy computeIntensityMedium(long maxBufferedRows) {
+        Hidden.requirePositive(maxBufferedRows);
+        return new ComputeIntensityMediumParallelStrategy(maxBufferedRows);
+    }
+
     /**
      * A Parallel Strategy that favors relatively small to medium sets with high
      * computational overhead.
@@ -62,6 +83,23 @@ public interface ParallelStrategy {
         return Hidden.COMPUTE_INTENSITY_HIGH;
     }
 
+    /**
+     * A Parallel Strategy like {@link #computeIntensityHigh()} that buffers
+     * at most the given number of rows in batches that have been split off 
+     * but not yet consumed. Splitting blocks until enough rows have been
+     * consumed which bounds the memory that is held by a parallel stream.
+     *
+     * @param maxBufferedRows  the maximum number of buffered rows
+     * @return a ParallelStrategy
+     * @throws IllegalArgumentException if {@code maxBufferedRows} is not
+     * positive
+     * @since 3.0.1
+     */
+    static ParallelStrategy computeIntensityHigh(long maxBufferedRows) {
+        Hidden.requirePositive(maxBufferedRows);
+        return new ComputeIntensityHighParallelStrategy(maxBufferedRows);
+    }
+
     /**
      * A Parallel Strategy that favors small sets with extremely high
      * computational overhead. The set will be split up in solitary elements
@@ -73,8 +111,83 @@ public interface ParallelStrategy {
         return Hidden.COMPUTE_INTENSITY_EXTREME;
     }
 
+    /**
+     * A Parallel Strategy like {@link #computeIntensityExtreme()} that buffers
+     * at most the given number of rows in batches that have been split off 
+     * but not yet consumed. Splitting blocks until enough rows have been
+     * consumed which bounds the memory that is held by a parallel stream.
+     *
+     * @param maxBufferedRows  the maximum number of buffered rows
+     * @return a ParallelStrategy
+     * @throws IllegalArgumentException if {@code maxBufferedRows} is not
+     * positive
+     * @since 3.0.1
+     */
+    static ParallelStrategy computeIntensityExtreme(long maxBufferedRows) {
+        Hidden.requirePositive(maxBufferedRows);
+        return new ComputeIntensityExtremeParallelStrategy(maxBufferedRows);
+    }
+
+    /**
+     * An adaptive Parallel Strategy that measures the time it takes to 
+     * produce and consume the first batches and then grows or shrinks the
+     * following batches so that each batch takes about half a millisecond to
+     * process. This favors sets where the computational overhead is not known
+     * in advance.
+     * <p>
+     * A new strategy is returned on every call so that the batch sizes it 
+     * chooses can be inspected for a particular stream.
+     *
+     * @return a ParallelStrategy
+     * @since 3.0.1
+     */
+    static AdaptiveParallelStrategy computeIntensityAdaptive() {
+        return computeIntensityAdaptive(Hidden.DEFAULT_TARGET_BATCH_TIME);
+    }
+
+    /**
+     * An adaptive Parallel Strategy like {@link #computeIntensityAdaptive()}
+     * where each batch should take the specified number of nanoseconds to
+     * process.
+     *
+     * @param targetBatchTime  the target batch time in nanoseconds
+     * @return a ParallelStrategy
+     * @throws IllegalArgumentException if the time is not positive
+     * @since 3.0.1
+     */
+    static AdaptiveParallelStrategy computeIntensityAdaptive(long targetBatchTime) {
+        return new AdaptiveParallelStrategyImpl(targetBatchTime);
+    }
+
     <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics);
 
+    /**
+     * Returns the pool that parallel streams using this strategy should 
+     * execute their terminal operations in, or an empty {@code Optional} if 
+     * they should execute in the pool of the calling thread, which normally
+     * is the common pool.
+     *
+     * @return the pool to use for parallel streams
+     * @since 3.0.1
+     */
+    default Optional<ForkJoinPool> getForkJoinPool() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a strategy that splits the elements like this strategy, but 
+     * where the terminal operations of parallel streams are executed in the 
+     * specified pool instead of in the common pool. This isolates heavy 
+     * parallel streams from other parallel work in the same JVM.
+     *
+     * @param pool the pool to execute parallel terminal operations in
+     * @return a ParallelStrategy
+     * @since 3.0.1
+     */
+    default ParallelStrategy withForkJoinPool(ForkJoinPool pool) {
+        return new ForkJoinPoolParallelStrategy(this, pool);
+    }
+
     static ParallelStrategy of(final int... batchSizes) {
         return new ParallelStrategy() {
             @Override
@@ -84,8 +197,32 @@ public interface ParallelStrategy {
         };
     }
 
+    /**
+     * A Parallel Strategy that uses the given batch sizes and buffers at most
+     * the given number of rows in batches that have been split off but not 
+     * yet consumed.
+     *
+     * @param maxBufferedRows  the maximum number of buffered rows
+     * @param batchSizes       the batch sizes to use
+     * @return a ParallelStrategy
+     * @throws IllegalArgumentException if {@code maxBufferedRows} is not
+     * positive
+     * @since 3.0.1
+     */
+    static ParallelStrategy of(final long maxBufferedRows, final int[] batchSizes) {
+        Hidden.requirePositive(maxBufferedRows);
+        return new ParallelStrategy() {
+            @Override
+            public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
+                return ConfigurableIteratorSpliterator.of(iterator, characteristics, batchSizes, maxBufferedRows);
+            }
+        };
+    }
+
     class Hidden {
 
+        private static final long DEFAULT_TARGET_BATCH_TIME = 500_000;
+
         private static final ParallelStrategy COMPUTE_INTENSITY_DEFAULT = Spliterators::spliteratorUnknownSize;
 
         private static final ParallelStrategy COMPUTE_INTENSITY_MEDIUM = new ComputeIntensityMediumParallelStrategy();
@@ -93,6 +230,14 @@ public interface ParallelStrategy {
         private static final ParallelStrategy COMPUTE_INTENSITY_HIGH = new ComputeIntensityHighParallelStrategy();
 
         private static final ParallelStrategy COMPUTE_INTENSITY_EXTREME = new ComputeIntensityExtremeParallelStrategy();
+
+        private static void requirePositive(long maxBufferedRows) {
+            if (maxBufferedRows <= 0) {
+                throw new IllegalArgumentException(
+                    "The maximum number of buffered rows must be positive: " + maxBufferedRows
+                );
+            }
+        }
     }
 
 }
@@ -18,14 +18,22 @@ package com.speedment.runtime.core.internal;
 
 import com.speedment.common.injector.Injector;
 import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.internal.component.ConnectionPoolComponentImpl;
+import com.speedment.runtime.core.internal.component.DataSourceConnectionPoolComponent;
+import com.speedment.runtime.core.internal.component.DbmsHandlerComponentImpl;
+import com.speedment.runtime.core.internal.component.PasswordComponentImpl;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -59,6 +67,39 @@ public class AbstractApplicationBuilderTest {
 
     }
 
+    @Test
+    public void withDataSourceReplacesConnectionPool() throws Exception {
+        final Injector.Builder injectorBuilder = Injector.builder()
+            .put(DbmsHandlerComponentImpl.class)
+            .put(PasswordComponentImpl.class)
+            .put(ConnectionPoolComponentImpl.class);
+
+        final DataSource dataSource = (DataSource) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{DataSource.class},
+            (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+
+        // Both overloads install the component, which must be harmless
+        new AbstractApplicationBuilderImpl<>(injectorBuilder)
+            .withDataSource(dataSource)
+            .withDataSource("db0", dataSource);
+
+        final Injector injector = injectorBuilder.build();
+
+        assertTrue(
+            injector.getOrThrow(ConnectionPoolComponent.class) 
+                instanceof DataSourceConnectionPoolComponent
+        );
+
+        assertEquals(1, injector.injectables()
+            .filter(DataSourceConnectionPoolComponent.class::equals)
+            .count()
+        );
+    }
+
     public class AbstractApplicationBuilderImpl<
         APP extends Speedment,
         BUILDER extends AbstractApplicationBuilder<APP, BUILDER>
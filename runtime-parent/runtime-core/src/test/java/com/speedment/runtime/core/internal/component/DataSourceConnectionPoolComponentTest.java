@@ -0,0 +1,122 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.internal.DbmsImpl;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.db.ConnectionUrlGenerator;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataSourceConnectionPoolComponentTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private Speedment speedment;
+    private DataSourceConnectionPoolComponent instance;
+    private Dbms dbms;
+
+    @Before
+    public void setUp() {
+        final DataSource dataSource = proxy(DataSource.class, (p, method, args) -> {
+            if ("getConnection".equals(method.getName())) {
+                opened.incrementAndGet();
+                return proxy(Connection.class, (c, m, a) -> {
+                    if ("close".equals(m.getName())) {
+                        closed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        speedment = ApplicationBuilder.empty()
+            .withDataSource(dataSource)
+            .withSkipCheckDatabaseConnectivity()
+            .build();
+
+        speedment.getOrThrow(DbmsHandlerComponent.class).install(
+            proxy(DbmsType.class, (p, method, args) -> {
+                switch (method.getName()) {
+                    case "getName" : return "TestDbms";
+                    case "getConnectionUrlGenerator" : 
+                        return (ConnectionUrlGenerator) d -> "jdbc:test://" + d.getName();
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            })
+        );
+
+        final Map<String, Object> data = new HashMap<>();
+        data.put(Dbms.NAME, "db");
+        data.put(Dbms.TYPE_NAME, "TestDbms");
+        dbms = new DbmsImpl(new ProjectImpl(new HashMap<>()), data);
+
+        instance = (DataSourceConnectionPoolComponent) 
+            speedment.getOrThrow(ConnectionPoolComponent.class);
+        instance.setDataSource(dbms, dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testConnectionsAreLeasedFromTheDataSource() throws Exception {
+        final PoolableConnection connection = instance.getConnection(dbms);
+        assertEquals("jdbc:test://db", connection.getUri());
+        assertEquals(1, opened.get());
+        assertEquals(1, instance.leaseSize());
+
+        connection.close();
+        assertEquals(1, closed.get());
+        assertEquals(0, instance.leaseSize());
+        assertEquals(0, instance.poolSize());
+        assertEquals(1, instance.getLeaseCount());
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testDbmsWithoutDataSource() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(Dbms.NAME, "other");
+        data.put(Dbms.TYPE_NAME, "TestDbms");
+        instance.getConnection(new DbmsImpl(new ProjectImpl(new HashMap<>()), data));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
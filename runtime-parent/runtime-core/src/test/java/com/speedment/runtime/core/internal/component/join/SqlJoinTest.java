@@ -0,0 +1,205 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.join;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.common.tuple.Tuples;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.db.DefaultDatabaseNamingConvention;
+import com.speedment.runtime.core.internal.field.Entity;
+import com.speedment.runtime.core.internal.field.EntityImpl;
+import com.speedment.runtime.core.internal.manager.sql.MySqlSpeedmentPredicateView;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.internal.field.Entity.ID;
+import static com.speedment.runtime.core.internal.field.Entity.NAME;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @since   3.0.1
+ */
+public class SqlJoinTest {
+
+    private static final TableIdentifier<Entity> TABLE = 
+        TableIdentifier.of("my_dbms", "my_schema", "my_table");
+
+    private static final String SELECT = 
+        "SELECT t0.`id`,t0.`name`,t1.`id`,t1.`name` " + 
+        "FROM `my_schema`.`my_table` t0 " + 
+        "INNER JOIN `my_schema`.`my_table` t1 ON t1.`id` = t0.`id`";
+
+    private JoinStage<Entity> stage0;
+    private JoinStage<Entity> stage1;
+    private List<Object[]> rows;
+    private String executedSql;
+    private List<Object> executedValues;
+    private int released;
+
+    @Before
+    public void setUp() {
+        stage0 = new JoinStage<>(TABLE);
+        stage1 = new JoinStage<>(TABLE, ID, ID, 0);
+        rows = Arrays.asList(
+            new Object[] {1, "a", 1, "ax"},
+            new Object[] {2, "b", 2, "by"},
+            new Object[] {3, "c", 3, "cx"}
+        );
+    }
+
+    @Test
+    public void testRenderedAsSingleJoin() {
+        final SqlJoin<Tuple2<Entity, Entity>> join = join();
+        assertEquals(SELECT, join.getSql());
+        assertEquals(rows.size(), join.stream().count());
+        assertEquals(SELECT, executedSql);
+    }
+
+    @Test
+    public void testPredicatesArePushedDownPerTable() {
+        stage0.addPredicate(NAME.notEqual("c"));
+        stage1.addPredicate(ID.greaterThan(1).or(NAME.equal("ax")));
+
+        final SqlJoin<Tuple2<Entity, Entity>> join = join();
+        join.stream().forEach(t -> {});
+
+        assertEquals(
+            SELECT + " WHERE (NOT (t0.`name` = ?)) AND ((t1.`id` > ?) OR (t1.`name` = ?))", 
+            executedSql
+        );
+        assertEquals(Arrays.asList("c", 1, "ax"), executedValues);
+    }
+
+    @Test
+    public void testOpaquePredicatesAreAppliedInMemory() {
+        stage1.addPredicate(e -> e.getName().endsWith("x"));
+
+        final List<String> result = join().stream()
+            .map(t -> format(t.get0()) + "-" + format(t.get1()))
+            .collect(toList());
+
+        assertEquals(SELECT, executedSql);
+        assertEquals(Arrays.asList("1a-1ax", "3c-3cx"), result);
+    }
+
+    @Test
+    public void testEachTableReadsItsOwnColumns() {
+        final Tuple2<Entity, Entity> first = join().stream().findFirst().get();
+        assertEquals("1a", format(first.get0()));
+        assertEquals("1ax", format(first.get1()));
+    }
+
+    @Test
+    public void testReleasedWhenFullyConsumed() {
+        assertEquals(rows.size(), join().stream().count());
+        assertEquals(1, released);
+    }
+
+    @Test
+    public void testReleasedWhenParallelStreamIsFullyConsumed() {
+        assertEquals(rows.size(), join().stream().parallel().count());
+        assertEquals(1, released);
+    }
+
+    @Test
+    public void testReleasedOnCloseWhenShortCircuited() {
+        try (final Stream<Tuple2<Entity, Entity>> stream = join().stream()) {
+            assertTrue(stream.findFirst().isPresent());
+            assertEquals(0, released);
+        }
+
+        assertEquals(1, released);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFieldOfOtherTable() {
+        new JoinStage<>(TableIdentifier.<Entity>of("my_dbms", "my_schema", "other_table"), ID, ID, 0);
+    }
+
+    private static String format(Entity entity) {
+        return entity.getId() + entity.getName();
+    }
+
+    private SqlJoin<Tuple2<Entity, Entity>> join() {
+        final SqlFunction<ResultSet, Entity> mapper = 
+            rs -> new EntityImpl(rs.getInt(1), rs.getString(2));
+
+        return new SqlJoin<>(
+            new DefaultDatabaseNamingConvention(),
+            new MySqlSpeedmentPredicateView(),
+            Arrays.asList(
+                new JoinTable<>(stage0, "`my_schema`.`my_table`", Arrays.asList("id", "name"), mapper),
+                new JoinTable<>(stage1, "`my_schema`.`my_table`", Arrays.asList("id", "name"), mapper)
+            ),
+            this::execute,
+            row -> Tuples.of((Entity) row[0], (Entity) row[1])
+        );
+    }
+
+    private Stream<Object[]> execute(String sql, List<Object> values, SqlFunction<ResultSet, Object[]> rowMapper) {
+        executedSql = sql;
+        executedValues = values;
+
+        final Object[][] current = new Object[1][];
+        final ResultSet resultSet = resultSet(current);
+        final List<Object[]> result = new ArrayList<>();
+        for (final Object[] row : rows) {
+            current[0] = row;
+            result.add(rowMapper.unWrap().apply(resultSet));
+        }
+
+        return result.stream().onClose(() -> released++);
+    }
+
+    private static ResultSet resultSet(Object[][] current) {
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+            ResultSetMetaData.class.getClassLoader(),
+            new Class<?>[]{ResultSetMetaData.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount" : return 4;
+                    case "getColumnLabel" : return ((int) args[0]) % 2 == 1 ? "id" : "name";
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMetaData" : return metaData;
+                    case "getObject"   : return current[0][((int) args[0]) - 1];
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.*;
+
+public class SqlPartitionedScanTest {
+
+    private static final String SELECT = "SELECT `id` FROM `my_table`";
+
+    private List<String> executedSql;
+    private AtomicInteger openQueries;
+    private long min;
+    private long max;
+
+    @Before
+    public void setUp() {
+        executedSql = Collections.synchronizedList(new ArrayList<>());
+        openQueries = new AtomicInteger();
+        min = 1;
+        max = 100;
+    }
+
+    @Test
+    public void testEveryRowIsReadOnce() {
+        final List<Long> result;
+        try (final SqlPartitionedScan scan = scan(4, false)) {
+            result = scan.stream(SELECT, "", Collections.emptyList(), rs -> rs.getLong(1))
+                .collect(toList());
+        }
+
+        assertEquals(LongStream.rangeClosed(1, 100).boxed().collect(toSet()), result.stream().collect(toSet()));
+        assertEquals(100, result.size());
+        assertEquals(4, executedSql.size());
+        assertTrue(executedSql.contains(SELECT + " WHERE (`id` >= ? AND `id` <= ?)"));
+        assertEquals(0, openQueries.get());
+    }
+
+    @Test
+    public void testNullablePartitionAndWhereClause() {
+        min = 5;
+        max = 5;
+        final List<Long> result;
+        try (final SqlPartitionedScan scan = scan(8, true)) {
+            result = scan.stream(SELECT, " WHERE (`id` > ?)", Collections.singletonList(4), rs -> rs.getLong(1))
+                .collect(toList());
+        }
+
+        assertEquals(Collections.singletonList(5L), result);
+        assertTrue(executedSql.contains(SELECT + " WHERE (`id` > ?) AND (`id` >= ? AND `id` <= ?)"));
+        assertTrue(executedSql.contains(SELECT + " WHERE (`id` > ?) AND `id` IS NULL"));
+        assertEquals(0, openQueries.get());
+    }
+
+    private SqlPartitionedScan scan(int partitions, boolean nullable) {
+        final DbmsOperationHandler handler = (DbmsOperationHandler) Proxy.newProxyInstance(
+            DbmsOperationHandler.class.getClassLoader(),
+            new Class<?>[] {DbmsOperationHandler.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "executeQuery" : {
+                        @SuppressWarnings("unchecked")
+                        final SqlFunction<ResultSet, ?> rsMapper = (SqlFunction<ResultSet, ?>) args[3];
+                        return Stream.of(rsMapper.apply(rangeResultSet()));
+                    }
+                    case "executeQueryAsync" : {
+                        executedSql.add((String) args[1]);
+                        return new TestQueryResult((List<?>) args[2]);
+                    }
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        final Dbms dbms = (Dbms) Proxy.newProxyInstance(
+            Dbms.class.getClassLoader(), 
+            new Class<?>[] {Dbms.class}, 
+            (proxy, method, args) -> { throw new UnsupportedOperationException(); }
+        );
+
+        return new SqlPartitionedScan(
+            handler, 
+            dbms, 
+            "`my_table`", 
+            new SqlPartitionedScan.Partitioning("`id`", nullable, partitions), 
+            ParallelStrategy.computeIntensityDefault(), 
+            0
+        );
+    }
+
+    private ResultSet rangeResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getLong" : return (Integer) args[0] == 1 ? min : max;
+                    case "wasNull" : return false;
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    /**
+     * Produces the keys of the range that is bound as the last two values,
+     * or nothing if the values do not end with a range.
+     */
+    private final class TestQueryResult implements AsynchronousQueryResult<Long> {
+
+        private final List<?> values;
+        private boolean closed;
+
+        private TestQueryResult(List<?> values) {
+            this.values = new ArrayList<>(values);
+            openQueries.incrementAndGet();
+        }
+
+        @Override
+        public Stream<Long> stream() {
+            final int size = values.size();
+            if (size < 2 || !(values.get(size - 2) instanceof Long)) {
+                return Stream.empty();
+            }
+            return LongStream.rangeClosed((Long) values.get(size - 2), (Long) values.get(size - 1))
+                .boxed();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                openQueries.decrementAndGet();
+            }
+        }
+
+        @Override
+        public String getSql() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setSql(String sql) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<?> getValues() {
+            return values;
+        }
+
+        @Override
+        public void setValues(List<?> values) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SqlFunction<ResultSet, Long> getRsMapper() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setRsMapper(SqlFunction<ResultSet, Long> rsMapper) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
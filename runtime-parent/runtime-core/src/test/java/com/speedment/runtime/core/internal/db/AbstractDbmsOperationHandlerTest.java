@@ -0,0 +1,344 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.component.transaction.Transaction;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.component.TransactionComponentImpl;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AbstractDbmsOperationHandlerTest {
+
+    private static final String INSERT = "INSERT INTO `t` (`id`,`name`) VALUES (?,?)";
+    private static final String UPDATE = "UPDATE `t` SET `name` = ? WHERE `id` = ?";
+    private static final String DELETE = "DELETE FROM `t` WHERE `id` = ?";
+    private static final String SELECT = "SELECT `id`,`name` FROM `t`";
+    private static final String INSERT_CHILD = "INSERT INTO `c` (`id`,`t_id`) VALUES (?,?)";
+
+    private List<String> calls;
+    private long nextKey;
+    private int pendingRows;
+    private int queryRows;
+    private int queryRowsLeft;
+    private Object queryResultSet;
+    private int fetchSize;
+    private boolean streaming;
+    private boolean failOnExecute;
+    private AbstractDbmsOperationHandler handler;
+    private TransactionComponent transactions;
+
+    @Before
+    public void setUp() throws Exception {
+        calls = new ArrayList<>();
+        nextKey = 100;
+        handler = new AbstractDbmsOperationHandler() {
+            @Override
+            public <T> AsynchronousQueryResult<T> executeQueryAsync(
+                    Dbms dbms, String sql, List<?> values, 
+                    SqlFunction<ResultSet, T> rsMapper, 
+                    ParallelStrategy parallelStrategy) {
+                
+                return executeQueryAsync(dbms, sql, values, rsMapper, parallelStrategy, 0);
+            }
+        };
+
+        final java.lang.reflect.Field pool = AbstractDbmsOperationHandler.class
+            .getDeclaredField("connectionPoolComponent");
+        pool.setAccessible(true);
+        pool.set(handler, proxy(ConnectionPoolComponent.class));
+
+        transactions = new TransactionComponentImpl();
+        final java.lang.reflect.Field tx = AbstractDbmsOperationHandler.class
+            .getDeclaredField("transactionComponent");
+        tx.setAccessible(true);
+        tx.set(handler, transactions);
+    }
+
+    @Test
+    public void testInsertBatch() throws SQLException {
+        final Map<String, Long> keys = new HashMap<>();
+
+        handler.executeInsertBatch(
+            proxy(Dbms.class),
+            INSERT,
+            Stream.of("a", "b", "c", "d", "e"),
+            name -> Arrays.asList(null, name),
+            Collections.singletonList((Field<String>) null),
+            (name, generated) -> keys.put(name, generated.get(0)),
+            2
+        );
+
+        assertEquals(3, calls.stream().filter("executeBatch"::equals).count());
+        assertEquals(5, calls.stream().filter("addBatch"::equals).count());
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+        assertEquals(Arrays.asList(100L, 101L, 102L, 103L, 104L), Arrays.asList(
+            keys.get("a"), keys.get("b"), keys.get("c"), keys.get("d"), keys.get("e")
+        ));
+    }
+
+    @Test
+    public void testInsertBatchIsRolledBackOnError() {
+        failOnExecute = true;
+        try {
+            handler.executeInsertBatch(
+                proxy(Dbms.class),
+                INSERT,
+                Stream.of("a", "b", "c"),
+                name -> Arrays.asList(null, name),
+                Collections.emptyList(),
+                (name, generated) -> fail("No keys should be generated"),
+                10
+            );
+            fail("Expected an SQLException");
+        } catch (final SQLException ex) {
+            // Expected
+        }
+
+        assertEquals(0, calls.stream().filter("commit"::equals).count());
+        assertEquals(1, calls.stream().filter("rollback"::equals).count());
+        assertEquals("close", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    public void testQueryIsReadEagerly() {
+        queryRows = 3;
+        final Stream<Long> stream = handler.executeQuery(
+            proxy(Dbms.class), SELECT, Collections.emptyList(), rs -> rs.getLong(1)
+        );
+
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+        assertEquals("close", calls.get(calls.size() - 1));
+        assertEquals(Arrays.asList(100L, 101L, 102L), stream.collect(toList()));
+    }
+
+    @Test
+    public void testQueryIsReadLazily() {
+        queryRows = 3;
+        try (final Stream<Long> stream = handler.executeQueryLazily(
+                proxy(Dbms.class), SELECT, Collections.emptyList(), rs -> rs.getLong(1))) {
+
+            assertEquals(0, calls.stream().filter("getLong"::equals).count());
+            assertEquals(Arrays.asList(100L, 101L, 102L), stream.collect(toList()));
+            assertEquals(0, calls.stream().filter("commit"::equals).count());
+        }
+
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+        assertEquals("close", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    public void testTransactionBatchesStatementsAndCommitsOnce() throws SQLException {
+        final Dbms dbms = proxy(Dbms.class);
+
+        try (final Transaction tx = transactions.begin()) {
+            for (final String name : Arrays.asList("a", "b", "c")) {
+                handler.executeInsert(dbms, INSERT, Arrays.asList(1, name), 
+                    Collections.emptyList(), keys -> {});
+            }
+            handler.executeUpdate(dbms, UPDATE, Arrays.asList("d", 1));
+            handler.executeUpdate(dbms, UPDATE, Arrays.asList("e", 2));
+            tx.commit();
+        }
+
+        assertEquals(1, calls.stream().filter("getConnection"::equals).count());
+        assertEquals(2, calls.stream().filter("executeBatch"::equals).count());
+        assertEquals(5, calls.stream().filter("addBatch"::equals).count());
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+        assertEquals(0, calls.stream().filter("rollback"::equals).count());
+        assertEquals(false, transactions.current().isPresent());
+    }
+
+    @Test
+    public void testGeneratedKeysAreSetBeforeInsertReturns() throws SQLException {
+        final Dbms dbms = proxy(Dbms.class);
+        final List<Long> parentKeys = new ArrayList<>();
+        final List<Object> childValues = new ArrayList<>();
+
+        try (final Transaction tx = transactions.begin()) {
+            handler.executeInsert(dbms, INSERT, Arrays.asList(null, "a"), 
+                Collections.singletonList((Field<String>) null), parentKeys::addAll);
+
+            assertEquals(Collections.singletonList(100L), parentKeys);
+
+            childValues.addAll(Arrays.asList(null, parentKeys.get(0)));
+            handler.executeInsert(dbms, INSERT_CHILD, childValues, 
+                Collections.singletonList((Field<String>) null), keys -> {});
+            tx.commit();
+        }
+
+        assertEquals(Arrays.asList(null, 100L), childValues);
+        assertEquals(1, calls.stream().filter("getConnection"::equals).count());
+        assertEquals(2, calls.stream().filter("executeUpdate"::equals).count());
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+    }
+
+    @Test
+    public void testQueryWithinTransactionUsesItsConnection() throws SQLException {
+        final Dbms dbms = proxy(Dbms.class);
+
+        try (final Transaction tx = transactions.begin()) {
+            handler.executeInsert(dbms, INSERT, Arrays.asList(1, "a"), 
+                Collections.emptyList(), keys -> {});
+
+            final AsynchronousQueryResult<String> result = handler.executeQueryAsync(
+                dbms, SELECT, Collections.emptyList(), rs -> rs.getString(2),
+                ParallelStrategy.computeIntensityDefault(), 0
+            );
+
+            try (final Stream<String> stream = result.stream()) {
+                assertEquals(0, stream.count());
+            } finally {
+                result.close();
+            }
+
+            // The held back insert is executed before the query
+            assertTrue(calls.indexOf("executeUpdate") < calls.lastIndexOf("prepareStatement"));
+            assertEquals(0, calls.stream().filter("commit"::equals).count());
+            tx.commit();
+        }
+
+        assertEquals(1, calls.stream().filter("getConnection"::equals).count());
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+    }
+
+    @Test
+    public void testPersistWhileStreamingWithinTransaction() throws SQLException {
+        final Dbms dbms = proxy(Dbms.class);
+        final List<Long> keys = new ArrayList<>();
+        queryRows = 3;
+
+        try (final Transaction tx = transactions.begin()) {
+            // Like MySQL, which streams rows if the fetch size is negative
+            final AsynchronousQueryResult<String> result = handler.executeQueryAsync(
+                dbms, SELECT, Collections.emptyList(), rs -> rs.getString(2),
+                ParallelStrategy.computeIntensityDefault(), Integer.MIN_VALUE
+            );
+
+            try (final Stream<String> stream = result.stream()) {
+                stream.forEach(name -> {
+                    try {
+                        handler.executeInsert(dbms, INSERT, Arrays.asList(null, name), 
+                            Collections.singletonList((Field<String>) null), keys::addAll);
+                    } catch (final SQLException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                });
+            } finally {
+                result.close();
+            }
+
+            tx.commit();
+        }
+
+        assertEquals(3, keys.size());
+        assertEquals(3, calls.stream().filter("executeUpdate"::equals).count());
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+    }
+
+    @Test
+    public void testTransactionIsRolledBackOnClose() throws SQLException {
+        final Dbms dbms = proxy(Dbms.class);
+
+        try (final Transaction tx = transactions.begin()) {
+            handler.executeUpdate(dbms, UPDATE, Arrays.asList("a", 1));
+            handler.executeDelete(dbms, DELETE, Collections.singletonList(2));
+        }
+
+        assertEquals(1, calls.stream().filter("executeUpdate"::equals).count()); // The update
+        assertEquals(0, calls.stream().filter("commit"::equals).count());
+        assertEquals(1, calls.stream().filter("rollback"::equals).count());
+        assertEquals("close", calls.get(calls.size() - 1));
+        assertEquals(false, transactions.current().isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> clazz) {
+        return (T) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{clazz},
+            (proxy, method, args) -> {
+                final String name = method.getName();
+                calls.add(name);
+                if (streaming && proxy != queryResultSet && !"close".equals(name)) {
+                    throw new SQLException("Streaming result set is still active.");
+                }
+                switch (name) {
+                    case "getConnection"     : return proxy(PoolableConnection.class);
+                    case "prepareStatement"  : pendingRows = 0; fetchSize = 0; return proxy(PreparedStatement.class);
+                    case "setFetchSize"      : fetchSize = (Integer) args[0]; return null;
+                    case "executeQuery"      : {
+                        queryResultSet = proxy(ResultSet.class);
+                        queryRowsLeft = queryRows;
+                        streaming = fetchSize == Integer.MIN_VALUE;
+                        return queryResultSet;
+                    }
+                    case "getGeneratedKeys"  : return proxy(ResultSet.class);
+                    case "addBatch"          : pendingRows++; return null;
+                    case "executeBatch"      : {
+                        if (failOnExecute) {
+                            throw new SQLException("Simulated failure");
+                        }
+                        return new int[pendingRows];
+                    }
+                    case "next"              : {
+                        if (proxy == queryResultSet) {
+                            return queryRowsLeft-- > 0;
+                        } else if (pendingRows == 0) {
+                            return false;
+                        }
+                        pendingRows--;
+                        return true;
+                    }
+                    case "getLong"           : return nextKey++;
+                    case "executeUpdate"     : pendingRows = 1; return 1;
+                    case "close"             : {
+                        if (proxy == queryResultSet) {
+                            streaming = false;
+                        }
+                        return null;
+                    }
+                    default                  : return null;
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AsynchronousQueryResultImplTest {
+
+    private List<String> calls;
+
+    @Before
+    public void setUp() {
+        calls = new ArrayList<>();
+    }
+
+    @Test
+    public void testFetchSizeIsSetOnStatement() {
+        try (final Stream<Integer> stream = query(Integer.MIN_VALUE).stream()) {
+            assertEquals(0, stream.count());
+        }
+
+        assertTrue(calls.contains("prepareStatement(SELECT 1, 1003, 1007)"));
+        assertTrue(calls.contains("setFetchSize(" + Integer.MIN_VALUE + ")"));
+    }
+
+    @Test
+    public void testZeroFetchSizeIsLeftToDriver() {
+        try (final Stream<Integer> stream = query(0).stream()) {
+            assertEquals(0, stream.count());
+        }
+
+        assertFalse(calls.stream().anyMatch(c -> c.startsWith("setFetchSize")));
+    }
+
+    private AsynchronousQueryResultImpl<Integer> query(int fetchSize) {
+        final ResultSet rs = proxy(ResultSet.class, false);
+        final PreparedStatement ps = proxy(PreparedStatement.class, rs);
+        final Connection connection = proxy(Connection.class, ps);
+
+        return new AsynchronousQueryResultImpl<>(
+            "SELECT 1",
+            Collections.emptyList(),
+            r -> r.getInt(1),
+            () -> connection,
+            ParallelStrategy.computeIntensityDefault(),
+            fetchSize
+        );
+    }
+
+    // Records every call and returns the given result if the types match
+    private <T> T proxy(Class<T> type, Object result) {
+        return type.cast(Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (p, method, args) -> {
+                calls.add(method.getName() + "(" + (args == null ? "" :
+                    Arrays.stream(args).map(String::valueOf).collect(joining(", "))
+                ) + ")");
+                if (method.getReturnType().isInstance(result)
+                || (method.getReturnType() == boolean.class && result instanceof Boolean)) {
+                    return result;
+                }
+                return null;
+            }
+        ));
+    }
+}
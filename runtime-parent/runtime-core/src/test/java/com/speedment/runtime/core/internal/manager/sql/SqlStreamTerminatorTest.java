@@ -0,0 +1,846 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager.sql;
+
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.ConnectionUrlGenerator;
+import com.speedment.runtime.core.db.DbmsMetadataHandler;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.FieldPredicateView;
+import com.speedment.runtime.core.db.SkipLimitSupport;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.db.AbstractDbmsType;
+import com.speedment.runtime.core.internal.field.BaseFieldTest;
+import com.speedment.runtime.core.internal.field.Entity;
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.field.internal.IntFieldImpl;
+import com.speedment.runtime.field.internal.StringFieldImpl;
+import com.speedment.runtime.typemapper.TypeMapper;
+import com.speedment.runtime.typemapper.internal.IdentityTypeMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.internal.field.Entity.ID;
+import static com.speedment.runtime.core.internal.field.Entity.NAME;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SqlStreamTerminatorTest extends BaseFieldTest {
+
+    private static final String SELECT = "SELECT `id`,`name` FROM `my_table`";
+    private static final String SELECT_COUNT = "SELECT COUNT(*) FROM `my_table`";
+
+    private static final IntField<Entity, Integer> INT_ID = new IntFieldImpl<>(
+        Entity.Identifier.ID, Entity::getId, Entity::setId, TypeMapper.primitive(), true
+    );
+
+    private static final StringField<Entity, String> UNREADABLE_NAME = new StringFieldImpl<>(
+        Entity.Identifier.NAME, Entity::getName, Entity::setName, new IdentityTypeMapper<>(), false
+    );
+
+    private TestQueryResult queryResult;
+    private FieldPredicateView predicateView;
+    private SqlPredicateCache<Entity> predicateCache;
+    private String executedSql;
+    private List<Object> executedValues;
+    private Object[] row;
+    private String updateSql;
+    private List<Object> updateValues;
+    private boolean partitioned;
+    private String partitionSql;
+    private List<Object> partitionValues;
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        queryResult = new TestQueryResult(entities);
+        predicateView = new MySqlSpeedmentPredicateView();
+        executedSql = null;
+        executedValues = null;
+        row = new Object[] {42L};
+        updateSql = null;
+        updateValues = null;
+        partitioned = false;
+        partitionSql = null;
+        partitionValues = null;
+    }
+
+    @Test
+    public void testSortedIsRenderedAsOrderBy() {
+        final List<Entity> result = stream()
+            .filter(NAME.equal("a"))
+            .sorted(ID.comparator().reversed())
+            .collect(toList());
+
+        assertEquals(SELECT + " WHERE (`name` = ?) ORDER BY `id` DESC", queryResult.getSql());
+        assertEquals(Collections.singletonList("a"), queryResult.getValues());
+        assertEquals(collect(NAME.equal("a")), result); // Sorting is left to the database
+    }
+
+    @Test
+    public void testOnlySortedRowsAreOrdered() {
+        stream().filter(NAME.equal("a")).forEach(e -> {});
+        assertFalse(queryResult.isOrdered());
+
+        stream().sorted(ID.comparator()).forEach(e -> {});
+        assertTrue(queryResult.isOrdered());
+    }
+
+    @Test
+    public void testThenComparingIsRenderedAsOrderBy() {
+        stream()
+            .sorted(NAME.comparatorNullFieldsFirst().thenComparing(ID.comparator().reversed()))
+            .forEach(e -> {});
+
+        assertEquals(
+            SELECT + " ORDER BY CASE WHEN `name` IS NULL THEN 0 ELSE 1 END, `name` ASC, `id` DESC",
+            queryResult.getSql()
+        );
+    }
+
+    @Test
+    public void testReversedCombinedComparatorIsRenderedAsOrderBy() {
+        predicateView = new PostgresSpeedmentPredicateView();
+        stream()
+            .sorted(NAME.comparatorNullFieldsLast().thenComparing(ID.comparator()).reversed())
+            .forEach(e -> {});
+
+        assertEquals(SELECT + " ORDER BY `name` DESC NULLS FIRST, `id` DESC", queryResult.getSql());
+    }
+
+    @Test
+    public void testOpaqueComparatorIsSortedInMemory() {
+        final List<Entity> result = stream()
+            .filter(ID.greaterOrEqual(2))
+            .sorted(NAME.comparatorNullFieldsFirst().thenComparing(Entity::getId))
+            .collect(toList());
+
+        assertEquals(SELECT + " WHERE (`id` >= ?)", queryResult.getSql());
+        assertEquals(
+            entities.stream()
+                .filter(ID.greaterOrEqual(2))
+                .sorted(NAME.comparatorNullFieldsFirst().thenComparing(Entity::getId))
+                .collect(toList()),
+            result
+        );
+    }
+
+    @Test
+    public void testSkipAndLimitAreRenderedAsLimitOffset() {
+        stream()
+            .filter(NAME.equal("a"))
+            .skip(2)
+            .limit(5)
+            .skip(1)
+            .forEach(e -> {});
+
+        assertEquals(SELECT + " WHERE (`name` = ?) LIMIT ? OFFSET ?", queryResult.getSql());
+        assertEquals(Arrays.asList("a", 4L, 3L), queryResult.getValues());
+    }
+
+    @Test
+    public void testLimitAfterOrderByIsRendered() {
+        stream()
+            .sorted(ID.comparator())
+            .limit(3)
+            .forEach(e -> {});
+
+        assertEquals(SELECT + " ORDER BY `id` ASC LIMIT ? OFFSET ?", queryResult.getSql());
+        assertEquals(Arrays.asList(3L, 0L), queryResult.getValues());
+    }
+
+    @Test
+    public void testSkipAfterOpaqueFilterIsAppliedInMemory() {
+        final List<Entity> result = stream()
+            .filter(ID.greaterOrEqual(2))
+            .filter(e -> e.getName() != null)
+            .skip(1)
+            .collect(toList());
+
+        assertEquals(SELECT + " WHERE (`id` >= ?)", queryResult.getSql());
+        assertEquals(
+            entities.stream()
+                .filter(ID.greaterOrEqual(2))
+                .filter(e -> e.getName() != null)
+                .skip(1)
+                .collect(toList()),
+            result
+        );
+    }
+
+    @Test
+    public void testSkipAfterOpaqueComparatorIsAppliedInMemory() {
+        final Comparator<Entity> comparator = NAME.comparatorNullFieldsFirst().thenComparing(Entity::getId);
+        final List<Entity> result = stream()
+            .sorted(comparator)
+            .limit(2)
+            .collect(toList());
+
+        assertEquals(SELECT, queryResult.getSql());
+        assertEquals(entities.stream().sorted(comparator).limit(2).collect(toList()), result);
+    }
+
+    @Test
+    public void testOrIsRenderedInWhere() {
+        final Predicate<Entity> predicate = ID.lessThan(3).or(NAME.equal("b"));
+        final List<Entity> result = stream().filter(predicate).collect(toList());
+
+        assertEquals(SELECT + " WHERE ((`id` < ?) OR (`name` = ?))", queryResult.getSql());
+        assertEquals(Arrays.asList(3, "b"), queryResult.getValues());
+        assertEquals(collect(predicate), result);
+    }
+
+    @Test
+    public void testNegatedCombinationIsRenderedInWhere() {
+        final Predicate<Entity> predicate = ID.lessThan(3).or(NAME.equal("b")).negate();
+        final List<Entity> result = stream().filter(predicate).collect(toList());
+
+        assertEquals(SELECT + " WHERE (NOT ((`id` < ?) OR (`name` = ?)))", queryResult.getSql());
+        assertEquals(collect(predicate), result);
+    }
+
+    @Test
+    public void testExpressibleConjunctsArePartiallyPushedDown() {
+        final Predicate<Entity> predicate = NAME.equal("a")
+            .and(ID.greaterThan(1).or(NAME.isNull()))
+            .and(e -> e.getId() % 2 == 0);
+
+        final List<Entity> result = stream().filter(predicate).collect(toList());
+
+        assertEquals(SELECT + " WHERE (`name` = ?) AND ((`id` > ?) OR (`name` IS NULL))", queryResult.getSql());
+        assertEquals(Arrays.asList("a", 1), queryResult.getValues());
+        assertEquals(collect(predicate), result);
+    }
+
+    @Test
+    public void testOrWithOpaquePredicateIsFilteredInMemory() {
+        final Predicate<Entity> predicate = ID.lessThan(3).or(e -> e.getId() > 20);
+        final List<Entity> result = stream().filter(predicate).collect(toList());
+
+        assertEquals(SELECT, queryResult.getSql());
+        assertEquals(collect(predicate), result);
+    }
+
+    @Test
+    public void testCountIsRenderedForExpressiblePredicates() {
+        final long count = stream().filter(ID.lessThan(3).or(NAME.equal("b"))).count();
+
+        assertEquals(SELECT_COUNT + " WHERE ((`id` < ?) OR (`name` = ?))", executedSql);
+        assertEquals(42L, count);
+    }
+
+    @Test
+    public void testCountWithOpaquePredicateIsComputedInMemory() {
+        final Predicate<Entity> predicate = ID.lessThan(10).and(e -> e.getName() != null);
+        final long count = stream().filter(predicate).count();
+
+        assertEquals(null, executedSql);
+        assertEquals(collect(predicate).size(), count);
+    }
+
+    @Test
+    public void testMapToIntGetterIsRenderedAsProjection() {
+        final int[] result = stream()
+            .filter(NAME.equal("a"))
+            .mapToInt(INT_ID.getter())
+            .toArray();
+
+        assertEquals("SELECT `id` FROM `my_table` WHERE (`name` = ?)", queryResult.getSql());
+        // The filter is left to the database so every row is used here
+        assertArrayEquals(entities.stream().mapToInt(Entity::getId).toArray(), result);
+    }
+
+    @Test
+    public void testMapGetterIsRenderedAsProjection() {
+        final List<String> result = stream()
+            .filter(ID.lessThan(5))
+            .limit(3)
+            .map(NAME.getter())
+            .collect(toList());
+
+        assertEquals("SELECT `name` FROM `my_table` WHERE (`id` < ?) LIMIT ? OFFSET ?", queryResult.getSql());
+        assertEquals(entities.stream().map(Entity::getName).collect(toList()), result);
+    }
+
+    @Test
+    public void testMapGetterOfReferenceFieldIsRenderedAsProjection() {
+        final List<Integer> result = stream()
+            .map(ID.getter())
+            .collect(toList());
+
+        assertEquals("SELECT `id` FROM `my_table`", queryResult.getSql());
+        assertEquals(entities.stream().map(Entity::getId).collect(toList()), result);
+    }
+
+    @Test
+    public void testMapGetterOfUnreadableFieldIsNotProjected() {
+        final List<String> result = stream()
+            .map(UNREADABLE_NAME.getter())
+            .collect(toList());
+
+        assertEquals(SELECT, queryResult.getSql());
+        assertEquals(entities.stream().map(Entity::getName).collect(toList()), result);
+    }
+
+    @Test
+    public void testOpaqueFilterPreventsProjection() {
+        final Predicate<Entity> predicate = e -> e.getId() > 3;
+        final int[] result = stream()
+            .filter(predicate)
+            .mapToInt(INT_ID.getter())
+            .toArray();
+
+        assertEquals(SELECT, queryResult.getSql());
+        assertArrayEquals(collect(predicate).stream().mapToInt(Entity::getId).toArray(), result);
+    }
+
+    @Test
+    public void testSumIsRenderedAsAggregate() {
+        row = new Object[] {1L + Integer.MAX_VALUE};
+        final int sum = stream().filter(NAME.equal("a")).mapToInt(INT_ID.getter()).sum();
+
+        assertEquals("SELECT SUM(`id`) FROM `my_table` WHERE (`name` = ?)", executedSql);
+        assertEquals(Collections.singletonList("a"), executedValues);
+        assertEquals(Integer.MIN_VALUE, sum); // Overflows just like IntStream::sum
+    }
+
+    @Test
+    public void testMinOfEmptyTableIsEmpty() {
+        row = new Object[] {null};
+        final OptionalInt min = stream().mapToInt(INT_ID.getter()).min();
+
+        assertEquals("SELECT MIN(`id`) FROM `my_table`", executedSql);
+        assertEquals(OptionalInt.empty(), min);
+    }
+
+    @Test
+    public void testAverageIsComputedFromCountAndSum() {
+        row = new Object[] {4L, 10L};
+        final OptionalDouble average = stream().filter(ID.lessThan(4)).mapToInt(INT_ID.getter()).average();
+
+        assertEquals("SELECT COUNT(`id`), SUM(`id`) FROM `my_table` WHERE (`id` < ?)", executedSql);
+        assertEquals(OptionalDouble.of(2.5), average);
+    }
+
+    @Test
+    public void testSummaryStatisticsIsComputedInMemory() {
+        final IntSummaryStatistics statistics = stream()
+            .mapToInt(INT_ID.getter())
+            .summaryStatistics();
+        final IntSummaryStatistics expected = entities.stream()
+            .mapToInt(Entity::getId)
+            .summaryStatistics();
+
+        assertEquals(null, executedSql);
+        assertEquals(expected.getCount(), statistics.getCount());
+        assertEquals(expected.getSum(), statistics.getSum());
+        assertEquals(expected.getMin(), statistics.getMin());
+        assertEquals(expected.getMax(), statistics.getMax());
+    }
+
+    @Test
+    public void testAggregateWithOpaqueMapperIsComputedInMemory() {
+        final int sum = stream().filter(ID.lessThan(4)).mapToInt(Entity::getId).sum();
+
+        assertEquals(null, executedSql);
+        assertEquals(0 + 1 + 2 + 3, sum);
+    }
+
+    @Test
+    public void testFindFirstIsRenderedAsLimit() {
+        final Optional<String> result = stream()
+            .filter(NAME.startsWith("ab"))
+            .sorted(ID.comparator())
+            .map(Entity::getName)
+            .findFirst();
+
+        assertEquals(SELECT + " WHERE (`name` LIKE BINARY CONCAT(? ,'%')) ORDER BY `id` ASC LIMIT ? OFFSET ?", queryResult.getSql());
+        assertEquals(Arrays.asList("ab", 1L, 0L), queryResult.getValues());
+        assertEquals(Optional.of("ab"), result);
+    }
+
+    @Test
+    public void testFindAnyAfterDistinctIsNotLimited() {
+        stream()
+            .filter(ID.lessThan(5))
+            .distinct()
+            .findAny();
+
+        assertEquals(SELECT + " WHERE (`id` < ?)", queryResult.getSql());
+    }
+
+    @Test
+    public void testAnyMatchIsRenderedAsExists() {
+        row = new Object[] {1};
+        final boolean result = stream().filter(ID.lessThan(5)).anyMatch(NAME.equal("b"));
+
+        assertEquals("SELECT EXISTS (SELECT 1 FROM `my_table` WHERE (`id` < ?) AND (`name` = ?))", executedSql);
+        assertEquals(Arrays.asList(5, "b"), executedValues);
+        assertEquals(true, result);
+    }
+
+    @Test
+    public void testAllMatchIsRenderedAsNotExists() {
+        row = new Object[] {0};
+        final boolean result = stream().allMatch(ID.lessThan(100).or(NAME.isNull()));
+
+        assertEquals("SELECT EXISTS (SELECT 1 FROM `my_table` WHERE ((`id` < ?) OR (`name` IS NULL)) IS NOT TRUE)", executedSql);
+        assertEquals(true, result);
+    }
+
+    @Test
+    public void testNoneMatchIsRenderedAsExists() {
+        row = new Object[] {1};
+        final boolean result = stream().noneMatch(NAME.equal("b"));
+
+        assertEquals("SELECT EXISTS (SELECT 1 FROM `my_table` WHERE (`name` = ?))", executedSql);
+        assertEquals(false, result);
+    }
+
+    @Test
+    public void testAnyMatchWithOpaquePredicateIsComputedInMemory() {
+        final boolean result = stream().filter(ID.lessThan(5)).anyMatch(e -> "b".equals(e.getName()));
+
+        assertEquals(null, executedSql);
+        assertEquals(false, result);
+    }
+
+    @Test
+    public void testSamePredicateShapeIsRenderedOnce() {
+        stream().filter(ID.between(1, 3).or(NAME.equal("a"))).forEach(e -> {});
+        final String sql = queryResult.getSql();
+
+        stream().filter(ID.between(2, 4).or(NAME.equal("b"))).forEach(e -> {});
+
+        assertEquals(SELECT + " WHERE ((`id` >= ? AND `id` < ?) OR (`name` = ?))", sql);
+        assertEquals(sql, queryResult.getSql());
+        assertEquals(Arrays.asList(2, 4, "b"), queryResult.getValues());
+        assertEquals(1, predicateCache.size());
+    }
+
+    @Test
+    public void testInListArityIsBucketed() {
+        stream().filter(NAME.in("a", "b", "c")).forEach(e -> {});
+
+        assertEquals(SELECT + " WHERE (`name` IN (?,?,?,?))", queryResult.getSql());
+        assertEquals(4, queryResult.getValues().size());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(queryResult.getValues()));
+
+        stream().filter(NAME.in("d", "e", "f", "g")).forEach(e -> {});
+
+        assertEquals(SELECT + " WHERE (`name` IN (?,?,?,?))", queryResult.getSql());
+        assertEquals(new HashSet<>(Arrays.asList("d", "e", "f", "g")), new HashSet<>(queryResult.getValues()));
+        assertEquals(1, predicateCache.size());
+
+        stream().filter(NAME.notIn("h", "i", "j")).forEach(e -> {});
+
+        assertEquals(SELECT + " WHERE (NOT((`name` IN (?,?,?,?))))", queryResult.getSql());
+        assertEquals(2, predicateCache.size());
+
+        stream().filter(NAME.in("c")).forEach(e -> {});
+
+        assertEquals(SELECT + " WHERE (`name` IN (?))", queryResult.getSql());
+        assertEquals(Collections.singletonList("c"), queryResult.getValues());
+        assertEquals(3, predicateCache.size());
+    }
+
+    @Test
+    public void testFilterSetToUpdaterIsRenderedAsUpdate() {
+        stream()
+            .filter(ID.lessThan(5))
+            .map(NAME.setTo("x"))
+            .forEach(UPDATER);
+
+        assertEquals("UPDATE `my_table` SET `name` = ? WHERE (`id` < ?)", updateSql);
+        assertEquals(Arrays.asList("x", 5), updateValues);
+        assertEquals(SELECT, queryResult.getSql()); // No select was rendered
+    }
+
+    @Test
+    public void testMapUpdaterCountReturnsUpdatedRows() {
+        final long count = stream()
+            .filter(NAME.equal("a"))
+            .map(ID.setTo(1))
+            .map(NAME.setTo("b"))
+            .map(UPDATER)
+            .count();
+
+        assertEquals("UPDATE `my_table` SET `id` = ?, `name` = ? WHERE (`name` = ?)", updateSql);
+        assertEquals(Arrays.asList(1, "b", "a"), updateValues);
+        assertEquals(3L, count);
+    }
+
+    @Test
+    public void testOpaqueMapperIsNotRenderedAsUpdate() {
+        stream()
+            .filter(ID.lessThan(5))
+            .map(e -> e)
+            .forEach(UPDATER);
+
+        assertEquals(null, updateSql);
+    }
+
+    @Test
+    public void testFilterRemoverIsRenderedAsDelete() {
+        stream()
+            .filter(ID.greaterThan(2))
+            .filter(NAME.isNotNull())
+            .forEach(REMOVER);
+
+        assertEquals("DELETE FROM `my_table` WHERE (`id` > ?) AND (`name` IS NOT NULL)", updateSql);
+        assertEquals(Collections.singletonList(2), updateValues);
+        assertEquals(SELECT, queryResult.getSql()); // No select was rendered
+    }
+
+    @Test
+    public void testMapRemoverCountReturnsRemovedRows() {
+        final long count = stream()
+            .map(REMOVER)
+            .count();
+
+        assertEquals("DELETE FROM `my_table`", updateSql);
+        assertEquals(Collections.emptyList(), updateValues);
+        assertEquals(3L, count);
+    }
+
+    @Test
+    public void testParallelStreamIsPartitioned() {
+        partitioned = true;
+        final List<Entity> result = stream()
+            .parallel()
+            .filter(ID.greaterOrEqual(2))
+            .collect(toList());
+
+        assertEquals(SELECT + " WHERE (`id` >= ?)", partitionSql);
+        assertEquals(Collections.singletonList(2), partitionValues);
+        assertEquals(new HashSet<>(collect(ID.greaterOrEqual(2))), new HashSet<>(result));
+    }
+
+    @Test
+    public void testSortedOrSequentialStreamIsNotPartitioned() {
+        partitioned = true;
+        stream().parallel().sorted(ID.comparator()).forEach(e -> {});
+        stream().filter(ID.greaterOrEqual(2)).forEach(e -> {});
+        assertEquals(null, partitionSql);
+    }
+
+    protected Stream<Entity> stream() {
+        if (predicateCache == null) {
+            predicateCache = new SqlPredicateCache<>(predicateView, SqlStreamTerminatorTest::columnName);
+        }
+
+        final SqlStreamTerminator<Entity> terminator = new SqlStreamTerminator<>(
+            new TestDbmsType(predicateView),
+            SELECT,
+            SELECT_COUNT,
+            this::executeAndGet,
+            SqlStreamTerminatorTest::columnName,
+            predicateCache,
+            getter -> getter == INT_ID.getter() ? INT_ID 
+                : getter == ID.getter() ? ID 
+                : getter == NAME.getter() ? NAME 
+                : getter == UNREADABLE_NAME.getter() ? UNREADABLE_NAME 
+                : null,
+            SqlStreamTerminatorTest::columnReader,
+            "`my_table`",
+            new TestBulkExecutor(),
+            new TestPartitioner(),
+            queryResult
+        );
+
+        final Supplier<BaseStream<?, ?>> initialSupplier = queryResult::stream;
+        return new ReferenceStreamBuilder<>(new PipelineImpl<>(initialSupplier), terminator);
+    }
+
+    private <T> T executeAndGet(String sql, List<Object> values, SqlFunction<ResultSet, T> rsMapper) {
+        executedSql = sql;
+        executedValues = values;
+        try {
+            return rsMapper.apply(resultSetOf(row));
+        } catch (final SQLException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    // Returns a ResultSet positioned at a single row with the given values
+    private static ResultSet resultSetOf(Object... row) {
+        final AtomicBoolean wasNull = new AtomicBoolean();
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                if ("wasNull".equals(method.getName())) {
+                    return wasNull.get();
+                }
+                final Number value = (Number) row[(Integer) args[0] - 1];
+                wasNull.set(value == null);
+                switch (method.getName()) {
+                    case "getBoolean": return value != null && value.intValue() != 0;
+                    case "getInt": return value == null ? 0 : value.intValue();
+                    case "getLong": return value == null ? 0L : value.longValue();
+                    case "getDouble": return value == null ? 0d : value.doubleValue();
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    private static final Updater<Entity> UPDATER = e -> e;
+    private static final Remover<Entity> REMOVER = e -> e;
+
+    private final class TestBulkExecutor implements SqlBulkExecutor {
+
+        @Override
+        public boolean isUpdater(Object operation) {
+            return operation == UPDATER;
+        }
+
+        @Override
+        public long executeUpdate(String sql, List<Object> values) {
+            updateSql = sql;
+            updateValues = values;
+            return 3;
+        }
+
+        @Override
+        public boolean isRemover(Object operation) {
+            return operation == REMOVER;
+        }
+
+        @Override
+        public long executeDelete(Object remover, String sqlWhere, List<Object> values) {
+            return executeUpdate("DELETE FROM `my_table`" + sqlWhere, values);
+        }
+    }
+
+    private final class TestPartitioner implements SqlStreamPartitioner {
+
+        @Override
+        public boolean isPartitioned() {
+            return partitioned;
+        }
+
+        @Override
+        public <T> Stream<T> stream(String sqlSelect, String sqlWhere, List<Object> values, SqlFunction<ResultSet, T> rsMapper) {
+            partitionSql = sqlSelect + sqlWhere;
+            partitionValues = values;
+            @SuppressWarnings("unchecked")
+            final Stream<T> result = (Stream<T>) entities.parallelStream();
+            return result;
+        }
+    }
+
+    private static SqlFunction<ResultSet, Object> columnReader(Field<Entity> field) {
+        if (field == ID || field == INT_ID) {
+            return rs -> rs.getInt(1);
+        } else if (field == NAME) {
+            return rs -> rs.getString(1);
+        } else {
+            return null;
+        }
+    }
+
+    private static String columnName(Field<Entity> field) {
+        return "`" + field.identifier().getColumnName() + "`";
+    }
+
+    private static final class TestQueryResult implements AsynchronousQueryResult<Entity> {
+
+        private final List<Entity> entities;
+        private String sql;
+        private List<?> values;
+        private SqlFunction<ResultSet, Entity> rsMapper;
+        private boolean ordered;
+
+        private TestQueryResult(List<Entity> entities) {
+            this.entities = entities;
+            this.sql = SELECT;
+            this.values = Collections.emptyList();
+        }
+
+        @Override
+        public Stream<Entity> stream() {
+            if (rsMapper == null) {
+                return entities.stream();
+            }
+            // Read the selected column from each entity as if it was a row.
+            // The mapper might have been replaced by one that returns values
+            // of another type than the entity.
+            final SqlFunction<ResultSet, ?> mapper = rsMapper;
+            @SuppressWarnings("unchecked")
+            final Stream<Entity> result = (Stream<Entity>) (Stream<?>) entities.stream().map(e -> {
+                try {
+                    return mapper.apply(resultSetOf(e));
+                } catch (final SQLException ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+            return result;
+        }
+
+        private static ResultSet resultSetOf(Entity entity) {
+            return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInt": return entity.getId();
+                        case "getString": return entity.getName();
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+            );
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public void setSql(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public List<?> getValues() {
+            return values;
+        }
+
+        @Override
+        public void setValues(List<?> values) {
+            this.values = values;
+        }
+
+        @Override
+        public SqlFunction<ResultSet, Entity> getRsMapper() {
+            return rsMapper;
+        }
+
+        @Override
+        public void setRsMapper(SqlFunction<ResultSet, Entity> rsMapper) {
+            this.rsMapper = rsMapper;
+        }
+
+        @Override
+        public boolean isOrdered() {
+            return ordered;
+        }
+
+        @Override
+        public void setOrdered(boolean ordered) {
+            this.ordered = ordered;
+        }
+    }
+
+    private static final class TestDbmsType extends AbstractDbmsType {
+
+        private final FieldPredicateView predicateView;
+
+        private TestDbmsType(FieldPredicateView predicateView) {
+            this.predicateView = predicateView;
+        }
+
+        @Override
+        public String getName() {
+            return "Test";
+        }
+
+        @Override
+        public String getDriverManagerName() {
+            return "Test JDBC Driver";
+        }
+
+        @Override
+        public int getDefaultPort() {
+            return 0;
+        }
+
+        @Override
+        public String getDbmsNameMeaning() {
+            return "Just a name";
+        }
+
+        @Override
+        public String getDriverName() {
+            return "test.Driver";
+        }
+
+        @Override
+        public DbmsMetadataHandler getMetadataHandler() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DbmsOperationHandler getOperationHandler() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ConnectionUrlGenerator getConnectionUrlGenerator() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FieldPredicateView getFieldPredicateView() {
+            return predicateView;
+        }
+
+        @Override
+        public SkipLimitSupport getSkipLimitSupport() {
+            return SkipLimitSupport.STANDARD;
+        }
+
+        @Override
+        public String applySkipLimit(String originalSql, List<Object> values, long skip, long limit) {
+            values.add(limit);
+            values.add(skip);
+            return originalSql + " LIMIT ? OFFSET ?";
+        }
+    }
+}
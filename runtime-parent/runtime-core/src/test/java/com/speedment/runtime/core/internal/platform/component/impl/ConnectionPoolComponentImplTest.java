@@ -21,13 +21,27 @@
  */
 package com.speedment.runtime.core.internal.platform.component.impl;
 
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.internal.DbmsImpl;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.PasswordComponent;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.db.ConnectionUrlGenerator;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.component.ConnectionPoolComponentImpl;
+import com.speedment.runtime.core.internal.component.DbmsHandlerComponentImpl;
+import com.speedment.runtime.core.internal.component.PasswordComponentImpl;
 import org.junit.*;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -179,6 +193,188 @@ public class ConnectionPoolComponentImplTest {
         }
     }
 
+    @Test
+    public void testUnboundedByDefault() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        assertEquals(Integer.MAX_VALUE, instance.getMaxTotalSize());
+        instance.setMaxWaitTime(10);
+        for (int i = 0; i < 256; i++) {
+            instance.getConnection(uri, user, password);
+        }
+        assertEquals(0, instance.getTimeoutCount());
+        assertEquals(256, instance.leaseSize());
+    }
+
+    @Test
+    public void testReturnWithoutLeaseIsIgnored() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        final PoolableConnection connection = instance.getConnection(uri, user, password);
+        connection.close();
+        connection.close();
+        instance.returnConnection(connection);
+        assertEquals(1, instance.poolSize());
+        assertSame(connection, instance.getConnection(uri, user, password));
+        assertNotSame(connection, instance.getConnection(uri, user, password));
+    }
+
+    @Test
+    public void testMaxTotalSizeTimesOut() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        instance.setMaxTotalSize(2);
+        instance.setMaxWaitTime(10);
+        final PoolableConnection first = instance.getConnection(uri, user, password);
+        instance.getConnection(uri, user, password);
+        try {
+            instance.getConnection(uri, user, password);
+            fail("Expected a timeout");
+        } catch (final SpeedmentException ex) {
+            // Expected
+        }
+        assertEquals(1, instance.getTimeoutCount());
+        first.close();
+        assertNotNull(instance.getConnection(uri, user, password));
+        assertEquals(3, instance.getLeaseCount());
+        assertEquals(2, instance.getCreatedCount());
+    }
+
+    @Test
+    public void testWaitingThreadGetsReturnedConnection() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        instance.setMaxTotalSize(1);
+        final PoolableConnection leased = instance.getConnection(uri, user, password);
+        final CompletableFuture<PoolableConnection> waiting = CompletableFuture.supplyAsync(
+            () -> instance.getConnection(uri, user, password)
+        );
+        Thread.sleep(50);
+        assertFalse(waiting.isDone());
+        leased.close();
+        assertSame(leased, waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(1, instance.getCreatedCount());
+    }
+
+    @Test
+    public void testMaintainOpensMinIdleConnections() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        instance.setMaxAge(60 * 60_000);
+        instance.setMinIdleSize(3);
+        instance.getConnection(uri, user, password).close();
+        assertEquals(1, instance.poolSize());
+        instance.maintain();
+        assertEquals(3, instance.poolSize());
+        assertEquals(3, instance.getCreatedCount());
+        instance.getConnection(uri, user, password);
+        assertEquals(3, instance.getCreatedCount()); // Reused an idle connection
+    }
+
+    @Test
+    public void testMaintainEvictsIdleAndExpiringConnections() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        instance.setMaxAge(60 * 60_000);
+        instance.setMinIdleSize(1);
+        instance.setMaxIdleTime(0);
+        final List<PoolableConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            connections.add(instance.getConnection(uri, user, password));
+        }
+        for (PoolableConnection connection : connections) {
+            connection.close();
+        }
+        assertEquals(3, instance.poolSize());
+        Thread.sleep(5);
+        instance.maintain();
+        assertEquals(1, instance.poolSize());
+
+        // Connections that would expire before the next run are replaced
+        instance.setMaintenanceInterval(2 * 60 * 60_000);
+        instance.maintain();
+        assertEquals(1, instance.poolSize());
+        assertEquals(4, instance.getCreatedCount());
+    }
+
+    @Test
+    public void testThreadReusesLastReturnedConnection() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        final PoolableConnection first = instance.getConnection(uri, user, password);
+        final PoolableConnection second = instance.getConnection(uri, user, password);
+        second.close();
+        first.close();
+        assertSame(first, instance.getConnection(uri, user, password));
+        assertSame(second, instance.getConnection(uri, user, password));
+        assertEquals(2, instance.getCreatedCount());
+    }
+
+    @Test
+    public void testDbmsIsResolvedAgainWhenInvalidated() throws Exception {
+        final DbmsType dbmsType = (DbmsType) Proxy.newProxyInstance(
+            DbmsType.class.getClassLoader(), 
+            new Class<?>[] {DbmsType.class}, 
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName" : return "TestDbms";
+                    case "getConnectionUrlGenerator" : 
+                        return (ConnectionUrlGenerator) d -> "jdbc:test://" + d.getIpAddress().orElse("");
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        final DbmsHandlerComponent dbmsHandlerComponent = new DbmsHandlerComponentImpl();
+        dbmsHandlerComponent.install(dbmsType);
+        final PasswordComponent passwordComponent = new PasswordComponentImpl();
+        inject("dbmsHandlerComponent", dbmsHandlerComponent);
+        inject("passwordComponent", passwordComponent);
+
+        final Map<String, Object> data = new HashMap<>();
+        data.put(Dbms.NAME, "db");
+        data.put(Dbms.TYPE_NAME, "TestDbms");
+        data.put(Dbms.IP_ADDRESS, "alpha");
+        data.put(Dbms.USERNAME, "tryggve");
+        final Dbms dbms = new DbmsImpl(new ProjectImpl(new HashMap<>()), data);
+        passwordComponent.put(dbms, "arne".toCharArray());
+
+        final PoolableConnection first = instance.getConnection(dbms);
+        assertEquals("jdbc:test://alpha", first.getUri());
+        first.close();
+        assertSame(first, instance.getConnection(dbms));
+        first.close();
+
+        // Changes are not picked up until the dbms is invalidated
+        data.put(Dbms.IP_ADDRESS, "beta");
+        assertSame(first, instance.getConnection(dbms));
+        first.close();
+
+        instance.invalidate(dbms);
+        final PoolableConnection second = instance.getConnection(dbms);
+        assertEquals("jdbc:test://beta", second.getUri());
+        second.close();
+
+        passwordComponent.put(dbms, "bertil".toCharArray());
+        instance.invalidate(dbms);
+        final PoolableConnection third = instance.getConnection(dbms);
+        assertArrayEquals("bertil".toCharArray(), third.getPassword());
+        assertEquals(3, instance.getCreatedCount());
+    }
+
+    private void inject(String fieldName, Object value) throws Exception {
+        final Field field = ConnectionPoolComponentImpl.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
     /**
      * Test of setPoolSize method, of class ConnectionPoolComponentImpl.
      */
@@ -409,7 +605,7 @@ public class ConnectionPoolComponentImplTest {
 
         @Override
         public boolean isValid(int timeout) throws SQLException {
-            throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            return !closed;
         }
 
         @Override
@@ -0,0 +1,221 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PoolableConnectionImplTest {
+
+    private List<String> prepared;
+    private List<String> closed;
+    private Map<String, Object> settings;
+    private List<Boolean> resultSetsClosed;
+
+    @Before
+    public void setUp() {
+        prepared = new ArrayList<>();
+        closed   = new ArrayList<>();
+        settings = new HashMap<>();
+        resultSetsClosed = new ArrayList<>();
+    }
+
+    @Test
+    public void testReuseStatement() throws Exception {
+        final PoolableConnectionImpl connection = connection(4);
+
+        try (final PreparedStatement ps = connection.prepareStatement("SELECT 1")) {
+            ps.setObject(1, 42);
+        }
+        try (final PreparedStatement ps = connection.prepareStatement("SELECT 1")) {
+            assertSame(connection, ps.getConnection());
+        }
+
+        assertEquals(1, prepared.size());
+        assertEquals(0, closed.size());
+        assertEquals(1, connection.getStatementCacheHits());
+        assertEquals(1, connection.getStatementCacheMisses());
+        assertEquals(0.5, connection.getStatementCacheHitRatio(), 0.0);
+        assertEquals(1, connection.cachedStatementCount());
+    }
+
+    @Test
+    public void testLeasedStatementIsNotShared() throws Exception {
+        final PoolableConnectionImpl connection = connection(4);
+
+        final PreparedStatement first  = connection.prepareStatement("SELECT 1");
+        final PreparedStatement second = connection.prepareStatement("SELECT 1");
+        assertEquals(2, prepared.size());
+
+        first.close();
+        second.close();
+        assertTrue(first.isClosed());
+        assertEquals("Only one statement per key is retained", 1, closed.size());
+        assertEquals(1, connection.cachedStatementCount());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        final PoolableConnectionImpl connection = connection(2);
+
+        connection.prepareStatement("SELECT a").close();
+        connection.prepareStatement("SELECT b").close();
+        connection.prepareStatement("SELECT a").close();
+        connection.prepareStatement("SELECT c").close();
+
+        assertEquals(1, closed.size());
+        assertEquals("SELECT b", closed.get(0));
+        assertEquals(1, connection.getStatementCacheEvictions());
+        assertEquals(2, connection.cachedStatementCount());
+
+        connection.rawClose();
+        assertEquals(3, closed.size());
+        assertEquals(0, connection.cachedStatementCount());
+    }
+
+    @Test
+    public void testSettingsAreResetForNextLessee() throws Exception {
+        final PoolableConnectionImpl connection = connection(4);
+
+        try (final PreparedStatement ps = connection.prepareStatement("SELECT 1")) {
+            ps.setFetchSize(100);
+            ps.setFetchDirection(ResultSet.FETCH_REVERSE);
+            ps.setMaxRows(10);
+            ps.setQueryTimeout(30);
+        }
+
+        try (final PreparedStatement ps = connection.prepareStatement("SELECT 1")) {
+            assertEquals(1, prepared.size());
+            assertEquals(0, ps.getFetchSize());
+            assertEquals(ResultSet.FETCH_FORWARD, ps.getFetchDirection());
+            assertEquals(0, ps.getMaxRows());
+            assertEquals(0, ps.getQueryTimeout());
+        }
+    }
+
+    @Test
+    public void testResultSetIsClosedOnReturn() throws Exception {
+        final PoolableConnectionImpl connection = connection(4);
+
+        try (final PreparedStatement ps = connection.prepareStatement("SELECT 1")) {
+            ps.executeQuery();
+        }
+
+        assertEquals(Collections.singletonList(true), resultSetsClosed);
+        assertEquals(1, connection.cachedStatementCount());
+    }
+
+    @Test
+    public void testStatementWithOtherSettingsIsNotReused() throws Exception {
+        final PoolableConnectionImpl connection = connection(4);
+
+        try (final PreparedStatement ps = connection.prepareStatement("SELECT 1")) {
+            ps.setPoolable(false);
+        }
+        connection.prepareStatement("SELECT 1").close();
+
+        assertEquals(2, prepared.size());
+        assertEquals(1, closed.size());
+        assertEquals(1, connection.cachedStatementCount());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final PoolableConnectionImpl connection = connection(0);
+
+        connection.prepareStatement("SELECT 1").close();
+        connection.prepareStatement("SELECT 1").close();
+
+        assertEquals(2, prepared.size());
+        assertEquals(2, closed.size());
+        assertEquals(0, connection.getStatementCacheHits());
+        assertEquals(0.0, connection.getStatementCacheHitRatio(), 0.0);
+    }
+
+    private PoolableConnectionImpl connection(int statementCacheSize) {
+        final Connection raw = (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "prepareStatement" : return statement((String) args[0]);
+                    case "close"            : return null;
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        return new PoolableConnectionImpl("uri", "user", null, raw, Long.MAX_VALUE, statementCacheSize);
+    }
+
+    private ResultSet resultSet() {
+        final int index = resultSetsClosed.size();
+        resultSetsClosed.add(false);
+        return (ResultSet) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close"    : resultSetsClosed.set(index, true); return null;
+                    case "isClosed" : return resultSetsClosed.get(index);
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    private PreparedStatement statement(String sql) {
+        prepared.add(sql);
+        final boolean[] isClosed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{PreparedStatement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close"             : isClosed[0] = true; closed.add(sql); return null;
+                    case "isClosed"          : return isClosed[0];
+                    case "getFetchSize"      : return settings.getOrDefault("FetchSize", 0);
+                    case "getFetchDirection" : return settings.getOrDefault("FetchDirection", ResultSet.FETCH_FORWARD);
+                    case "getMaxRows"        : return settings.getOrDefault("MaxRows", 0);
+                    case "getQueryTimeout"   : return settings.getOrDefault("QueryTimeout", 0);
+                    case "setFetchSize"      :
+                    case "setFetchDirection" :
+                    case "setMaxRows"        :
+                    case "setQueryTimeout"   : settings.put(method.getName().substring(3), args[0]); return null;
+                    case "executeQuery"      : return resultSet();
+                    case "setObject"         :
+                    case "setPoolable"       :
+                    case "clearWarnings"     :
+                    case "clearParameters"   : return null;
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
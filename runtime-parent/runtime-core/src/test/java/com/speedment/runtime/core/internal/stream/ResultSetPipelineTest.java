@@ -0,0 +1,154 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class ResultSetPipelineTest {
+
+    private static final int ROWS = 10_000;
+
+    @Test
+    public void testRowsAreMappedInOrder() {
+        final AtomicInteger nextCalls = new AtomicInteger();
+        final ResultSet resultSet = resultSet(ROWS, nextCalls);
+
+        try (final ResultSetPipeline<String> pipeline = new ResultSetPipeline<>(
+                resultSet, rs -> rs.getInt(1) + ":" + rs.getString("name") + ":" + rs.getString(2), 4)) {
+
+            final List<String> mapped = StreamUtil.asStream(pipeline, ParallelStrategy.computeIntensityDefault(), true)
+                .collect(toList());
+
+            assertEquals(ROWS, mapped.size());
+            for (int i = 0; i < ROWS; i++) {
+                final String name = i % 10 == 0 ? "null" : "n" + i;
+                assertEquals(i + ":" + name + ":" + name, mapped.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testWasNull() {
+        try (final ResultSetPipeline<Boolean> pipeline = new ResultSetPipeline<>(
+                resultSet(20, new AtomicInteger()), rs -> {
+                    rs.getString(2);
+                    return rs.wasNull();
+                }, 2)) {
+
+            final List<Boolean> mapped = StreamUtil.asStream(pipeline, ParallelStrategy.computeIntensityDefault(), true)
+                .collect(toList());
+
+            assertEquals(
+                IntStream.range(0, 20).mapToObj(i -> i % 10 == 0).collect(toList()),
+                mapped
+            );
+        }
+    }
+
+    @Test
+    public void testMapperFailureIsPropagated() {
+        try (final ResultSetPipeline<Integer> pipeline = new ResultSetPipeline<>(
+                resultSet(ROWS, new AtomicInteger()), rs -> {
+                    final int id = rs.getInt(1);
+                    if (id == 500) {
+                        throw new SQLException("Failed on " + id);
+                    }
+                    return id;
+                }, 2)) {
+
+            final AtomicInteger consumed = new AtomicInteger();
+            try {
+                pipeline.forEachRemaining(id -> assertEquals(consumed.getAndIncrement(), (int) id));
+                fail("Expected an exception");
+            } catch (final SpeedmentException ex) {
+                assertTrue(ex.getCause() instanceof SQLException);
+            }
+            assertTrue(consumed.get() <= 500);
+            assertFalse(pipeline.hasNext());
+        }
+    }
+
+    @Test
+    public void testCloseStopsReading() throws InterruptedException {
+        final AtomicInteger nextCalls = new AtomicInteger();
+        final ResultSetPipeline<Integer> pipeline = new ResultSetPipeline<>(
+            resultSet(1_000_000, nextCalls), rs -> rs.getInt(1), 2
+        );
+
+        assertEquals(0, (int) pipeline.next());
+        pipeline.close();
+
+        final int calls = nextCalls.get();
+        assertTrue(calls < 1_000_000);
+        Thread.sleep(200);
+        assertEquals(calls, nextCalls.get());
+    }
+
+    /**
+     * Creates a result set with an id column and a name column that is 
+     * {@code null} for every tenth row.
+     */
+    private static ResultSet resultSet(int rows, AtomicInteger nextCalls) {
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+            ResultSetMetaData.class.getClassLoader(),
+            new Class<?>[]{ResultSetMetaData.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount" : return 2;
+                    case "getColumnLabel" : return ((int) args[0]) == 1 ? "ID" : "NAME";
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        final AtomicInteger row = new AtomicInteger(-1);
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMetaData" : return metaData;
+                    case "next" : {
+                        nextCalls.incrementAndGet();
+                        return row.incrementAndGet() < rows;
+                    }
+                    case "getObject" : {
+                        final int id = row.get();
+                        if (((int) args[0]) == 1) {
+                            return id;
+                        }
+                        return id % 10 == 0 ? null : "n" + id;
+                    }
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
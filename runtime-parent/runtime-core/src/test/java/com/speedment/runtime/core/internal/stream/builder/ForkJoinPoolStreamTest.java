@@ -0,0 +1,104 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.builder;
+
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminator;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ForkJoinPoolStreamTest {
+
+    private static final StreamTerminator TERMINATOR = new StreamTerminator() {};
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testParallelTerminalRunsInPool() {
+        final Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+
+        final long sum = stream(pool)
+            .parallel()
+            .peek(i -> pools.add(ForkJoinTask.getPool()))
+            .mapToLong(Integer::longValue)
+            .sum();
+
+        assertEquals(999L * 1000 / 2, sum);
+        assertEquals(1, pools.size());
+        assertSame(pool, pools.iterator().next());
+    }
+
+    @Test
+    public void testSequentialTerminalRunsInCallingThread() {
+        final Thread caller = Thread.currentThread();
+        assertTrue(stream(pool).allMatch(i -> Thread.currentThread() == caller));
+    }
+
+    @Test
+    public void testStreamWithoutPool() {
+        assertEquals(1000, stream(null).parallel().count());
+    }
+
+    @Test
+    public void testExceptionIsRethrown() {
+        final IllegalStateException thrown = new IllegalStateException();
+        try {
+            stream(pool).parallel().forEach(i -> {
+                if (i == 500) {
+                    throw thrown;
+                }
+            });
+            fail("Expected an exception");
+        } catch (final IllegalStateException ex) {
+            assertSame(thrown, ex);
+        }
+    }
+
+    @Test
+    public void testStrategyCarriesPool() {
+        final ParallelStrategy strategy = ParallelStrategy.computeIntensityHigh().withForkJoinPool(pool);
+        assertSame(pool, strategy.getForkJoinPool().get());
+        assertFalse(ParallelStrategy.computeIntensityHigh().getForkJoinPool().isPresent());
+    }
+
+    private static Stream<Integer> stream(ForkJoinPool pool) {
+        final PipelineImpl<Integer> pipeline = new PipelineImpl<>(() -> IntStream.range(0, 1000).boxed());
+        pipeline.setForkJoinPool(pool);
+        return new ReferenceStreamBuilder<>(pipeline, TERMINATOR);
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.AdaptiveParallelStrategy;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveParallelStrategyTest {
+
+    private static final int SIZE = 1 << 20;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveTargetBatchTime() {
+        ParallelStrategy.computeIntensityAdaptive(0);
+    }
+
+    @Test
+    public void testAllElementsAreVisitedOnce() {
+        final AdaptiveParallelStrategy strategy = ParallelStrategy.computeIntensityAdaptive();
+        final BitSet seen = new BitSet(SIZE);
+
+        StreamSupport.stream(strategy.spliteratorUnknownSize(iterator(SIZE), 0), true)
+            .forEach(i -> {
+                synchronized (seen) {
+                    assertFalse("Seen twice: " + i, seen.get(i));
+                    seen.set(i);
+                }
+            });
+
+        assertEquals(SIZE, seen.cardinality());
+        assertTrue(strategy.getBatchSizes().length > 0);
+    }
+
+    @Test
+    public void testFirstBatchHoldsOneElement() {
+        final AdaptiveParallelStrategy strategy = ParallelStrategy.computeIntensityAdaptive();
+        final Spliterator<Integer> spliterator = strategy.spliteratorUnknownSize(iterator(16), 0);
+
+        assertEquals(1, spliterator.trySplit().estimateSize());
+        assertEquals(2, spliterator.trySplit().estimateSize());
+        assertArrayEquals(new int[]{1, 2}, strategy.getBatchSizes());
+        assertTrue(Double.isNaN(strategy.getElementCost()));
+    }
+
+    @Test
+    public void testCheapElementsGrowBatches() {
+        final AdaptiveParallelStrategy strategy = ParallelStrategy.computeIntensityAdaptive();
+
+        final long sum = StreamSupport.stream(strategy.spliteratorUnknownSize(iterator(SIZE), 0), true)
+            .mapToLong(Integer::longValue)
+            .sum();
+
+        assertEquals((long) SIZE * (SIZE - 1) / 2, sum);
+        final int[] sizes = strategy.getBatchSizes();
+        assertTrue(sizes.length > 1);
+        assertTrue(max(sizes) >= 1024);
+    }
+
+    @Test
+    public void testExpensiveElementsKeepBatchesSmall() {
+        final AdaptiveParallelStrategy strategy = ParallelStrategy.computeIntensityAdaptive(1_000_000);
+
+        final long count = StreamSupport.stream(strategy.spliteratorUnknownSize(iterator(256), 0), true)
+            .peek(i -> LockSupport.parkNanos(2_000_000))
+            .count();
+
+        assertEquals(256, count);
+        assertFalse(Double.isNaN(strategy.getElementCost()));
+        assertTrue(max(strategy.getBatchSizes()) <= 16);
+    }
+
+    private static int max(int[] sizes) {
+        return IntStream.of(sizes).max().orElse(0);
+    }
+
+    private static Iterator<Integer> iterator(int size) {
+        return IntStream.range(0, size).boxed().iterator();
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.*;
+
+public class BatchBufferTest {
+
+    private static final int SIZE = 100_000;
+    private static final int MAX_ROWS = 256;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMaxBufferedRows() {
+        ParallelStrategy.computeIntensityHigh(0);
+    }
+
+    @Test
+    public void testArraysAreRecycled() {
+        final BatchBuffer buffer = new BatchBuffer(MAX_ROWS);
+        final Object[] array = buffer.borrow(64);
+        buffer.recycle(array);
+
+        assertSame(array, buffer.borrow(32));
+        assertNotSame(array, buffer.borrow(32));
+        buffer.recycle(new Object[MAX_ROWS]);
+        buffer.recycle(array); // Would exceed the budget
+        assertNotSame(array, buffer.borrow(64));
+    }
+
+    @Test
+    public void testAcquireWaitsForRelease() throws Exception {
+        final BatchBuffer buffer = new BatchBuffer(MAX_ROWS);
+        assertTrue(buffer.acquire(MAX_ROWS));
+
+        final CompletableFuture<Boolean> acquired = 
+            CompletableFuture.supplyAsync(() -> buffer.acquire(1));
+
+        Thread.sleep(50);
+        assertFalse(acquired.isDone());
+        buffer.release(1);
+        assertTrue(acquired.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAcquireGivesUpWhenStalled() {
+        final BatchBuffer buffer = new BatchBuffer(MAX_ROWS, 50);
+        assertTrue(buffer.acquire(MAX_ROWS));
+        assertFalse(buffer.acquire(1));
+    }
+
+    @Test
+    public void testAcquireWaitsForSlowConsumer() throws Exception {
+        final BatchBuffer buffer = new BatchBuffer(MAX_ROWS, 50);
+        assertTrue(buffer.acquire(MAX_ROWS));
+        buffer.traversalStarted();
+
+        final CompletableFuture<Boolean> acquired = 
+            CompletableFuture.supplyAsync(() -> buffer.acquire(1));
+
+        Thread.sleep(250); // Longer than the stall time
+        assertFalse(acquired.isDone());
+        buffer.traversalEnded();
+        buffer.release(1);
+        assertTrue(acquired.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBufferedRowsAreBounded() {
+        final AtomicLong produced = new AtomicLong();
+        final AtomicLong consumed = new AtomicLong();
+        final AtomicLong maxOutstanding = new AtomicLong();
+        final BitSet seen = new BitSet(SIZE);
+
+        final Iterator<Integer> source = IntStream.range(0, SIZE)
+            .peek(i -> {
+                final long outstanding = produced.incrementAndGet() - consumed.get();
+                maxOutstanding.accumulateAndGet(outstanding, Math::max);
+            })
+            .boxed()
+            .iterator();
+
+        final ParallelStrategy strategy = ParallelStrategy.of(MAX_ROWS, new int[]{1, 16, 1024});
+        StreamSupport.stream(strategy.spliteratorUnknownSize(source, 0), true)
+            .forEach(i -> {
+                synchronized (seen) {
+                    assertFalse("Seen twice: " + i, seen.get(i));
+                    seen.set(i);
+                }
+                consumed.incrementAndGet();
+            });
+
+        assertEquals(SIZE, seen.cardinality());
+        final int threads = Runtime.getRuntime().availableProcessors() + 1;
+        assertTrue(
+            "Outstanding rows: " + maxOutstanding.get(), 
+            maxOutstanding.get() <= MAX_ROWS + threads
+        );
+    }
+}
@@ -186,7 +186,8 @@ public class ComputeIntensityParallelStrategyTest {
                 ParallelStrategy.computeIntensityDefault(),
                 ParallelStrategy.computeIntensityMedium(),
                 ParallelStrategy.computeIntensityHigh(),
-                ParallelStrategy.computeIntensityExtreme()
+                ParallelStrategy.computeIntensityExtreme(),
+                ParallelStrategy.computeIntensityAdaptive()
         );
     }
 
@@ -50,6 +50,11 @@ public final class ByteFieldComparatorImpl<ENTITY, D> implements ByteFieldCompar
         return reversed;
     }
     
+    @Override
+    public NullOrder getNullOrder() {
+        return NullOrder.NONE;
+    }
+    
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
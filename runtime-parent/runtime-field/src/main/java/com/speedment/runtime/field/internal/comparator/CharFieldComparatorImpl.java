@@ -50,6 +50,11 @@ public final class CharFieldComparatorImpl<ENTITY, D> implements CharFieldCompar
         return reversed;
     }
     
+    @Override
+    public NullOrder getNullOrder() {
+        return NullOrder.NONE;
+    }
+    
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
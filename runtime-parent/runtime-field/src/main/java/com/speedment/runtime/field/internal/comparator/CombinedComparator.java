@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.comparator;
+
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Comparator} that is composed of a number of other comparators that
+ * are consulted in order until one of them reports a difference. This is the
+ * result of chaining a {@link FieldComparator} using 
+ * {@link Comparator#thenComparing(Comparator)}.
+ *
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.1
+ */
+public interface CombinedComparator<ENTITY> extends Comparator<ENTITY> {
+
+    /**
+     * Returns a stream of the comparators that this {@code Comparator} is 
+     * composed of, in the order they are consulted.
+     *
+     * @return  stream of comparators
+     */
+    Stream<Comparator<? super ENTITY>> stream();
+
+    /**
+     * Returns if this {@code Comparator} is reversed. If it is, the outcome of
+     * every composed comparator is reversed.
+     *
+     * @return  if this is reversed
+     */
+    boolean isReversed();
+
+}
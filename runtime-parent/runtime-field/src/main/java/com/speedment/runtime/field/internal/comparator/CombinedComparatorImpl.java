@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.comparator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.speedment.common.invariant.NullUtil.requireNonNullElements;
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ *
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.1
+ */
+public final class CombinedComparatorImpl<ENTITY> implements CombinedComparator<ENTITY> {
+
+    private final List<Comparator<? super ENTITY>> comparators;
+    private final boolean reversed;
+
+    public CombinedComparatorImpl(List<Comparator<? super ENTITY>> comparators, boolean reversed) {
+        this.comparators = Collections.unmodifiableList(
+            new ArrayList<>(requireNonNullElements(comparators))
+        );
+        this.reversed = reversed;
+    }
+
+    @Override
+    public Stream<Comparator<? super ENTITY>> stream() {
+        return comparators.stream();
+    }
+
+    @Override
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    @Override
+    public Comparator<ENTITY> reversed() {
+        return new CombinedComparatorImpl<>(comparators, !reversed);
+    }
+
+    @Override
+    public Comparator<ENTITY> thenComparing(Comparator<? super ENTITY> other) {
+        requireNonNull(other);
+        if (reversed) {
+            return new CombinedComparatorImpl<>(asList(this, other), false);
+        } else {
+            final List<Comparator<? super ENTITY>> list = new ArrayList<>(comparators);
+            list.add(other);
+            return new CombinedComparatorImpl<>(list, false);
+        }
+    }
+
+    @Override
+    public int compare(ENTITY first, ENTITY second) {
+        for (final Comparator<? super ENTITY> comparator : comparators) {
+            final int compare = comparator.compare(first, second);
+            if (compare != 0) {
+                return reversed ? -Integer.signum(compare) : compare;
+            }
+        }
+        return 0;
+    }
+
+}
@@ -50,6 +50,11 @@ public final class DoubleFieldComparatorImpl<ENTITY, D> implements DoubleFieldCo
         return reversed;
     }
     
+    @Override
+    public NullOrder getNullOrder() {
+        return NullOrder.NONE;
+    }
+    
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
@@ -0,0 +1,72 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.comparator;
+
+import com.speedment.runtime.field.Field;
+
+import java.util.Comparator;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Comparator} that compares entities using the value of a single
+ * {@link Field}. Since the field, the direction and the null order are
+ * exposed, a {@code FieldComparator} can be rendered into a query language
+ * rather than being evaluated in the JVM.
+ *
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.1
+ */
+public interface FieldComparator<ENTITY> extends Comparator<ENTITY> {
+
+    /**
+     * Gets the field that is being compared.
+     *
+     * @return  the compared field
+     */
+    Field<ENTITY> getField();
+
+    /**
+     * Returns if this {@code Comparator} is reversed.
+     *
+     * @return  if this is reversed
+     */
+    boolean isReversed();
+
+    /**
+     * Returns the order in which null values are placed by this 
+     * {@code Comparator} before it is reversed.
+     *
+     * @return  the null order
+     */
+    NullOrder getNullOrder();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@code Comparator} is a {@link CombinedComparator} so that
+     * the individual comparators can still be inspected.
+     */
+    @Override
+    default Comparator<ENTITY> thenComparing(Comparator<? super ENTITY> other) {
+        requireNonNull(other);
+        return new CombinedComparatorImpl<>(asList(this, other), false);
+    }
+
+}
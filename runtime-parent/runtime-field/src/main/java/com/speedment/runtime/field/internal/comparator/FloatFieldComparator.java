@@ -17,7 +17,6 @@
 package com.speedment.runtime.field.internal.comparator;
 
 import com.speedment.runtime.field.trait.HasFloatValue;
-import java.util.Comparator;
 import javax.annotation.Generated;
 
 /**
@@ -30,19 +29,8 @@ import javax.annotation.Generated;
  * @since  3.0.0
  */
 @Generated(value = "Speedment")
-public interface FloatFieldComparator<ENTITY, D> extends Comparator<ENTITY> {
+public interface FloatFieldComparator<ENTITY, D> extends FieldComparator<ENTITY> {
     
-    /**
-     * Gets the field that is being compared.
-     * 
-     * @return the compared field
-     */
+    @Override
     HasFloatValue<ENTITY, D> getField();
-    
-    /**
-     * Returns if this {@code Comparator} is reversed.
-     * 
-     * @return if this is reversed
-     */
-    boolean isReversed();
 }
\ No newline at end of file
@@ -50,6 +50,11 @@ public final class IntFieldComparatorImpl<ENTITY, D> implements IntFieldComparat
         return reversed;
     }
     
+    @Override
+    public NullOrder getNullOrder() {
+        return NullOrder.NONE;
+    }
+    
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
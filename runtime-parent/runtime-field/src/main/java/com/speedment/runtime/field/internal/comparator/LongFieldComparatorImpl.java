@@ -50,6 +50,11 @@ public final class LongFieldComparatorImpl<ENTITY, D> implements LongFieldCompar
         return reversed;
     }
     
+    @Override
+    public NullOrder getNullOrder() {
+        return NullOrder.NONE;
+    }
+    
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
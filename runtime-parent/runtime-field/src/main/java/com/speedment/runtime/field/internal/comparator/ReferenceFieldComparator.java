@@ -18,8 +18,6 @@ package com.speedment.runtime.field.internal.comparator;
 
 import com.speedment.runtime.field.trait.HasReferenceValue;
 
-import java.util.Comparator;
-
 /**
  *
  * @param <ENTITY>  the entity type
@@ -29,20 +27,9 @@ import java.util.Comparator;
  * @author  Per Minborg
  * @since   2.2.0
  */
-public interface ReferenceFieldComparator<ENTITY, D, V extends Comparable<? super V>> extends Comparator<ENTITY> {
+public interface ReferenceFieldComparator<ENTITY, D, V extends Comparable<? super V>> extends FieldComparator<ENTITY> {
 
-    /**
-     * Gets the field that is being compared.
-     *
-     * @return  the compared field
-     */
+    @Override
     HasReferenceValue<ENTITY, D, V> getField();
 
-    /**
-     * Returns if this {@code Comparator} is reversed.
-     *
-     * @return  if this is reversed
-     */
-    boolean isReversed();
-
 }
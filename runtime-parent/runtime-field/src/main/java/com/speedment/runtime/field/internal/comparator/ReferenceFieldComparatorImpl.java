@@ -53,6 +53,11 @@ public final class ReferenceFieldComparatorImpl<ENTITY, D, V extends Comparable<
         return reversed;
     }
 
+    @Override
+    public NullOrder getNullOrder() {
+        return nullOrder;
+    }
+
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
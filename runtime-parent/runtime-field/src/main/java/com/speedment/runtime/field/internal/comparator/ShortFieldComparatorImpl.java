@@ -50,6 +50,11 @@ public final class ShortFieldComparatorImpl<ENTITY, D> implements ShortFieldComp
         return reversed;
     }
     
+    @Override
+    public NullOrder getNullOrder() {
+        return NullOrder.NONE;
+    }
+    
     @Override
     public Comparator<ENTITY> reversed() {
         reversed = !reversed;
@@ -0,0 +1,185 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.method;
+
+import com.speedment.runtime.field.method.BatchFinder;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class for finders that resolve the foreign keys of a whole stream of
+ * entities instead of one entity at a time. The upstream elements are
+ * collected in chunks of at most {@code batchSize} elements and the keys of
+ * each chunk are resolved using a single {@code IN}-query, so that a stream
+ * of {@code n} elements only produces {@code n / batchSize} queries instead
+ * of {@code n}.
+ * <p>
+ * The chunks are pulled lazily from the upstream so the order of the
+ * upstream is retained and only one chunk is held in memory at a time.
+ *
+ * @param <T>          the upstream entity type
+ * @param <FK_ENTITY>  the resolved entity type
+ * @param <V>          the (boxed) key type
+ *
+ * @since   3.0.1
+ */
+abstract class AbstractBatchFinder<T, FK_ENTITY, V extends Comparable<? super V>>
+    implements BatchFinder<T, FK_ENTITY> {
+
+    private final Supplier<Stream<FK_ENTITY>> streamSupplier;
+    private final int batchSize;
+
+    AbstractBatchFinder(Supplier<Stream<FK_ENTITY>> streamSupplier, int batchSize) {
+        this.streamSupplier = requireNonNull(streamSupplier);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "batchSize must be positive but was " + batchSize
+            );
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the key of the given upstream element, or {@code null} if the
+     * element does not reference anything.
+     *
+     * @param element  the upstream element
+     * @return         the key or {@code null}
+     */
+    protected abstract V keyOf(T element);
+
+    /**
+     * Returns the key of the given resolved entity. This is the value that is
+     * matched against the keys returned by {@link #keyOf(Object)}.
+     *
+     * @param entity  the resolved entity
+     * @return        the key
+     */
+    protected abstract V resolvedKeyOf(FK_ENTITY entity);
+
+    /**
+     * Returns the field of the resolved entity that the keys are matched
+     * against in the database.
+     *
+     * @return  the field to query
+     */
+    protected abstract HasComparableOperators<FK_ENTITY, V> queriedField();
+
+    /**
+     * Passes the resolved entities for the given upstream element to the
+     * consumer.
+     *
+     * @param key       the key of the upstream element (may be {@code null})
+     * @param matches   the entities that matched the key (never {@code null})
+     * @param consumer  the consumer to pass the result to
+     */
+    protected abstract void resolve(V key, List<FK_ENTITY> matches, Consumer<FK_ENTITY> consumer);
+
+    public final int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public final Stream<FK_ENTITY> apply(Stream<T> upstream) {
+        requireNonNull(upstream);
+        return StreamSupport.stream(
+            new BatchSpliterator(upstream.iterator()), false
+        ).onClose(upstream::close);
+    }
+
+    private Map<V, List<FK_ENTITY>> query(Set<V> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<V, List<FK_ENTITY>> result = new HashMap<>();
+        try (final Stream<FK_ENTITY> stream = streamSupplier.get()) {
+            stream.filter(queriedField().in(keys)).forEachOrdered(entity ->
+                result.computeIfAbsent(resolvedKeyOf(entity), k -> new ArrayList<>(1))
+                    .add(entity)
+            );
+        }
+
+        return result;
+    }
+
+    private final class BatchSpliterator extends Spliterators.AbstractSpliterator<FK_ENTITY> {
+
+        private final Iterator<T> iterator;
+        private final List<FK_ENTITY> buffer;
+        private int index;
+
+        private BatchSpliterator(Iterator<T> iterator) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.iterator = requireNonNull(iterator);
+            this.buffer   = new ArrayList<>();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FK_ENTITY> action) {
+            while (index == buffer.size()) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                nextBatch();
+            }
+
+            action.accept(buffer.get(index++));
+            return true;
+        }
+
+        private void nextBatch() {
+            buffer.clear();
+            index = 0;
+
+            final List<V> chunk = new ArrayList<>(batchSize);
+            final Set<V> keys   = new HashSet<>();
+            while (chunk.size() < batchSize && iterator.hasNext()) {
+                final V key = keyOf(iterator.next());
+                chunk.add(key);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+
+            final Map<V, List<FK_ENTITY>> found = query(keys);
+            for (final V key : chunk) {
+                final List<FK_ENTITY> matches = key == null
+                    ? Collections.emptyList()
+                    : found.getOrDefault(key, Collections.emptyList());
+
+                resolve(key, matches, buffer::add);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.method;
+
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
+import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A batching version of a {@link FindFrom}. Applying it to a stream of
+ * entities is equivalent to {@code stream.map(finder)}, but the foreign keys
+ * are resolved in chunks using one query per chunk.
+ *
+ * @param <ENTITY>     the source entity
+ * @param <FK_ENTITY>  the target entity
+ * @param <V>          the (boxed) column type
+ *
+ * @since   3.0.1
+ */
+public final class BatchFindFrom<ENTITY, FK_ENTITY, V extends Comparable<? super V>>
+    extends AbstractBatchFinder<ENTITY, FK_ENTITY, V> {
+
+    private final FindFrom<ENTITY, FK_ENTITY> finder;
+
+    public BatchFindFrom(
+            FindFrom<ENTITY, FK_ENTITY> finder,
+            Supplier<Stream<FK_ENTITY>> streamSupplier,
+            int batchSize) {
+
+        super(streamSupplier, batchSize);
+        this.finder = requireNonNull(finder);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected V keyOf(ENTITY element) {
+        return (V) finder.getSourceField().getter().apply(element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected V resolvedKeyOf(FK_ENTITY entity) {
+        return (V) finder.getTargetField().getter().apply(entity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected HasComparableOperators<FK_ENTITY, V> queriedField() {
+        return (HasComparableOperators<FK_ENTITY, V>) finder.getTargetField();
+    }
+
+    @Override
+    protected void resolve(V key, List<FK_ENTITY> matches, Consumer<FK_ENTITY> consumer) {
+        if (key == null) {
+            consumer.accept(null);
+        } else if (matches.isEmpty()) {
+            throw new SpeedmentFieldException(
+                "Error! Could not find any entities in table '" + 
+                finder.getTableIdentifier() + 
+                "' with '" + finder.getTargetField().identifier().getColumnName() + 
+                "' = '" + key + "'."
+            );
+        } else {
+            consumer.accept(matches.get(0));
+        }
+    }
+}
@@ -65,7 +65,8 @@ public abstract class AbstractCombinedPredicate<ENTITY> extends AbstractPredicat
      */
     protected final <R extends AbstractCombinedPredicate<ENTITY>> R add(Predicate<? super ENTITY> predicate) {
         requireNonNull(predicate);
-        if (getClass().equals(predicate.getClass())) {
+        if (getClass().equals(predicate.getClass())
+        && !((AbstractCombinedPredicate<?>) predicate).isNegated()) {
             @SuppressWarnings("unchecked")
             final AbstractCombinedPredicate<ENTITY> cbp = getClass().cast(predicate);
             cbp.stream().forEachOrdered(predicates::add);
@@ -141,6 +142,10 @@ public abstract class AbstractCombinedPredicate<ENTITY> extends AbstractPredicat
         @Override
         public AndCombinedBasePredicate<ENTITY> and(Predicate<? super ENTITY> other) {
             requireNonNull(other);
+            if (isNegated()) {
+                // The negation must not spread to the new predicate
+                return new AndCombinedBasePredicate<>(this, other);
+            }
             return add(other);
         }
 
@@ -172,6 +177,10 @@ public abstract class AbstractCombinedPredicate<ENTITY> extends AbstractPredicat
         @Override
         public OrCombinedBasePredicate<ENTITY> or(Predicate<? super ENTITY> other) {
             requireNonNull(other);
+            if (isNegated()) {
+                // The negation must not spread to the new predicate
+                return new OrCombinedBasePredicate<>(this, other);
+            }
             return add(other);
         }
     }
@@ -0,0 +1,83 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.method;
+
+import com.speedment.runtime.field.internal.method.BatchBackwardFinder;
+import com.speedment.runtime.field.internal.method.BatchFindFrom;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * An operation that resolves the foreign keys of a whole {@code Stream} of
+ * entities instead of one entity at a time. The upstream elements are
+ * collected in chunks and the keys of each chunk are resolved using a single
+ * {@code IN}-query. Formally, a {@code BatchFinder} has the following
+ * signature:
+ * {@code
+ *      Stream<FK_ENTITY> apply(Stream<ENTITY> stream);
+ * }
+ * 
+ * @param <ENTITY>     the source entity
+ * @param <FK_ENTITY>  the target entity
+ * 
+ * @since  3.0.1
+ */
+public interface BatchFinder<ENTITY, FK_ENTITY> 
+    extends Function<Stream<ENTITY>, Stream<FK_ENTITY>> {
+
+    /**
+     * Creates a new {@code BatchFinder} that, when applied to a stream, will
+     * produce an equivalent result as {@code stream.map(finder)}.
+     * 
+     * @param <ENTITY>        the source entity
+     * @param <FK_ENTITY>     the target entity
+     * @param finder          the finder to resolve keys for
+     * @param streamSupplier  supplier of a stream of all target entities
+     * @param batchSize       the maximum number of keys in each query
+     * @return                the created batch finder
+     * @throws IllegalArgumentException  if the batch size is not positive
+     */
+    static <ENTITY, FK_ENTITY> BatchFinder<ENTITY, FK_ENTITY> of(
+            FindFrom<ENTITY, FK_ENTITY> finder,
+            Supplier<Stream<FK_ENTITY>> streamSupplier,
+            int batchSize) {
+
+        return new BatchFindFrom<>(finder, streamSupplier, batchSize);
+    }
+
+    /**
+     * Creates a new {@code BatchFinder} that, when applied to a stream, will
+     * produce an equivalent result as {@code stream.flatMap(finder)}.
+     * 
+     * @param <ENTITY>        the referenced entity
+     * @param <FK_ENTITY>     the referencing entity
+     * @param finder          the backward finder to resolve keys for
+     * @param streamSupplier  supplier of a stream of all referencing entities
+     * @param batchSize       the maximum number of keys in each query
+     * @return                the created batch finder
+     * @throws IllegalArgumentException  if the batch size is not positive
+     */
+    static <ENTITY, FK_ENTITY> BatchFinder<ENTITY, FK_ENTITY> of(
+            BackwardFinder<ENTITY, FK_ENTITY> finder,
+            Supplier<Stream<FK_ENTITY>> streamSupplier,
+            int batchSize) {
+
+        return new BatchBackwardFinder<>(finder, streamSupplier, batchSize);
+    }
+}
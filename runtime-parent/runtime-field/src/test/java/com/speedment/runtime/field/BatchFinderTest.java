@@ -0,0 +1,156 @@
+/**
+ *
+ * Copyright (c) 2006-2016, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
+import com.speedment.runtime.field.method.BatchFinder;
+import com.speedment.runtime.typemapper.TypeMapper;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit tests for the batching finders.
+ *
+ * @since  3.0.1
+ *
+ * @see BatchFinder
+ */
+public final class BatchFinderTest {
+
+    private final TableIdentifier<BasicEntity> parentTable = TableIdentifier.of("test_dbms", "test_schema", "parent");
+    private final TableIdentifier<BasicEntity> childTable  = TableIdentifier.of("test_dbms", "test_schema", "child");
+
+    private IntField<BasicEntity, Integer> parentId;
+    private IntForeignKeyField<BasicEntity, Integer, BasicEntity> childParent;
+    private List<BasicEntity> parents;
+    private List<BasicEntity> children;
+    private AtomicInteger parentQueries;
+    private AtomicInteger childQueries;
+
+    @Before
+    public void setUp() {
+        parentId = IntField.create(
+            BasicEntity.Identifier.VAR_INT,
+            BasicEntity::getVarInt,
+            BasicEntity::setVarInt,
+            TypeMapper.primitive(),
+            true
+        );
+
+        childParent = IntForeignKeyField.create(
+            BasicEntity.Identifier.VAR_INT,
+            BasicEntity::getVarInt,
+            BasicEntity::setVarInt,
+            parentId,
+            TypeMapper.primitive(),
+            false
+        );
+
+        parents = asList(
+            entity(1, "a"), entity(2, "b"), entity(3, "c"), entity(4, "d")
+        );
+
+        children = asList(
+            entity(3, "x"), entity(1, "y"), entity(3, "z"), entity(4, "w"),
+            entity(1, "v"), entity(2, "u"), entity(3, "t")
+        );
+
+        parentQueries = new AtomicInteger();
+        childQueries  = new AtomicInteger();
+    }
+
+    @Test
+    public void testFinderIsEquivalentToMap() {
+        final List<BasicEntity> expected = children.stream()
+            .map(childParent.finder(parentTable, parents::stream))
+            .collect(Collectors.toList());
+
+        final List<BasicEntity> result = BatchFinder.of(
+                childParent.finder(parentTable, parents::stream),
+                counting(parents, parentQueries), 3
+            ).apply(children.stream())
+            .collect(Collectors.toList());
+
+        assertEquals(expected, result);
+        assertEquals(3, parentQueries.get());
+    }
+
+    @Test
+    public void testBackwardFinderIsEquivalentToFlatMap() {
+        final List<BasicEntity> expected = parents.stream()
+            .flatMap(childParent.backwardFinder(childTable, children::stream))
+            .collect(Collectors.toList());
+
+        final List<BasicEntity> result = BatchFinder.of(
+                childParent.backwardFinder(childTable, children::stream),
+                counting(children, childQueries), 2
+            ).apply(parents.stream())
+            .collect(Collectors.toList());
+
+        assertEquals(expected, result);
+        assertEquals(2, childQueries.get());
+    }
+
+    @Test
+    public void testLaziness() {
+        final List<BasicEntity> result = BatchFinder.of(
+                childParent.finder(parentTable, parents::stream),
+                counting(parents, parentQueries), 2
+            ).apply(children.stream())
+            .limit(2)
+            .collect(Collectors.toList());
+
+        assertEquals(asList(parents.get(2), parents.get(0)), result);
+        assertEquals(1, parentQueries.get());
+    }
+
+    @Test(expected = SpeedmentFieldException.class)
+    public void testMissingEntity() {
+        BatchFinder.of(
+                childParent.finder(parentTable, parents::stream),
+                counting(parents, parentQueries), 10
+            ).apply(Stream.of(entity(5, "s")))
+            .forEach(e -> {});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBatchSize() {
+        BatchFinder.of(
+            childParent.finder(parentTable, parents::stream),
+            parents::stream, 0
+        );
+    }
+
+    private static BasicEntity entity(int id, String name) {
+        return new BasicEntity().setVarInt(id).setVarString(name);
+    }
+
+    private static Supplier<Stream<BasicEntity>> counting(List<BasicEntity> entities, AtomicInteger counter) {
+        return () -> {
+            counter.incrementAndGet();
+            return entities.stream();
+        };
+    }
+}